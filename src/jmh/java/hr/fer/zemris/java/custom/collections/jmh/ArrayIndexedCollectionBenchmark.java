@@ -0,0 +1,38 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import hr.fer.zemris.java.custom.collections.ArrayIndexedCollection;
+import hr.fer.zemris.java.custom.collections.Collection;
+
+/**
+ * Mjerenja iz razreda {@link IndexedCollectionBenchmark} nad kolekcijom
+ * {@link ArrayIndexedCollection}
+ *
+ * @author Davor Češljaš
+ */
+public class ArrayIndexedCollectionBenchmark extends IndexedCollectionBenchmark {
+
+	@Override
+	protected Collection newCollection() {
+		return new ArrayIndexedCollection();
+	}
+
+	@Override
+	protected Object get(int index) {
+		return ((ArrayIndexedCollection) collection).get(index);
+	}
+
+	@Override
+	protected void insert(Object value, int position) {
+		((ArrayIndexedCollection) collection).insert(value, position);
+	}
+
+	@Override
+	protected int indexOf(Object value) {
+		return ((ArrayIndexedCollection) collection).indexOf(value);
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		((ArrayIndexedCollection) collection).remove(index);
+	}
+}
@@ -0,0 +1,50 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Program koji pokreće sva mjerenja kolekcija uz {@link GCProfiler}, tako da
+ * se uz vrijeme izvođenja ispisuje i brzina alokacije memorije. Program se
+ * gradi i pokreće na sljedeći način:
+ * 
+ * <pre>
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar
+ * </pre>
+ * 
+ * Svi argumenti naredbenog retka prosljeđuju se JMH-u, pa je npr. moguće
+ * ograničiti mjerenja na manje veličine sa <code>-p size=10,1000</code> ili
+ * odabrati samo neka mjerenja predavanjem regularnog izraza.
+ *
+ * @author Davor Češljaš
+ */
+public class CollectionBenchmarkRunner {
+
+	/**
+	 * Metoda od koje započinje izvođenje programa
+	 *
+	 * @param args
+	 *            argumenti koji se prosljeđuju JMH-u
+	 * @throws RunnerException
+	 *             ukoliko mjerenje ne uspije
+	 * @throws CommandLineOptionException
+	 *             ukoliko argumenti naredbenog retka nisu ispravni
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(commandLine).addProfiler(GCProfiler.class);
+		// ukoliko korisnik nije sam odabrao mjerenja pokreću se sva
+		if (commandLine.getIncludes().isEmpty()) {
+			builder.include(IndexedCollectionBenchmark.class.getPackage().getName() + ".*Benchmark");
+		}
+		Options options = builder.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,306 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.java.custom.collections.Collection;
+import hr.fer.zemris.java.custom.collections.Processor;
+
+/**
+ * Apstraktni razred koji definira zajednički skup mjerenja za indeksirane
+ * kolekcije. Budući da razred {@link Collection} ne sadrži indeksirane metode,
+ * svaki podrazred nad {@link #collection} implementira {@link #get(int)},
+ * {@link #insert(Object, int)}, {@link #indexOf(Object)} i
+ * {@link #removeAt(int)} nad konkretnom kolekcijom.
+ * Mjerenja se provode za veličine kolekcije od 10 do 10 000 000 elemenata.
+ * <p>
+ * Mjerenja koja mijenjaju kolekciju (umetanje i brisanje) uvijek izvode i
+ * inverznu operaciju kako bi veličina kolekcije ostala stalna tijekom cijelog
+ * mjerenja.
+ *
+ * @author Davor Češljaš
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public abstract class IndexedCollectionBenchmark {
+
+	/** Broj elemenata u kolekciji nad kojom se provodi mjerenje */
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	/** Kolekcija napunjena sa {@link #size} elemenata */
+	protected Collection collection;
+
+	/** Vrijednosti kojima je kolekcija napunjena */
+	private Object[] values;
+
+	/** Vrijednost koja se nalazi na sredini kolekcije */
+	private Object middleValue;
+
+	/** Vrijednost koja se nalazi na zadnjem mjestu u kolekciji */
+	private Object lastValue;
+
+	/** Vrijednost koja se umeće prilikom mjerenja umetanja */
+	private final Object insertedValue = Integer.valueOf(-1);
+
+	/**
+	 * Broj unaprijed izračunatih pozicija za mjerenje {@link #get()}, potencija
+	 * broja 2
+	 */
+	private static final int GET_POSITIONS = 1024;
+
+	/**
+	 * Pseudoslučajne pozicije koje redom dohvaća {@link #get()} kako dohvat ne
+	 * bi uvijek pogađao isto mjesto
+	 */
+	private int[] getPositions;
+
+	/** Redni broj sljedeće pozicije iz {@link #getPositions} */
+	private int nextGetPosition;
+
+	/** Obrađivač koji sve elemente predaje {@link Blackhole}u */
+	private BlackholeProcessor processor;
+
+	/**
+	 * Razred koji predstavlja {@link Processor} koji svaki element predaje
+	 * primjerku razreda {@link Blackhole} kako JIT ne bi uklonio obilazak
+	 */
+	private static class BlackholeProcessor extends Processor {
+
+		/** {@link Blackhole} kojem se predaju elementi */
+		private final Blackhole blackhole;
+
+		/**
+		 * Konstruktor koji prima {@link Blackhole} kojem se predaju elementi
+		 *
+		 * @param blackhole
+		 *            primjerak razreda {@link Blackhole}
+		 */
+		private BlackholeProcessor(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void process(Object value) {
+			blackhole.consume(value);
+		}
+	}
+
+	/**
+	 * Stvara i puni kolekciju nad kojom se provode mjerenja.
+	 *
+	 * @param blackhole
+	 *            {@link Blackhole} koji koristi obrađivač u
+	 *            {@link #forEach()}
+	 */
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		values = new Object[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = Integer.valueOf(i);
+		}
+		middleValue = values[size / 2];
+		lastValue = values[size - 1];
+		processor = new BlackholeProcessor(blackhole);
+
+		Random random = new Random(size);
+		getPositions = new int[GET_POSITIONS];
+		for (int i = 0; i < GET_POSITIONS; i++) {
+			getPositions[i] = random.nextInt(size);
+		}
+
+		collection = newCollection();
+		fill(collection);
+	}
+
+	/**
+	 * Stvara novu praznu kolekciju koja se mjeri
+	 *
+	 * @return nova prazna kolekcija
+	 */
+	protected abstract Collection newCollection();
+
+	/**
+	 * Dohvaća element na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija elementa
+	 * @return element na predanoj poziciji
+	 */
+	protected abstract Object get(int index);
+
+	/**
+	 * Umeće <b>value</b> na poziciju <b>position</b>
+	 *
+	 * @param value
+	 *            vrijednost koja se umeće
+	 * @param position
+	 *            pozicija na koju se umeće
+	 */
+	protected abstract void insert(Object value, int position);
+
+	/**
+	 * Vraća prvu poziciju vrijednosti <b>value</b>
+	 *
+	 * @param value
+	 *            vrijednost koja se traži
+	 * @return pozicija vrijednosti ili -1
+	 */
+	protected abstract int indexOf(Object value);
+
+	/**
+	 * Miče element sa pozicije <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija elementa koji se miče
+	 */
+	protected abstract void removeAt(int index);
+
+	/**
+	 * Puni predanu kolekciju sa svim vrijednostima iz {@link #values}
+	 *
+	 * @param target
+	 *            kolekcija koju je potrebno napuniti
+	 */
+	private void fill(Collection target) {
+		for (int i = 0; i < size; i++) {
+			target.add(values[i]);
+		}
+	}
+
+	/**
+	 * Mjeri punjenje prazne kolekcije metodom {@link Collection#add(Object)},
+	 * uključujući sva realociranja
+	 *
+	 * @return napunjena kolekcija
+	 */
+	@Benchmark
+	public Collection add() {
+		Collection target = newCollection();
+		fill(target);
+		return target;
+	}
+
+	/**
+	 * Mjeri umetanje na početak kolekcije (i micanje istog elementa)
+	 */
+	@Benchmark
+	public void insertHead() {
+		insert(insertedValue, 0);
+		removeAt(0);
+	}
+
+	/**
+	 * Mjeri umetanje na sredinu kolekcije (i micanje istog elementa)
+	 */
+	@Benchmark
+	public void insertMiddle() {
+		int position = size / 2;
+		insert(insertedValue, position);
+		removeAt(position);
+	}
+
+	/**
+	 * Mjeri umetanje na kraj kolekcije (i micanje istog elementa)
+	 */
+	@Benchmark
+	public void insertTail() {
+		insert(insertedValue, size);
+		removeAt(size);
+	}
+
+	/**
+	 * Mjeri dohvat elementa s pseudoslučajne pozicije. Pozicije se mijenjaju
+	 * pri svakom pozivu kako kolekcija koja pamti zadnje pronađeni element ne
+	 * bi svaki dohvat nakon prvog obavila u konstantnom vremenu
+	 *
+	 * @return dohvaćeni element
+	 */
+	@Benchmark
+	public Object get() {
+		return get(getPositions[nextGetPosition++ & (GET_POSITIONS - 1)]);
+	}
+
+	/**
+	 * Mjeri pretraživanje za zadnjim elementom kolekcije (najgori slučaj)
+	 *
+	 * @return pozicija zadnjeg elementa
+	 */
+	@Benchmark
+	public int indexOf() {
+		return indexOf(lastValue);
+	}
+
+	/**
+	 * Mjeri micanje elementa sa sredine kolekcije. Maknuti element se vraća
+	 * na kraj kolekcije kako bi veličina ostala stalna
+	 */
+	@Benchmark
+	public void removeIndex() {
+		int position = size / 2;
+		Object value = get(position);
+		removeAt(position);
+		collection.add(value);
+	}
+
+	/**
+	 * Mjeri micanje elementa sa sredine kolekcije preko vrijednosti. Element
+	 * se vraća na istu poziciju
+	 *
+	 * @return rezultat metode {@link Collection#remove(Object)}
+	 */
+	@Benchmark
+	public boolean removeValue() {
+		boolean removed = collection.remove(middleValue);
+		insert(middleValue, size / 2);
+		return removed;
+	}
+
+	/**
+	 * Mjeri obilazak svih elemenata kolekcije
+	 */
+	@Benchmark
+	public void forEach() {
+		collection.forEach(processor);
+	}
+
+	/**
+	 * Mjeri kopiranje kolekcije u polje
+	 *
+	 * @return polje elemenata kolekcije
+	 */
+	@Benchmark
+	public Object[] toArray() {
+		return collection.toArray();
+	}
+
+	/**
+	 * Mjeri kopiranje cijele kolekcije u novu praznu kolekciju
+	 *
+	 * @return nova kolekcija
+	 */
+	@Benchmark
+	public Collection addAll() {
+		Collection target = newCollection();
+		target.addAll(collection);
+		return target;
+	}
+}
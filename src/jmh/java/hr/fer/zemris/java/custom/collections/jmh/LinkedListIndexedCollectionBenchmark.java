@@ -0,0 +1,38 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import hr.fer.zemris.java.custom.collections.LinkedListIndexedCollection;
+import hr.fer.zemris.java.custom.collections.Collection;
+
+/**
+ * Mjerenja iz razreda {@link IndexedCollectionBenchmark} nad kolekcijom
+ * {@link LinkedListIndexedCollection}
+ *
+ * @author Davor Češljaš
+ */
+public class LinkedListIndexedCollectionBenchmark extends IndexedCollectionBenchmark {
+
+	@Override
+	protected Collection newCollection() {
+		return new LinkedListIndexedCollection();
+	}
+
+	@Override
+	protected Object get(int index) {
+		return ((LinkedListIndexedCollection) collection).get(index);
+	}
+
+	@Override
+	protected void insert(Object value, int position) {
+		((LinkedListIndexedCollection) collection).insert(value, position);
+	}
+
+	@Override
+	protected int indexOf(Object value) {
+		return ((LinkedListIndexedCollection) collection).indexOf(value);
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		((LinkedListIndexedCollection) collection).remove(index);
+	}
+}
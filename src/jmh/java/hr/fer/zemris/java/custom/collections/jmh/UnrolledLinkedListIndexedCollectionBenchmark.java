@@ -0,0 +1,38 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import hr.fer.zemris.java.custom.collections.UnrolledLinkedListIndexedCollection;
+import hr.fer.zemris.java.custom.collections.Collection;
+
+/**
+ * Mjerenja iz razreda {@link IndexedCollectionBenchmark} nad kolekcijom
+ * {@link UnrolledLinkedListIndexedCollection}
+ *
+ * @author Davor Češljaš
+ */
+public class UnrolledLinkedListIndexedCollectionBenchmark extends IndexedCollectionBenchmark {
+
+	@Override
+	protected Collection newCollection() {
+		return new UnrolledLinkedListIndexedCollection();
+	}
+
+	@Override
+	protected Object get(int index) {
+		return ((UnrolledLinkedListIndexedCollection) collection).get(index);
+	}
+
+	@Override
+	protected void insert(Object value, int position) {
+		((UnrolledLinkedListIndexedCollection) collection).insert(value, position);
+	}
+
+	@Override
+	protected int indexOf(Object value) {
+		return ((UnrolledLinkedListIndexedCollection) collection).indexOf(value);
+	}
+
+	@Override
+	protected void removeAt(int index) {
+		((UnrolledLinkedListIndexedCollection) collection).remove(index);
+	}
+}
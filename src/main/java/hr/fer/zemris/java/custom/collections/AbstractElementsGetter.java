@@ -0,0 +1,68 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Apstraktni razred koji implementira zajednički dio sučelja
+ * {@link ElementsGetter}: provjeru je li kolekcija strukturno promijenjena
+ * nakon stvaranja primjerka (usporedbom s
+ * {@link Collection#modificationCount}) i bacanje
+ * {@link NoSuchElementException} kada su svi elementi dohvaćeni. Razredi
+ * koji ga nasljeđuju implementiraju samo obilazak svoje strukture metodama
+ * {@link #hasNext()} i {@link #next()}.
+ *
+ * @author Davor Češljaš
+ */
+abstract class AbstractElementsGetter implements ElementsGetter {
+
+	/** Kolekcija čiji se elementi dohvaćaju */
+	private final Collection collection;
+
+	/** Broj strukturnih promjena kolekcije u trenutku stvaranja */
+	private final long savedModificationCount;
+
+	/**
+	 * Konstruktor koji prima kolekciju čiji se elementi dohvaćaju
+	 *
+	 * @param collection
+	 *            kolekcija čiji se elementi dohvaćaju
+	 */
+	protected AbstractElementsGetter(Collection collection) {
+		this.collection = collection;
+		this.savedModificationCount = collection.modificationCount;
+	}
+
+	@Override
+	public final boolean hasNextElement() {
+		if (collection.modificationCount != savedModificationCount) {
+			throw new ConcurrentModificationException();
+		}
+		return hasNext();
+	}
+
+	@Override
+	public final Object getNextElement() {
+		if (!hasNextElement()) {
+			throw new NoSuchElementException();
+		}
+		return next();
+	}
+
+	/**
+	 * Vraća <code><b>true</b></code> ukoliko postoji element koji nije
+	 * dohvaćen. Poziva se samo ako kolekcija nije promijenjena.
+	 *
+	 * @return <code><b>true</b></code> ako postoji sljedeći element,
+	 *         <code><b>false</b></code> inače
+	 */
+	protected abstract boolean hasNext();
+
+	/**
+	 * Vraća sljedeći element i pomiče se na idući. Poziva se samo ako
+	 * sljedeći element postoji.
+	 *
+	 * @return sljedeći element kolekcije
+	 */
+	protected abstract Object next();
+}
@@ -1,6 +1,8 @@
 package hr.fer.zemris.java.custom.collections;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Razred koji nasljeđuje razred {@link Collection}. Razred predstavlja
@@ -12,6 +14,12 @@ import java.util.Arrays;
  * <li><code>{@link #insert(Object, int)} </code></li>
  * <li><code>{@link #indexOf(Object)} </code></li>
  * <li><code>{@link #remove(int)}</code></li>
+ * <li><code>{@link #insertAll(Collection, int)}</code></li>
+ * <li><code>{@link #removeRange(int, int)}</code></li>
+ * <li><code>{@link #addAll(Object[], int, int)}</code></li>
+ * <li><code>{@link #setHashIndexed(boolean)}</code></li>
+ * <li><code>{@link #isHashIndexed()}</code></li>
+ * <li><code>{@link #setParallelThreshold(int)}</code></li>
  * </ul>
  * 
  * Moguće implementacije konstruktora:
@@ -46,6 +54,13 @@ public class ArrayIndexedCollection extends Collection {
 	 */
 	private Object[] elements;
 
+	/**
+	 * Raspršeni indeks pozicija elemenata ili <code><b>null</b></code> ukoliko
+	 * kolekcija nije u indeksiranom načinu rada. Vidi
+	 * {@link #setHashIndexed(boolean)}
+	 */
+	private HashPositionIndex positionIndex;
+
 	/**
 	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
 	 * čiji elementi moraju biti kopirani u novi primjerak razreda
@@ -135,6 +150,10 @@ public class ArrayIndexedCollection extends Collection {
 			elements[i] = null;
 		}
 		this.size = 0;
+		this.modificationCount++;
+		if (positionIndex != null) {
+			positionIndex.rebuild(elements, size);
+		}
 	}
 
 	@Override
@@ -155,6 +174,19 @@ public class ArrayIndexedCollection extends Collection {
 		}
 	}
 
+	/**
+	 * {@inheritDoc} Polje elemenata rekurzivno se dijeli na pola sve dok dio
+	 * polja ne sadrži najviše {@link #getParallelThreshold()} elemenata
+	 */
+	@Override
+	public void parallelForEach(Processor processor, ForkJoinPool pool) {
+		if (size <= getParallelThreshold()) {
+			forEach(processor);
+			return;
+		}
+		pool.invoke(new ForEachTask(elements, 0, size, getParallelThreshold(), processor));
+	}
+
 	@Override
 	public boolean contains(Object value) {
 		return indexOf(value) != DOESNT_CONTAIN;
@@ -197,12 +229,19 @@ public class ArrayIndexedCollection extends Collection {
 	}
 
 	/**
-	 * Metoda koja služi za realociranje polja elemenata ove kolekcije
+	 * Metoda koja služi za realociranje polja elemenata ove kolekcije. Polje
+	 * se realocira samo ako u njega ne stane <b>minCapacity</b> elemenata, i
+	 * to barem na dvostruko veći kapacitet
+	 *
+	 * @param minCapacity
+	 *            najmanji potrebni kapacitet polja
 	 */
-	private void reallocateCollection() {
-		this.capacity *= 2;
-		// stvaramo novo polje sa kopijama referenci ali dvostruko većeg
-		// kapaciteta
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= capacity) {
+			return;
+		}
+		this.capacity = Math.max(capacity * 2, minCapacity);
+		// stvaramo novo polje sa kopijama referenci ali većeg kapaciteta
 		this.elements = Arrays.copyOf(this.elements, this.capacity);
 	}
 
@@ -228,15 +267,15 @@ public class ArrayIndexedCollection extends Collection {
 		}
 
 		// je li kapacitet dovoljno velik
-		if (size == capacity) {
-			reallocateCollection();
-		}
+		ensureCapacity(size + 1);
 		// pomakni sve od positiona za jedan u desno
-		for (int i = size; i > position; i--) {
-			elements[i] = elements[i - 1];
-		}
+		System.arraycopy(elements, position, elements, position + 1, size - position);
 		elements[position] = value;
 		size++;
+		modificationCount++;
+		if (positionIndex != null) {
+			positionIndex.inserted(elements, position, size);
+		}
 	}
 
 	/**
@@ -249,6 +288,9 @@ public class ArrayIndexedCollection extends Collection {
 	 *         ukoliko vrijednost nije pronađena
 	 */
 	public int indexOf(Object value) {
+		if (positionIndex != null) {
+			return positionIndex.indexOf(elements, value);
+		}
 		for (int i = 0; i < size; i++) {
 			if (elements[i].equals(value)) {
 				return i;
@@ -276,12 +318,296 @@ public class ArrayIndexedCollection extends Collection {
 			return;
 		}
 
-		for (int i = index; i < size - 1; i++) {
-			elements[i] = elements[i + 1];
+		if (positionIndex != null) {
+			positionIndex.removing(elements, index, size);
 		}
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
 		
 		// oslobodi element
 		elements[--size] = null;
+		modificationCount++;
+	}
+
+	/**
+	 * Metoda ovoj kolekciji dodaje sve elemente predane kolekcije. Za razliku
+	 * od {@link Collection#addAll(Collection)} elementi se dodaju jednim
+	 * kopiranjem polja. Vidi {@link #insertAll(Collection, int)}
+	 *
+	 * @param other
+	 *            kolekcija iz koje se kopiraju elementi
+	 * 
+	 * @throws IllegalArgumentException
+	 *             ukoliko predana kolekcija sadrži vrijednost <b>null</b>
+	 */
+	@Override
+	public void addAll(Collection other) {
+		insertAll(other, size);
+	}
+
+	/**
+	 * Ubacuje sve elemente predane kolekcije <b>other</b> počevši od pozicije
+	 * <b>position</b>, zadržavajući njihov redoslijed. Elementi na pozicijama
+	 * većim ili jednakim predanoj pomiču se u desno za broj ubačenih elemenata
+	 * jednim pomakom bloka memorije. Važeće pozicije su iz intervala <b>[0,
+	 * size]</b>. Metodi se može predati i argument <code><b>null</b></code>.
+	 * Time metoda neće ništa napraviti nad ovom kolekcijom
+	 *
+	 * @param other
+	 *            kolekcija čiji se elementi ubacuju
+	 * @param position
+	 *            pozicija na koju se ubacuje prvi element predane kolekcije
+	 * 
+	 * @throws IllegalArgumentException
+	 *             ukoliko pozicija nije u važećem rasponu ili predana
+	 *             kolekcija sadrži vrijednost <b>null</b>
+	 */
+	public void insertAll(Collection other, int position) {
+		if (position < 0 || position > size) {
+			throw new IllegalArgumentException();
+		}
+		if (other == null) {
+			return;
+		}
+
+		// kopija je potrebna i ako je other == this
+		Object[] values = other.toArray();
+		checkNotNull(values, 0, values.length);
+
+		ensureCapacity(size + values.length);
+		System.arraycopy(elements, position, elements, position + values.length, size - position);
+		System.arraycopy(values, 0, elements, position, values.length);
+		size += values.length;
+		modificationCount++;
+		if (positionIndex != null) {
+			if (position == size - values.length) {
+				positionIndex.appended(elements, position, size);
+			} else {
+				positionIndex.rebuild(elements, size);
+			}
+		}
+	}
+
+	/**
+	 * Dodaje na kraj kolekcije <b>length</b> elemenata predanog polja
+	 * <b>values</b> počevši od pozicije <b>offset</b> u tom polju. Kapacitet
+	 * se provjerava samo jednom, a elementi se kopiraju jednim pomakom bloka
+	 * memorije.
+	 *
+	 * @param values
+	 *            polje iz kojeg se kopiraju elementi
+	 * @param offset
+	 *            pozicija prvog elementa u polju koji se dodaje
+	 * @param length
+	 *            broj elemenata koji se dodaju
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>offset</b> i <b>length</b> ne određuju valjani
+	 *             dio polja
+	 * @throws IllegalArgumentException
+	 *             ukoliko je polje <b>null</b> ili dio polja sadrži vrijednost
+	 *             <b>null</b>
+	 */
+	public void addAll(Object[] values, int offset, int length) {
+		if (values == null) {
+			throw new IllegalArgumentException();
+		}
+		if (offset < 0 || length < 0 || offset > values.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		checkNotNull(values, offset, length);
+
+		ensureCapacity(size + length);
+		System.arraycopy(values, offset, elements, size, length);
+		size += length;
+		modificationCount++;
+		if (positionIndex != null) {
+			positionIndex.appended(elements, size - length, size);
+		}
+	}
+
+	/**
+	 * Miče sve elemente sa pozicija iz intervala <b>[from, to)</b>. Elementi
+	 * desno od tog intervala pomiču se u lijevo jednim pomakom bloka memorije.
+	 * Ukoliko je <b>from</b> jednak <b>to</b> kolekcija ostaje nepromijenjena
+	 *
+	 * @param from
+	 *            pozicija prvog elementa koji se miče
+	 * @param to
+	 *            pozicija iza zadnjeg elementa koji se miče
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko interval nije unutar granica <b>[0, size]</b> ili je
+	 *             <b>from</b> veći od <b>to</b>
+	 */
+	public void removeRange(int from, int to) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(elements, to, elements, from, size - to);
+
+		// oslobodi elemente
+		int newSize = size - (to - from);
+		Arrays.fill(elements, newSize, size, null);
+		size = newSize;
+		modificationCount++;
+		if (positionIndex != null) {
+			positionIndex.rebuild(elements, size);
+		}
+	}
+
+	/**
+	 * Uključuje ili isključuje indeksirani način rada. U indeksiranom načinu
+	 * rada kolekcija uz polje elemenata održava i raspršeni indeks pozicija
+	 * elemenata, pa metode {@link #indexOf(Object)}, {@link #contains(Object)}
+	 * i {@link #remove(Object)} pronalaze element u očekivanom vremenu O(1)
+	 * umjesto linearnim pretraživanjem. Cijena je dodatna memorija i sporije
+	 * umetanje i micanje elemenata. Indeksirani način rada ispravno radi samo
+	 * ako je metoda {@link Object#hashCode()} elemenata usklađena s metodom
+	 * {@link Object#equals(Object)}
+	 *
+	 * @param hashIndexed
+	 *            <code><b>true</b></code> ako se indeks treba održavati,
+	 *            <code><b>false</b></code> inače
+	 */
+	public void setHashIndexed(boolean hashIndexed) {
+		if (!hashIndexed) {
+			positionIndex = null;
+		} else if (positionIndex == null) {
+			positionIndex = new HashPositionIndex(elements, size);
+		}
+	}
+
+	/**
+	 * Vraća <code><b>true</b></code> ukoliko je kolekcija u indeksiranom
+	 * načinu rada. Vidi {@link #setHashIndexed(boolean)}
+	 *
+	 * @return <code><b>true</b></code> ako kolekcija održava indeks,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean isHashIndexed() {
+		return positionIndex != null;
+	}
+
+	/**
+	 * Zadatak koji obrađuje dio polja elemenata iz intervala <b>[from,
+	 * to)</b>. Ukoliko je dio veći od praga, zadatak ga dijeli na dva
+	 * podzadatka koji se izvode paralelno
+	 */
+	private static class ForEachTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Polje elemenata kolekcije */
+		private final Object[] elements;
+
+		/** Pozicija prvog elementa koji se obrađuje */
+		private final int from;
+
+		/** Pozicija iza zadnjeg elementa koji se obrađuje */
+		private final int to;
+
+		/** Najveći broj elemenata koji se obrađuje bez daljnje podjele */
+		private final int threshold;
+
+		/** Obrađivač elemenata */
+		private final Processor processor;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param elements
+		 *            polje elemenata kolekcije
+		 * @param from
+		 *            pozicija prvog elementa koji se obrađuje
+		 * @param to
+		 *            pozicija iza zadnjeg elementa koji se obrađuje
+		 * @param threshold
+		 *            najveći broj elemenata koji se obrađuje bez podjele
+		 * @param processor
+		 *            obrađivač elemenata
+		 */
+		private ForEachTask(Object[] elements, int from, int to, int threshold, Processor processor) {
+			this.elements = elements;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.processor = processor;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				for (int i = from; i < to; i++) {
+					processor.process(elements[i]);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new ForEachTask(elements, from, middle, threshold, processor),
+					new ForEachTask(elements, middle, to, threshold, processor));
+		}
+	}
+
+	@Override
+	public ElementsGetter createElementsGetter() {
+		return new ArrayElementsGetter(this);
+	}
+
+	/**
+	 * Implementacija sučelja {@link ElementsGetter} za kolekciju
+	 * {@link ArrayIndexedCollection}. Elementi se dohvaćaju izravno iz polja elemenata
+	 */
+	private static class ArrayElementsGetter extends AbstractElementsGetter {
+
+		/** Kolekcija čiji se elementi dohvaćaju */
+		private final ArrayIndexedCollection collection;
+
+		/** Pozicija sljedećeg elementa koji se dohvaća */
+		private int index;
+
+		/**
+		 * Konstruktor koji prima kolekciju čiji se elementi dohvaćaju
+		 *
+		 * @param collection
+		 *            kolekcija čiji se elementi dohvaćaju
+		 */
+		private ArrayElementsGetter(ArrayIndexedCollection collection) {
+			super(collection);
+			this.collection = collection;
+		}
+
+		@Override
+		protected boolean hasNext() {
+			return index < collection.size;
+		}
+
+		@Override
+		protected Object next() {
+			return collection.elements[index++];
+		}
+	}
+
+	/**
+	 * Provjerava da dio polja <b>values</b> ne sadrži vrijednost <b>null</b>
+	 *
+	 * @param values
+	 *            polje koje se provjerava
+	 * @param offset
+	 *            pozicija prvog elementa koji se provjerava
+	 * @param length
+	 *            broj elemenata koji se provjeravaju
+	 * 
+	 * @throws IllegalArgumentException
+	 *             ukoliko dio polja sadrži vrijednost <b>null</b>
+	 */
+	private static void checkNotNull(Object[] values, int offset, int length) {
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (values[i] == null) {
+				throw new IllegalArgumentException();
+			}
+		}
 	}
 
 }
@@ -1,5 +1,7 @@
 package hr.fer.zemris.java.custom.collections;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Razred predstavlja kolekciju objekata razreda {@link Object}(ili bilo kojeg
  * drugog razreda, budući da svaki razred nasljeđuje razred Object) Sadrži
@@ -12,8 +14,11 @@ package hr.fer.zemris.java.custom.collections;
  * <li><code>{@link #remove(Object)} </code></li>
  * <li><code>{@link #toArray()}</code></li>
  * <li><code>{@link #forEach(Processor)} </code></li>
+ * <li><code>{@link #parallelForEach(Processor)} </code></li>
+ * <li><code>{@link #setParallelThreshold(int)} </code></li>
  * <li><code>{@link #addAll(Collection)}</code></li>
  * <li><code>{@link #clear()} </code></li>
+ * <li><code>{@link #createElementsGetter()} </code></li>
  * </ul>
  * 
  * @author Davor Češljaš
@@ -21,6 +26,26 @@ package hr.fer.zemris.java.custom.collections;
  */
 public class Collection {
 
+	/**
+	 * Defaultni najveći broj elemenata koji se obrađuje u jednom zadatku
+	 * metode {@link #parallelForEach(Processor, ForkJoinPool)}
+	 */
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+	/**
+	 * Broj strukturnih promjena kolekcije. Kolekcije ga povećavaju pri svakom
+	 * dodavanju ili brisanju elementa, a koristi ga {@link ElementsGetter}
+	 * kako bi otkrio promjenu kolekcije tijekom obilaska
+	 */
+	protected long modificationCount;
+
+	/**
+	 * Najveći broj elemenata koje metoda
+	 * {@link #parallelForEach(Processor, ForkJoinPool)} obrađuje u jednom
+	 * zadatku. Vidi {@link #setParallelThreshold(int)}
+	 */
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
 	/**
 	 * Defaultni zaštićeni konstruktor
 	 */
@@ -112,6 +137,69 @@ public class Collection {
 		// TODO Method body
 	}
 
+	/**
+	 * Metoda poziva metodu primjerka razreda {@link Processor#process(Object)}
+	 * nad svakim elementom ove kolekcije, pri čemu se elementi mogu obrađivati
+	 * paralelno u zajedničkom {@link ForkJoinPool}-u. Predani obrađivač zato
+	 * mora biti siguran za korištenje iz više dretvi. Kolekcija se ne smije
+	 * mijenjati dok metoda ne završi. Vidi
+	 * {@link #parallelForEach(Processor, ForkJoinPool)}
+	 *
+	 * @param processor
+	 *            obrađivač elemenata siguran za korištenje iz više dretvi
+	 */
+	public void parallelForEach(Processor processor) {
+		parallelForEach(processor, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Analogno metodi {@link #parallelForEach(Processor)}, ali se elementi
+	 * obrađuju u predanom {@link ForkJoinPool}-u. Ova implementacija elemente
+	 * obrađuje slijedno metodom {@link #forEach(Processor)}, a kolekcije koje
+	 * se mogu podijeliti na dijelove je nadjačavaju
+	 *
+	 * @param processor
+	 *            obrađivač elemenata siguran za korištenje iz više dretvi
+	 * @param pool
+	 *            {@link ForkJoinPool} u kojem se elementi obrađuju
+	 */
+	public void parallelForEach(Processor processor, ForkJoinPool pool) {
+		forEach(processor);
+	}
+
+	/**
+	 * Postavlja najveći broj elemenata koje metoda
+	 * {@link #parallelForEach(Processor, ForkJoinPool)} obrađuje u jednom
+	 * zadatku. Kolekcije s najviše toliko elemenata obrađuju se slijedno.
+	 * Defaultna vrijednost je {@value #DEFAULT_PARALLEL_THRESHOLD}. Kolekcije
+	 * koje ne nadjačavaju metodu
+	 * {@link #parallelForEach(Processor, ForkJoinPool)} ovu vrijednost ne
+	 * koriste
+	 *
+	 * @param parallelThreshold
+	 *            najveći broj elemenata u jednom zadatku
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>parallelThreshold</b> manji od 1
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Vraća najveći broj elemenata koje metoda
+	 * {@link #parallelForEach(Processor, ForkJoinPool)} obrađuje u jednom
+	 * zadatku. Vidi {@link #setParallelThreshold(int)}
+	 *
+	 * @return najveći broj elemenata u jednom zadatku
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
 	/**
 	 * Metoda ovoj kolekciji dodaje sve elemente predane kolekcije. Prilikom
 	 * dodavanje predana kolekcija ostaje nepromjenjena. Metodi se može predati
@@ -142,4 +230,56 @@ public class Collection {
 	public void clear() {
 		// TODO Method body
 	}
+
+	/**
+	 * Stvara novi primjerak {@link ElementsGetter} koji redom dohvaća elemente
+	 * ove kolekcije. Ukoliko se kolekcija strukturno promijeni nakon poziva ove
+	 * metode, vraćeni primjerak bacit će
+	 * {@link java.util.ConcurrentModificationException}. Ova implementacija
+	 * elemente kopira metodom {@link #forEach(Processor)} i obilazi kopiju, a
+	 * kolekcije koje mogu izravno obilaziti svoju strukturu je nadjačavaju
+	 *
+	 * @return novi primjerak {@link ElementsGetter} nad ovom kolekcijom
+	 */
+	public ElementsGetter createElementsGetter() {
+		Object[] values = new Object[size()];
+		class CopyProcessor extends Processor {
+			/** Pozicija na koju se kopira sljedeći element */
+			private int index;
+
+			@Override
+			public void process(Object value) {
+				values[index++] = value;
+			}
+		}
+		forEach(new CopyProcessor());
+		return createElementsGetter(values);
+	}
+
+	/**
+	 * Stvara novi primjerak {@link ElementsGetter} koji redom dohvaća elemente
+	 * predanog polja, a promjenu ove kolekcije otkriva kao i
+	 * {@link #createElementsGetter()}
+	 *
+	 * @param values
+	 *            elementi koji se dohvaćaju
+	 * @return novi primjerak {@link ElementsGetter} nad predanim poljem
+	 */
+	ElementsGetter createElementsGetter(Object[] values) {
+		return new AbstractElementsGetter(this) {
+
+			/** Pozicija sljedećeg elementa koji se dohvaća */
+			private int index;
+
+			@Override
+			protected boolean hasNext() {
+				return index < values.length;
+			}
+
+			@Override
+			protected Object next() {
+				return values[index++];
+			}
+		};
+	}
 }
@@ -0,0 +1,458 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Razred koji nasljeđuje razred {@link Collection}. Razred predstavlja
+ * inačicu kolekcije {@link ArrayIndexedCollection} koja je sigurna za
+ * korištenje iz više dretvi, a namijenjena je kolekcijama koje se često čitaju
+ * i rijetko mijenjaju. Pristup je zaštićen primjerkom razreda
+ * {@link StampedLock}: metode koje mijenjaju kolekciju zauzimaju ekskluzivni
+ * ključ, dok metode koje čitaju kolekciju najprije pokušavaju čitati bez
+ * zaključavanja (optimistično čitanje) te tek ukoliko je kolekcija u
+ * međuvremenu promijenjena ponavljaju čitanje uz dijeljeni ključ. Iznimka je
+ * metoda {@link #indexOf(Object)} koja nad elementima poziva korisničku
+ * metodu {@link Object#equals(Object)}, pa kolekciju pretražuje isključivo
+ * uz dijeljeni ključ. Važno:
+ * kolekcija <b>može spremati</b> duplikate, ali <b>ne može spremati</b>
+ * vrijednost <code><b>null</b></code>.
+ * <p>
+ * Metode {@link #forEach(Processor)}, {@link #toArray()} i
+ * {@link #createElementsGetter()} rade nad kopijom elemenata uzetom u jednom
+ * trenutku, pa obrađivač elemenata smije mijenjati ovu kolekciju i ne zadržava
+ * pisače. Metode dodane u ovaj razred:
+ * <ul>
+ * <li><code>{@link #get(int)}</code></li>
+ * <li><code>{@link #insert(Object, int)} </code></li>
+ * <li><code>{@link #indexOf(Object)} </code></li>
+ * <li><code>{@link #remove(int)}</code></li>
+ * </ul>
+ *
+ * Moguće implementacije konstruktora:
+ * <ul>
+ * <li><code>{@link #ConcurrentArrayIndexedCollection(Collection, int)}</code></li>
+ * <li><code>{@link #ConcurrentArrayIndexedCollection(Collection)} </code></li>
+ * <li><code>{@link #ConcurrentArrayIndexedCollection(int)} </code></li>
+ * <li><code>{@link #ConcurrentArrayIndexedCollection()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class ConcurrentArrayIndexedCollection extends Collection {
+
+	/** Defaultni kapacitet, ukoliko isti nije zadan */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Status koji se koristi kod metode {@link #indexOf(Object)} ukoliko index
+	 * ne postoji
+	 */
+	private static final int DOESNT_CONTAIN = -1;
+
+	/** Ključ kojim se štiti pristup kolekciji */
+	private final StampedLock lock = new StampedLock();
+
+	/** Trenutna veličina kolekcije. */
+	private int size;
+
+	/**
+	 * Polje objekata razreda {@link Object} u koji su spremljeni u kolekciju
+	 */
+	private Object[] elements;
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
+	 * čiji elementi moraju biti kopirani u novi primjerak razreda
+	 * {@link ConcurrentArrayIndexedCollection}. Drugi agument predstavlja
+	 * inicijalnu veličinu polja potrebnu za spremanje elemenata ove kolekcije.
+	 *
+	 * @param other
+	 *            primjerak razreda {@link Collection} čiji se elementi moraju
+	 *            kopirati
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 1
+	 */
+	public ConcurrentArrayIndexedCollection(Collection other, int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elements = new Object[initialCapacity];
+
+		if (other != null) {
+			addAll(other);
+		}
+	}
+
+	/**
+	 * Konstruktor koji prima samo inicijalnu veličinu polja potrebnu za
+	 * spremanje elemenata ove kolekcije
+	 *
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 */
+	public ConcurrentArrayIndexedCollection(int initialCapacity) {
+		this(null, initialCapacity);
+	}
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
+	 * čiji elementi moraju biti kopirani u novi primjerak razreda
+	 * {@link ConcurrentArrayIndexedCollection}.
+	 *
+	 * @param other
+	 *            primjerak razreda {@link Collection} čiji se elementi moraju
+	 *            kopirati
+	 */
+	public ConcurrentArrayIndexedCollection(Collection other) {
+		this(other, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji ne prima niti jedan argument. Inicijalna veličina polja
+	 * postavlja se na 16 elemenata
+	 */
+	public ConcurrentArrayIndexedCollection() {
+		this(null);
+	}
+
+	@Override
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int currentSize = size;
+		if (lock.validate(stamp)) {
+			return currentSize;
+		}
+
+		stamp = lock.readLock();
+		try {
+			return size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Dodaje predani objekt na kraj kolekcije. Metoda neće dodati vrijednost
+	 * <code><b>null</b></code>.
+	 *
+	 * @param value
+	 *            objekt koji je potrebno dodati
+	 * @throws IllegalArgumentException
+	 *             ukoliko se preda vrijednost null
+	 */
+	@Override
+	public void add(Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException();
+		}
+		long stamp = lock.writeLock();
+		try {
+			insertUnlocked(value, size);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return indexOf(value) != DOESNT_CONTAIN;
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		long stamp = lock.writeLock();
+		try {
+			int index = find(elements, size, value);
+			if (index == DOESNT_CONTAIN) {
+				return false;
+			}
+			removeUnlocked(index);
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		return snapshot();
+	}
+
+	/**
+	 * Poziva obrađivač nad svakim elementom kopije ove kolekcije uzete u
+	 * trenutku poziva metode. Obrađivač se poziva bez zaključavanja kolekcije
+	 *
+	 * @param processor
+	 *            obrađivač elemenata
+	 */
+	@Override
+	public void forEach(Processor processor) {
+		for (Object value : snapshot()) {
+			processor.process(value);
+		}
+	}
+
+	/**
+	 * Metoda ovoj kolekciji dodaje sve elemente predane kolekcije uz jedno
+	 * zaključavanje. Metodi se može predati i argument
+	 * <code><b>null</b></code>. Time metoda neće ništa napraviti nad ovom
+	 * kolekcijom
+	 *
+	 * @param other
+	 *            kolekcija iz koje se kopiraju elementi
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko predana kolekcija sadrži vrijednost <b>null</b>
+	 */
+	@Override
+	public void addAll(Collection other) {
+		if (other == null) {
+			return;
+		}
+		// elementi se dohvaćaju prije zaključavanja (other može biti i ova
+		// kolekcija)
+		Object[] values = other.toArray();
+		for (Object value : values) {
+			if (value == null) {
+				throw new IllegalArgumentException();
+			}
+		}
+
+		long stamp = lock.writeLock();
+		try {
+			ensureCapacity(size + values.length);
+			System.arraycopy(values, 0, elements, size, values.length);
+			size += values.length;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Miče sve elemente iz ove kolekcije. Alocirano polje neće promijeniti svoj
+	 * kapacitet
+	 */
+	@Override
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			Arrays.fill(elements, 0, size, null);
+			size = 0;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Stvara {@link ElementsGetter} nad kopijom ove kolekcije uzetom u
+	 * trenutku poziva metode. Budući da se obilazi kopija, vraćeni primjerak
+	 * nikada ne baca {@link java.util.ConcurrentModificationException}
+	 *
+	 * @return novi primjerak {@link ElementsGetter} nad kopijom kolekcije
+	 */
+	@Override
+	public ElementsGetter createElementsGetter() {
+		return createElementsGetter(snapshot());
+	}
+
+	/**
+	 * Vraća objekt koji je spremljen na poziciji <b>index</b>. Važeće pozicjie
+	 * su iz intervala <b>[0, size -1]</b>
+	 *
+	 * @param index
+	 *            pozicija traženog elementa u polju
+	 * @return traženi element iz polja
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public Object get(int index) {
+		long stamp = lock.tryOptimisticRead();
+		Object[] currentElements = elements;
+		int currentSize = size;
+		// polje i veličina mogu biti nekonzistentni dok se ne potvrdi čitanje
+		Object value = index >= 0 && index < currentSize && index < currentElements.length
+				? currentElements[index]
+				: null;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				currentSize = size;
+				value = index >= 0 && index < currentSize ? elements[index] : null;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		if (index < 0 || index > currentSize - 1) {
+			throw new IndexOutOfBoundsException();
+		}
+		return value;
+	}
+
+	/**
+	 * Ubacuje vrijednost <b>value</b> na predanu poziciju <b>position</b>. Ova
+	 * metoda neće prebrisati element na toj poziciji već će sve elemente na
+	 * pozicijima većim od predane poziciji pomaknuti za jedno mjesto u desno.
+	 * Važeće pozicjie su iz intervala <b>[0, size]</b>.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno ubaciti na predanu poziciju
+	 * @param position
+	 *            pozicija na koju je potrebno ubaciti predanu vrijednost
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je vrijednost <b>null</b> ili pozicija nije u važećem
+	 *             rasponu
+	 */
+	public void insert(Object value, int position) {
+		if (value == null) {
+			throw new IllegalArgumentException();
+		}
+		long stamp = lock.writeLock();
+		try {
+			if (position < 0 || position > size) {
+				throw new IllegalArgumentException();
+			}
+			insertUnlocked(value, position);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Pretražuje kolekciju i vraća prvu poziciju na kojoj je našla predanu
+	 * vrijednost ili -1 ukoliko predana vrijednosti ne postoji u ovoj kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koja se pretražuje
+	 * @return pozicija na kojoj je prvi puta pronađena vrijednost ili -1
+	 *         ukoliko vrijednost nije pronađena
+	 */
+	public int indexOf(Object value) {
+		long stamp = lock.readLock();
+		try {
+			return find(elements, size, value);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Miče element sa predane pozicije <b>index</b>. sve elemente desno od
+	 * predane pozicije pomiče za jedno mjesto u lijevo u polju. Važeće pozicjie
+	 * su iz intervala <b>[0, size-1]</b>.
+	 *
+	 * @param index
+	 *            pozicija sa koje je potrebno maknuti element
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void remove(int index) {
+		long stamp = lock.writeLock();
+		try {
+			if (index < 0 || index > size - 1) {
+				throw new IndexOutOfBoundsException();
+			}
+			removeUnlocked(index);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Vraća kopiju elemenata kolekcije. Kopija se najprije pokušava napraviti
+	 * optimističnim čitanjem, a tek zatim uz dijeljeni ključ
+	 *
+	 * @return kopija elemenata kolekcije
+	 */
+	private Object[] snapshot() {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			Object[] currentElements = elements;
+			Object[] copy = Arrays.copyOf(currentElements, Math.min(size, currentElements.length));
+			if (lock.validate(stamp)) {
+				return copy;
+			}
+		}
+
+		stamp = lock.readLock();
+		try {
+			return Arrays.copyOf(elements, size);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Pretražuje prvih <b>size</b> elemenata predanog polja. Pozivatelj mora
+	 * držati dijeljeni ili ekskluzivni ključ kako se metoda
+	 * {@link Object#equals(Object)} ne bi pozivala nad elementima koje pisač
+	 * upravo mijenja
+	 *
+	 * @param elements
+	 *            polje elemenata
+	 * @param size
+	 *            broj elemenata u polju
+	 * @param value
+	 *            vrijednost koja se traži
+	 * @return pozicija na kojoj je prvi puta pronađena vrijednost ili -1
+	 */
+	private static int find(Object[] elements, int size, Object value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i].equals(value)) {
+				return i;
+			}
+		}
+		return DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Ubacuje vrijednost na poziciju <b>position</b>. Pozivatelj mora držati
+	 * ekskluzivni ključ i provjeriti argumente
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno ubaciti
+	 * @param position
+	 *            pozicija na koju se vrijednost ubacuje
+	 */
+	private void insertUnlocked(Object value, int position) {
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, position, elements, position + 1, size - position);
+		elements[position] = value;
+		size++;
+	}
+
+	/**
+	 * Miče element sa pozicije <b>index</b>. Pozivatelj mora držati
+	 * ekskluzivni ključ i provjeriti argumente
+	 *
+	 * @param index
+	 *            pozicija sa koje se miče element
+	 */
+	private void removeUnlocked(int index) {
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		elements[--size] = null;
+	}
+
+	/**
+	 * Metoda koja služi za realociranje polja elemenata ove kolekcije. Polje
+	 * se realocira samo ako u njega ne stane <b>minCapacity</b> elemenata, i
+	 * to barem na dvostruko veći kapacitet. Pozivatelj mora držati ekskluzivni
+	 * ključ
+	 *
+	 * @param minCapacity
+	 *            najmanji potrebni kapacitet polja
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= elements.length) {
+			return;
+		}
+		elements = Arrays.copyOf(elements, Math.max(elements.length * 2, minCapacity));
+	}
+}
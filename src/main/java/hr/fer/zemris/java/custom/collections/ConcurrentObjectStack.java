@@ -0,0 +1,254 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Razred koji predstavlja implementaciju LIFO(engl. Last In First Out) stoga
+ * objekata razreda {@link Object} koja je sigurna za korištenje iz više dretvi
+ * bez zaključavanja. Razred nudi iste metode kao i {@link ObjectStack}, a
+ * izveden je kao Treiberov stog: vrh stoga je atomička referenca na
+ * nepromjenjivi čvor, a metode {@link #push(Object)} i {@link #pop()} vrh
+ * mijenjaju operacijom usporedi-i-zamijeni (engl. compare-and-swap).
+ * <p>
+ * Stog opcionalno koristi i polje za eliminaciju: dretva kojoj ne uspije
+ * promjena vrha pokušava se u nasumičnom mjestu polja susresti s dretvom koja
+ * izvodi suprotnu operaciju, pa se par {@link #push(Object)} i {@link #pop()}
+ * obavi bez pristupa vrhu stoga. Time se smanjuje natjecanje za vrh kod velikog
+ * broja dretvi. Stog <code><b>može sadržavati</b></code> duplikate, ali
+ * <code><b>ne može sadržavat null</b></code> vrijednosti. Popis metoda:
+ * <ul>
+ * <li><code>{@link #isEmpty()}</code></li>
+ * <li><code>{@link #size()} </code></li>
+ * <li><code>{@link #push(Object)} </code></li>
+ * <li><code>{@link #pop()}</code></li>
+ * <li><code>{@link #peek()} </code></li>
+ * <li><code>{@link #clear()}</code></li>
+ * </ul>
+ *
+ * Moguće implementacije konstruktora:
+ * <ul>
+ * <li><code>{@link #ConcurrentObjectStack(int)}</code></li>
+ * <li><code>{@link #ConcurrentObjectStack()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class ConcurrentObjectStack {
+
+	/**
+	 * Razred koji predstavlja jedan nepromjenjivi čvor stoga. Svaki čvor pamti
+	 * i veličinu stoga kojem je vrh, pa je metoda {@link #size()}
+	 * kompleksnosti O(1)
+	 */
+	private static class StackNode {
+
+		/** Vrijednost koja je spremljena u čvoru */
+		private final Object value;
+
+		/** Referenca na čvor ispod ovog čvora */
+		private final StackNode next;
+
+		/** Broj čvorova od ovog čvora do dna stoga */
+		private final int size;
+
+		/**
+		 * Konstruktor koji inicijalizira čvor
+		 *
+		 * @param value
+		 *            vrijednost koju je potrebno pospremiti u čvor
+		 * @param next
+		 *            čvor ispod ovog čvora ili <b>null</b>
+		 */
+		private StackNode(Object value, StackNode next) {
+			this.value = value;
+			this.next = next;
+			this.size = next == null ? 1 : next.size + 1;
+		}
+	}
+
+	/**
+	 * Objekt koji u polju za eliminaciju nudi dretva koja izvodi
+	 * {@link #pop()}
+	 */
+	private static final Object POP_REQUEST = new Object();
+
+	/** Vrijeme u mikrosekundama koliko dretva čeka u polju za eliminaciju */
+	private static final long ELIMINATION_TIMEOUT_MICROS = 50;
+
+	/** Referenca na vrh stoga */
+	private final AtomicReference<StackNode> top = new AtomicReference<>();
+
+	/**
+	 * Polje za eliminaciju ili <code><b>null</b></code> ukoliko se eliminacija
+	 * ne koristi
+	 */
+	private final Exchanger<Object>[] eliminationArray;
+
+	/**
+	 * Konstruktor koji inicijalizira stog s poljem za eliminaciju predane
+	 * veličine. Korisnik može biti siguran da je nakon poziva konstruktora
+	 * stog prazan, odnosno metoda {@link #isEmpty()} vraća vrijednost
+	 * <code><b>true</b></code>
+	 *
+	 * @param eliminationSlots
+	 *            veličina polja za eliminaciju ili 0 ukoliko se eliminacija ne
+	 *            koristi
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je veličina polja za eliminaciju manja od 0
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public ConcurrentObjectStack(int eliminationSlots) {
+		if (eliminationSlots < 0) {
+			throw new IllegalArgumentException();
+		}
+		if (eliminationSlots == 0) {
+			this.eliminationArray = null;
+		} else {
+			this.eliminationArray = new Exchanger[eliminationSlots];
+			for (int i = 0; i < eliminationSlots; i++) {
+				eliminationArray[i] = new Exchanger<>();
+			}
+		}
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira stog bez polja za eliminaciju. Korisnik
+	 * može biti siguran da je nakon poziva konstruktora stog prazan, odnosno
+	 * metoda {@link #isEmpty()} vraća vrijednost <code><b>true</b></code>
+	 */
+	public ConcurrentObjectStack() {
+		this(0);
+	}
+
+	/**
+	 * Vraća vrijednost <code><b>true</b></code> ukoliko stog ne sadrži niti
+	 * jedan objekt. U suprotnom vraća <code><b>false</b></code>
+	 *
+	 * @return <code><b>true</b></code> ako je stog prazan,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean isEmpty() {
+		return top.get() == null;
+	}
+
+	/**
+	 * Vraća broj trenutno pospremljenih objekata na stogu
+	 *
+	 * @return broj objekata na stogu
+	 */
+	public int size() {
+		StackNode node = top.get();
+		return node == null ? 0 : node.size;
+	}
+
+	/**
+	 * Dodaje objekt <code><b>value</b></code> na vrh stoga.
+	 *
+	 * @param value
+	 *            objekt koji je potrebno dodati na stog
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko se preda vrijednost null
+	 */
+	public void push(Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException();
+		}
+		while (true) {
+			StackNode current = top.get();
+			if (top.compareAndSet(current, new StackNode(value, current))) {
+				return;
+			}
+			// natjecanje za vrh, pokušaj se susresti s dretvom koja skida
+			if (eliminate(value) == POP_REQUEST) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Skida zadnje dodani objekt sa stoga i vraća ga kroz povratnu vrijednost
+	 *
+	 * @return zadnje dodani objekt na stogu
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public Object pop() {
+		while (true) {
+			StackNode current = top.get();
+			if (current == null) {
+				throw new EmptyStackException("Stog je prazan");
+			}
+			if (top.compareAndSet(current, current.next)) {
+				return current.value;
+			}
+			// natjecanje za vrh, pokušaj se susresti s dretvom koja dodaje
+			Object value = eliminate(POP_REQUEST);
+			if (value != null && value != POP_REQUEST) {
+				return value;
+			}
+		}
+	}
+
+	/**
+	 * Analogno metodi {@link #pop()}. Jedina rezlika je što stog ostaje
+	 * nepromijenjen, odnosno vraćeni objekt se nakon poziva ove metode i dalje
+	 * nalazi na stogu
+	 *
+	 * @return zadnje dodani objekt na stogu
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public Object peek() {
+		StackNode current = top.get();
+		if (current == null) {
+			throw new EmptyStackException("Stog je prazan");
+		}
+		return current.value;
+	}
+
+	/**
+	 * Miče sve elemente sa stoga. Pozivom metoda {@link #peek()} ili
+	 * {@link #pop()} nakon poziva ove metode izazvati će
+	 * {@link EmptyStackException}, osim ukoliko je druga dretva u međuvremenu
+	 * dodala novi element
+	 */
+	public void clear() {
+		top.set(null);
+	}
+
+	/**
+	 * Pomoćna metoda koja u nasumičnom mjestu polja za eliminaciju kratko
+	 * čeka na dretvu s kojom bi zamijenila predani objekt.
+	 *
+	 * @param offer
+	 *            objekt koji se nudi (vrijednost kod dodavanja ili
+	 *            {@link #POP_REQUEST} kod skidanja)
+	 * @return objekt koji je ponudila druga dretva ili
+	 *         <code><b>null</b></code> ukoliko se eliminacija ne koristi ili
+	 *         nije uspjela
+	 */
+	private Object eliminate(Object offer) {
+		if (eliminationArray == null) {
+			return null;
+		}
+		Exchanger<Object> slot = eliminationArray[ThreadLocalRandom.current().nextInt(eliminationArray.length)];
+		try {
+			return slot.exchange(offer, ELIMINATION_TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+		} catch (TimeoutException e) {
+			return null;
+		} catch (InterruptedException e) {
+			// zadrži zastavicu prekida, operacija se nastavlja bez eliminacije
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,330 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * Razred predstavlja promijenjivu kolekciju primitivnih vrijednosti tipa
+ * <code>double</code> poduprtu sa poljem <code>double[]</code>. Razred prati
+ * ugovor razreda {@link ArrayIndexedCollection}, ali vrijednosti sprema bez
+ * pakiranja u {@link Double}. Kolekcija <b>može spremati</b> duplikate.
+ * Vrijednosti se uspoređuju kao kod {@link Double#equals(Object)}. Kao i kod
+ * {@link IntArrayIndexedCollection}, micanje po vrijednosti obavlja metoda
+ * {@link #removeValue(double)}, a micanje po poziciji metoda
+ * {@link #remove(int)}. Metode razreda:
+ * <ul>
+ * <li><code>{@link #isEmpty()}</code></li>
+ * <li><code>{@link #size()} </code></li>
+ * <li><code>{@link #add(double)} </code></li>
+ * <li><code>{@link #contains(double)}</code></li>
+ * <li><code>{@link #removeValue(double)} </code></li>
+ * <li><code>{@link #toArray()}</code></li>
+ * <li><code>{@link #forEach(DoubleProcessor)} </code></li>
+ * <li><code>{@link #addAll(DoubleArrayIndexedCollection)}</code></li>
+ * <li><code>{@link #clear()} </code></li>
+ * <li><code>{@link #get(int)}</code></li>
+ * <li><code>{@link #insert(double, int)} </code></li>
+ * <li><code>{@link #indexOf(double)} </code></li>
+ * <li><code>{@link #remove(int)}</code></li>
+ * </ul>
+ *
+ * Moguće implementacije konstruktora:
+ * <ul>
+ * <li><code>{@link #DoubleArrayIndexedCollection(DoubleArrayIndexedCollection, int)}</code></li>
+ * <li><code>{@link #DoubleArrayIndexedCollection(DoubleArrayIndexedCollection)} </code></li>
+ * <li><code>{@link #DoubleArrayIndexedCollection(int)} </code></li>
+ * <li><code>{@link #DoubleArrayIndexedCollection()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class DoubleArrayIndexedCollection {
+
+	/** Defaultni kapacitet, ukoliko isti nije zadan */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Status koji se koristi kod metode {@link #indexOf(double)} ukoliko index ne
+	 * postoji
+	 */
+	private static final int DOESNT_CONTAIN = -1;
+
+	/** Trenutna veličina kolekcije. */
+	private int size;
+
+	/** Polje u koje su spremljene vrijednosti kolekcije */
+	private double[] elements;
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda
+	 * {@link DoubleArrayIndexedCollection} čiji elementi moraju biti kopirani u
+	 * novi primjerak. Drugi agument predstavlja inicijalnu veličinu polja
+	 * potrebnu za spremanje elemenata ove kolekcije.
+	 *
+	 * @param other
+	 *            kolekcija čiji se elementi moraju kopirati
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 1
+	 */
+	public DoubleArrayIndexedCollection(DoubleArrayIndexedCollection other, int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elements = new double[initialCapacity];
+
+		// ako je predan null ništa se neće dogoditi
+		addAll(other);
+	}
+
+	/**
+	 * Konstruktor koji prima samo inicijalnu veličinu polja potrebnu za
+	 * spremanje elemenata ove kolekcije
+	 *
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 */
+	public DoubleArrayIndexedCollection(int initialCapacity) {
+		this(null, initialCapacity);
+	}
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda
+	 * {@link DoubleArrayIndexedCollection} čiji elementi moraju biti kopirani u
+	 * novi primjerak.
+	 *
+	 * @param other
+	 *            kolekcija čiji se elementi moraju kopirati
+	 */
+	public DoubleArrayIndexedCollection(DoubleArrayIndexedCollection other) {
+		this(other, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji ne prima niti jedan argument. Inicijalna veličina polja
+	 * postavlja se na 16 elemenata
+	 */
+	public DoubleArrayIndexedCollection() {
+		this(null);
+	}
+
+	/**
+	 * Vraća vrijednost <code><b>true</b></code> ukoliko kolekcija ne sadrži
+	 * niti jednu vrijednost. U suprotnom vraća <code><b>false</b></code>
+	 *
+	 * @return <code><b>true</b></code> ako je kolekcija prazna,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Vraća broj trenutno pospremljenih vrijednosti u kolekciji
+	 *
+	 * @return broj vrijednosti u kolekciji
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Dodaje predanu vrijednost na kraj kolekcije.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno dodati
+	 */
+	public void add(double value) {
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+	}
+
+	/**
+	 * Vraća <code><b>true</b></code> samo ako kolekcija sadrži zadanu
+	 * vrijednost
+	 *
+	 * @param value
+	 *            vrijednost kojoj ispitujemo postojanje u kolekciji
+	 * @return <code><b>true</b></code>, ako i samo ako kolekcija sadrži predanu
+	 *         vrijednost
+	 */
+	public boolean contains(double value) {
+		return indexOf(value) != DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Briše prvo pojavljivanje predane vrijednosti u kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno izbrisati ako postoji u kolekciji
+	 * @return true, je li vrijednost postojala (Budući da kolekcija može imati
+	 *         duplikate moguće je da i dalje postoji)
+	 */
+	public boolean removeValue(double value) {
+		int index = indexOf(value);
+		if (index == DOESNT_CONTAIN) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	/**
+	 * Alocira novo polje, puni ga vrijednostima kolekcije i vraća kao povratnu
+	 * vrijednost. Ova metoda nikada neće vratiti <code><b>null</b></code>.
+	 *
+	 * @return novo polje vrijednosti koje sadrži kolekcija
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Metoda poziva metodu {@link DoubleProcessor#process(double)} nad svakom
+	 * vrijednosti ove kolekcije redom od prve do posljednje
+	 *
+	 * @param processor
+	 *            obrađivač vrijednosti
+	 */
+	public void forEach(DoubleProcessor processor) {
+		for (int i = 0; i < size; i++) {
+			processor.process(elements[i]);
+		}
+	}
+
+	/**
+	 * Metoda ovoj kolekciji dodaje sve vrijednosti predane kolekcije. Prilikom
+	 * dodavanje predana kolekcija ostaje nepromjenjena. Metodi se može predati
+	 * i argument <code><b>null</b></code>. Time metoda neće ništa napraviti nad
+	 * ovom kolekcijom
+	 *
+	 * @param other
+	 *            kolekcija iz koje se kopiraju vrijednosti
+	 */
+	public void addAll(DoubleArrayIndexedCollection other) {
+		if (other == null) {
+			return;
+		}
+		// other može biti i ova kolekcija pa se veličina pamti unaprijed
+		int otherSize = other.size;
+		ensureCapacity(size + otherSize);
+		System.arraycopy(other.elements, 0, elements, size, otherSize);
+		size += otherSize;
+	}
+
+	/**
+	 * Miče sve vrijednosti iz ove kolekcije. Alocirano polje neće promijeniti
+	 * svoj kapacitet
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Vraća vrijednost koja je spremljena na poziciji <b>index</b>. Važeće
+	 * pozicjie su iz intervala <b>[0, size -1]</b>
+	 *
+	 * @param index
+	 *            pozicija tražene vrijednosti
+	 * @return tražena vrijednost
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public double get(int index) {
+		indexInRange(index);
+		return elements[index];
+	}
+
+	/**
+	 * Ubacuje vrijednost <b>value</b> na predanu poziciju <b>position</b>.
+	 * Sve vrijednosti na pozicijama većim ili jednakim predanoj pomiču se za
+	 * jedno mjesto u desno. Važeće pozicjie su iz intervala <b>[0, size]</b>.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno ubaciti na predanu poziciju
+	 * @param position
+	 *            pozicija na koju je potrebno ubaciti predanu vrijednost
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko pozicija nije u važećem rasponu
+	 */
+	public void insert(double value, int position) {
+		if (position < 0 || position > size) {
+			throw new IllegalArgumentException();
+		}
+
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, position, elements, position + 1, size - position);
+		elements[position] = value;
+		size++;
+	}
+
+	/**
+	 * Pretražuje kolekciju i vraća prvu poziciju na kojoj je našla predanu
+	 * vrijednost ili -1 ukoliko predana vrijednosti ne postoji u ovoj kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koja se pretražuje
+	 * @return pozicija na kojoj je prvi puta pronađena vrijednost ili -1
+	 *         ukoliko vrijednost nije pronađena
+	 */
+	public int indexOf(double value) {
+		// usporedba kao kod Double.equals (NaN je jednak NaN, 0.0 nije -0.0)
+		long bits = Double.doubleToLongBits(value);
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits(elements[i]) == bits) {
+				return i;
+			}
+		}
+		return DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Miče vrijednost sa predane pozicije <b>index</b>. Sve vrijednosti desno
+	 * od predane pozicije pomiče za jedno mjesto u lijevo. Važeće pozicjie su
+	 * iz intervala <b>[0, size-1]</b>.
+	 *
+	 * @param index
+	 *            pozicija sa koje je potrebno maknuti vrijednost
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void remove(int index) {
+		indexInRange(index);
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+	}
+
+	/**
+	 * Provjerava je li <b>index</b> unutar granica
+	 *
+	 * @param index
+	 *            predana vrijednost koja se provjerava
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	private void indexInRange(int index) {
+		if (index < 0 || index > (size - 1)) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Metoda koja služi za realociranje polja vrijednosti ove kolekcije. Polje
+	 * se realocira samo ako u njega ne stane <b>minCapacity</b> vrijednosti, i
+	 * to barem na dvostruko veći kapacitet
+	 *
+	 * @param minCapacity
+	 *            najmanji potrebni kapacitet polja
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= elements.length) {
+			return;
+		}
+		elements = Arrays.copyOf(elements, Math.max(elements.length * 2, minCapacity));
+	}
+}
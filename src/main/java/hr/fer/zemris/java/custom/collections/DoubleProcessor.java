@@ -0,0 +1,22 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Klasa definira jednu jedinu metodu {@link #process(double)}. Predstavlja
+ * inačicu razreda {@link Processor} za primitivne vrijednosti tipa
+ * <code>double</code> kako bi se izbjeglo pakiranje u {@link Double}
+ *
+ * @author Davor Češljaš
+ */
+public class DoubleProcessor {
+
+	/**
+	 * Metoda obrađuje predanu vrijednost
+	 *
+	 * @param value
+	 *            vrijednost koja se obrađuje
+	 */
+	public void process(double value) {
+
+	}
+
+}
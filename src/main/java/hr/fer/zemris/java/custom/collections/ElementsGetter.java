@@ -0,0 +1,47 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Sučelje koje predstavlja objekt koji jedan po jedan dohvaća elemente
+ * kolekcije na zahtjev korisnika. Za razliku od metode
+ * {@link Collection#forEach(Processor)}, korisnik sam odlučuje kada će
+ * dohvatiti sljedeći element, pa može zastati ili istovremeno obilaziti više
+ * kolekcija. Primjerci ovog sučelja stvaraju se metodom
+ * {@link Collection#createElementsGetter()}. Ukoliko se kolekcija strukturno
+ * promijeni nakon stvaranja primjerka ovog sučelja, sve metode bacaju
+ * {@link ConcurrentModificationException}. Metode sučelja:
+ * <ul>
+ * <li><code>{@link #hasNextElement()}</code></li>
+ * <li><code>{@link #getNextElement()} </code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public interface ElementsGetter {
+
+	/**
+	 * Vraća <code><b>true</b></code> ukoliko kolekcija sadrži još barem jedan
+	 * element koji nije dohvaćen
+	 *
+	 * @return <code><b>true</b></code> ako postoji sljedeći element,
+	 *         <code><b>false</b></code> inače
+	 *
+	 * @throws ConcurrentModificationException
+	 *             ukoliko je kolekcija strukturno promijenjena
+	 */
+	boolean hasNextElement();
+
+	/**
+	 * Dohvaća sljedeći element kolekcije
+	 *
+	 * @return sljedeći element kolekcije
+	 *
+	 * @throws NoSuchElementException
+	 *             ukoliko su svi elementi već dohvaćeni
+	 * @throws ConcurrentModificationException
+	 *             ukoliko je kolekcija strukturno promijenjena
+	 */
+	Object getNextElement();
+}
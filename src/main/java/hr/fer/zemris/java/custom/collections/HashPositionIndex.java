@@ -0,0 +1,238 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Pomoćni razred koji predstavlja raspršeni indeks pozicija elemenata u polju
+ * kolekcije {@link ArrayIndexedCollection}. Indeks je izveden kao tablica s
+ * otvorenim adresiranjem i linearnim ispitivanjem, pri čemu svaki element
+ * polja (pa tako i svaki duplikat) ima svoj zapis. Zapis se sastoji od
+ * pozicije elementa i njegovog sažetka, tako da se metoda
+ * {@link Object#equals(Object)} poziva samo nad elementima s jednakim
+ * sažetkom.
+ * <p>
+ * Indeks ne pamti polje elemenata jer ga kolekcija realocira, pa mu se polje
+ * predaje kod svakog poziva. Kod umetanja i micanja na sredini polja pozicije
+ * u indeksu se ažuriraju u vremenu proporcionalnom veličini tablice, što je
+ * jednake složenosti kao i samo pomicanje elemenata polja.
+ *
+ * @author Davor Češljaš
+ */
+final class HashPositionIndex {
+
+	/** Najmanja veličina tablice (mora biti potencija broja 2) */
+	private static final int MIN_TABLE_SIZE = 16;
+
+	/** Oznaka praznog mjesta u tablici {@link #positions} */
+	private static final int EMPTY = 0;
+
+	/**
+	 * Pozicije elemenata u polju uvećane za jedan kako bi vrijednost
+	 * {@link #EMPTY} označavala prazno mjesto
+	 */
+	private int[] positions;
+
+	/** Sažeci elemenata čije su pozicije spremljene u {@link #positions} */
+	private int[] hashes;
+
+	/** Maska kojom se sažetak pretvara u mjesto u tablici */
+	private int mask;
+
+	/**
+	 * Konstruktor koji gradi indeks za prvih <b>size</b> elemenata polja
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param size
+	 *            broj elemenata u polju
+	 */
+	HashPositionIndex(Object[] elements, int size) {
+		rebuild(elements, size);
+	}
+
+	/**
+	 * Iznova gradi indeks za prvih <b>size</b> elemenata polja
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param size
+	 *            broj elemenata u polju
+	 */
+	void rebuild(Object[] elements, int size) {
+		int tableSize = MIN_TABLE_SIZE;
+		// faktor popunjenosti ostaje najviše 1/2
+		while (tableSize < 2 * size) {
+			tableSize <<= 1;
+		}
+		positions = new int[tableSize];
+		hashes = new int[tableSize];
+		mask = tableSize - 1;
+
+		for (int i = 0; i < size; i++) {
+			put(hash(elements[i]), i);
+		}
+	}
+
+	/**
+	 * Vraća prvu poziciju na kojoj se nalazi element jednak predanoj
+	 * vrijednosti ili -1 ukoliko takav element ne postoji
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param value
+	 *            vrijednost koja se traži
+	 * @return prva pozicija vrijednosti ili -1
+	 */
+	int indexOf(Object[] elements, Object value) {
+		if (value == null) {
+			return -1;
+		}
+		int hash = hash(value);
+		int first = -1;
+		for (int slot = hash & mask; positions[slot] != EMPTY; slot = (slot + 1) & mask) {
+			int position = positions[slot] - 1;
+			if (hashes[slot] == hash && (first == -1 || position < first) && elements[position].equals(value)) {
+				first = position;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Ažurira indeks nakon što je element umetnut na poziciju
+	 * <b>position</b>. Poziva se nakon što je element već upisan u polje
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param position
+	 *            pozicija umetnutog elementa
+	 * @param size
+	 *            nova veličina kolekcije
+	 */
+	void inserted(Object[] elements, int position, int size) {
+		if (2 * size > positions.length) {
+			rebuild(elements, size);
+			return;
+		}
+		if (position < size - 1) {
+			shift(position, 1);
+		}
+		put(hash(elements[position]), position);
+	}
+
+	/**
+	 * Ažurira indeks nakon što su na kraj polja dodani elementi s pozicija iz
+	 * intervala <b>[from, size)</b>
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param from
+	 *            pozicija prvog dodanog elementa
+	 * @param size
+	 *            nova veličina kolekcije
+	 */
+	void appended(Object[] elements, int from, int size) {
+		if (2 * size > positions.length) {
+			rebuild(elements, size);
+			return;
+		}
+		for (int i = from; i < size; i++) {
+			put(hash(elements[i]), i);
+		}
+	}
+
+	/**
+	 * Ažurira indeks prije nego što se element ukloni sa pozicije
+	 * <b>position</b>. Poziva se dok je element još uvijek u polju
+	 *
+	 * @param elements
+	 *            polje elemenata kolekcije
+	 * @param position
+	 *            pozicija elementa koji se uklanja
+	 * @param size
+	 *            trenutna veličina kolekcije
+	 */
+	void removing(Object[] elements, int position, int size) {
+		int stored = position + 1;
+		int slot = hash(elements[position]) & mask;
+		while (positions[slot] != stored) {
+			slot = (slot + 1) & mask;
+		}
+		delete(slot);
+
+		if (position < size - 1) {
+			shift(position + 1, -1);
+		}
+	}
+
+	/**
+	 * Uklanja zapis sa mjesta <b>slot</b> i pomiče zapise iza njega unatrag
+	 * tako da lanci ispitivanja ostanu neprekinuti (nije potrebno koristiti
+	 * oznake obrisanih mjesta)
+	 *
+	 * @param slot
+	 *            mjesto u tablici koje se briše
+	 */
+	private void delete(int slot) {
+		int hole = slot;
+		for (int next = (hole + 1) & mask; positions[next] != EMPTY; next = (next + 1) & mask) {
+			int home = hashes[next] & mask;
+			// zapis ostaje na mjestu ako mu je početno mjesto ciklički
+			// unutar intervala (hole, next]
+			boolean stays = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+			if (!stays) {
+				positions[hole] = positions[next];
+				hashes[hole] = hashes[next];
+				hole = next;
+			}
+		}
+		positions[hole] = EMPTY;
+	}
+
+	/**
+	 * Svim zapisima čija je pozicija veća ili jednaka <b>from</b> pribraja
+	 * <b>delta</b>
+	 *
+	 * @param from
+	 *            najmanja pozicija koja se pomiče
+	 * @param delta
+	 *            pomak pozicije
+	 */
+	private void shift(int from, int delta) {
+		// pozicije su spremljene uvećane za jedan
+		for (int i = 0; i < positions.length; i++) {
+			if (positions[i] > from) {
+				positions[i] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Dodaje zapis za element s predanim sažetkom na poziciji
+	 * <b>position</b>
+	 *
+	 * @param hash
+	 *            sažetak elementa
+	 * @param position
+	 *            pozicija elementa u polju
+	 */
+	private void put(int hash, int position) {
+		int slot = hash & mask;
+		while (positions[slot] != EMPTY) {
+			slot = (slot + 1) & mask;
+		}
+		positions[slot] = position + 1;
+		hashes[slot] = hash;
+	}
+
+	/**
+	 * Računa sažetak vrijednosti raspršujući bitove rezultata metode
+	 * {@link Object#hashCode()}
+	 *
+	 * @param value
+	 *            vrijednost kojoj se računa sažetak
+	 * @return sažetak vrijednosti
+	 */
+	private static int hash(Object value) {
+		int h = value.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,327 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * Razred predstavlja promijenjivu kolekciju primitivnih vrijednosti tipa
+ * <code>int</code> poduprtu sa poljem <code>int[]</code>. Razred prati
+ * ugovor razreda {@link ArrayIndexedCollection}, ali vrijednosti sprema bez
+ * pakiranja u {@link Integer}. Kolekcija <b>može spremati</b> duplikate.
+ * Budući da su i pozicija i vrijednost tipa <code>int</code>, micanje po
+ * vrijednosti obavlja metoda {@link #removeValue(int)}, a micanje po poziciji
+ * metoda {@link #remove(int)}. Metode razreda:
+ * <ul>
+ * <li><code>{@link #isEmpty()}</code></li>
+ * <li><code>{@link #size()} </code></li>
+ * <li><code>{@link #add(int)} </code></li>
+ * <li><code>{@link #contains(int)}</code></li>
+ * <li><code>{@link #removeValue(int)} </code></li>
+ * <li><code>{@link #toArray()}</code></li>
+ * <li><code>{@link #forEach(IntProcessor)} </code></li>
+ * <li><code>{@link #addAll(IntArrayIndexedCollection)}</code></li>
+ * <li><code>{@link #clear()} </code></li>
+ * <li><code>{@link #get(int)}</code></li>
+ * <li><code>{@link #insert(int, int)} </code></li>
+ * <li><code>{@link #indexOf(int)} </code></li>
+ * <li><code>{@link #remove(int)}</code></li>
+ * </ul>
+ *
+ * Moguće implementacije konstruktora:
+ * <ul>
+ * <li><code>{@link #IntArrayIndexedCollection(IntArrayIndexedCollection, int)}</code></li>
+ * <li><code>{@link #IntArrayIndexedCollection(IntArrayIndexedCollection)} </code></li>
+ * <li><code>{@link #IntArrayIndexedCollection(int)} </code></li>
+ * <li><code>{@link #IntArrayIndexedCollection()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class IntArrayIndexedCollection {
+
+	/** Defaultni kapacitet, ukoliko isti nije zadan */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Status koji se koristi kod metode {@link #indexOf(int)} ukoliko index ne
+	 * postoji
+	 */
+	private static final int DOESNT_CONTAIN = -1;
+
+	/** Trenutna veličina kolekcije. */
+	private int size;
+
+	/** Polje u koje su spremljene vrijednosti kolekcije */
+	private int[] elements;
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda
+	 * {@link IntArrayIndexedCollection} čiji elementi moraju biti kopirani u
+	 * novi primjerak. Drugi agument predstavlja inicijalnu veličinu polja
+	 * potrebnu za spremanje elemenata ove kolekcije.
+	 *
+	 * @param other
+	 *            kolekcija čiji se elementi moraju kopirati
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 1
+	 */
+	public IntArrayIndexedCollection(IntArrayIndexedCollection other, int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elements = new int[initialCapacity];
+
+		// ako je predan null ništa se neće dogoditi
+		addAll(other);
+	}
+
+	/**
+	 * Konstruktor koji prima samo inicijalnu veličinu polja potrebnu za
+	 * spremanje elemenata ove kolekcije
+	 *
+	 * @param initialCapacity
+	 *            inicijalni kapacitet polja koje koristi ova kolekcija
+	 */
+	public IntArrayIndexedCollection(int initialCapacity) {
+		this(null, initialCapacity);
+	}
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda
+	 * {@link IntArrayIndexedCollection} čiji elementi moraju biti kopirani u
+	 * novi primjerak.
+	 *
+	 * @param other
+	 *            kolekcija čiji se elementi moraju kopirati
+	 */
+	public IntArrayIndexedCollection(IntArrayIndexedCollection other) {
+		this(other, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji ne prima niti jedan argument. Inicijalna veličina polja
+	 * postavlja se na 16 elemenata
+	 */
+	public IntArrayIndexedCollection() {
+		this(null);
+	}
+
+	/**
+	 * Vraća vrijednost <code><b>true</b></code> ukoliko kolekcija ne sadrži
+	 * niti jednu vrijednost. U suprotnom vraća <code><b>false</b></code>
+	 *
+	 * @return <code><b>true</b></code> ako je kolekcija prazna,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Vraća broj trenutno pospremljenih vrijednosti u kolekciji
+	 *
+	 * @return broj vrijednosti u kolekciji
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Dodaje predanu vrijednost na kraj kolekcije.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno dodati
+	 */
+	public void add(int value) {
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+	}
+
+	/**
+	 * Vraća <code><b>true</b></code> samo ako kolekcija sadrži zadanu
+	 * vrijednost
+	 *
+	 * @param value
+	 *            vrijednost kojoj ispitujemo postojanje u kolekciji
+	 * @return <code><b>true</b></code>, ako i samo ako kolekcija sadrži predanu
+	 *         vrijednost
+	 */
+	public boolean contains(int value) {
+		return indexOf(value) != DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Briše prvo pojavljivanje predane vrijednosti u kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno izbrisati ako postoji u kolekciji
+	 * @return true, je li vrijednost postojala (Budući da kolekcija može imati
+	 *         duplikate moguće je da i dalje postoji)
+	 */
+	public boolean removeValue(int value) {
+		int index = indexOf(value);
+		if (index == DOESNT_CONTAIN) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	/**
+	 * Alocira novo polje, puni ga vrijednostima kolekcije i vraća kao povratnu
+	 * vrijednost. Ova metoda nikada neće vratiti <code><b>null</b></code>.
+	 *
+	 * @return novo polje vrijednosti koje sadrži kolekcija
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Metoda poziva metodu {@link IntProcessor#process(int)} nad svakom
+	 * vrijednosti ove kolekcije redom od prve do posljednje
+	 *
+	 * @param processor
+	 *            obrađivač vrijednosti
+	 */
+	public void forEach(IntProcessor processor) {
+		for (int i = 0; i < size; i++) {
+			processor.process(elements[i]);
+		}
+	}
+
+	/**
+	 * Metoda ovoj kolekciji dodaje sve vrijednosti predane kolekcije. Prilikom
+	 * dodavanje predana kolekcija ostaje nepromjenjena. Metodi se može predati
+	 * i argument <code><b>null</b></code>. Time metoda neće ništa napraviti nad
+	 * ovom kolekcijom
+	 *
+	 * @param other
+	 *            kolekcija iz koje se kopiraju vrijednosti
+	 */
+	public void addAll(IntArrayIndexedCollection other) {
+		if (other == null) {
+			return;
+		}
+		// other može biti i ova kolekcija pa se veličina pamti unaprijed
+		int otherSize = other.size;
+		ensureCapacity(size + otherSize);
+		System.arraycopy(other.elements, 0, elements, size, otherSize);
+		size += otherSize;
+	}
+
+	/**
+	 * Miče sve vrijednosti iz ove kolekcije. Alocirano polje neće promijeniti
+	 * svoj kapacitet
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Vraća vrijednost koja je spremljena na poziciji <b>index</b>. Važeće
+	 * pozicjie su iz intervala <b>[0, size -1]</b>
+	 *
+	 * @param index
+	 *            pozicija tražene vrijednosti
+	 * @return tražena vrijednost
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public int get(int index) {
+		indexInRange(index);
+		return elements[index];
+	}
+
+	/**
+	 * Ubacuje vrijednost <b>value</b> na predanu poziciju <b>position</b>.
+	 * Sve vrijednosti na pozicijama većim ili jednakim predanoj pomiču se za
+	 * jedno mjesto u desno. Važeće pozicjie su iz intervala <b>[0, size]</b>.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno ubaciti na predanu poziciju
+	 * @param position
+	 *            pozicija na koju je potrebno ubaciti predanu vrijednost
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko pozicija nije u važećem rasponu
+	 */
+	public void insert(int value, int position) {
+		if (position < 0 || position > size) {
+			throw new IllegalArgumentException();
+		}
+
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, position, elements, position + 1, size - position);
+		elements[position] = value;
+		size++;
+	}
+
+	/**
+	 * Pretražuje kolekciju i vraća prvu poziciju na kojoj je našla predanu
+	 * vrijednost ili -1 ukoliko predana vrijednosti ne postoji u ovoj kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koja se pretražuje
+	 * @return pozicija na kojoj je prvi puta pronađena vrijednost ili -1
+	 *         ukoliko vrijednost nije pronađena
+	 */
+	public int indexOf(int value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Miče vrijednost sa predane pozicije <b>index</b>. Sve vrijednosti desno
+	 * od predane pozicije pomiče za jedno mjesto u lijevo. Važeće pozicjie su
+	 * iz intervala <b>[0, size-1]</b>.
+	 *
+	 * @param index
+	 *            pozicija sa koje je potrebno maknuti vrijednost
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void remove(int index) {
+		indexInRange(index);
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+	}
+
+	/**
+	 * Provjerava je li <b>index</b> unutar granica
+	 *
+	 * @param index
+	 *            predana vrijednost koja se provjerava
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	private void indexInRange(int index) {
+		if (index < 0 || index > (size - 1)) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	/**
+	 * Metoda koja služi za realociranje polja vrijednosti ove kolekcije. Polje
+	 * se realocira samo ako u njega ne stane <b>minCapacity</b> vrijednosti, i
+	 * to barem na dvostruko veći kapacitet
+	 *
+	 * @param minCapacity
+	 *            najmanji potrebni kapacitet polja
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= elements.length) {
+			return;
+		}
+		elements = Arrays.copyOf(elements, Math.max(elements.length * 2, minCapacity));
+	}
+}
@@ -0,0 +1,22 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Klasa definira jednu jedinu metodu {@link #process(int)}. Predstavlja
+ * inačicu razreda {@link Processor} za primitivne vrijednosti tipa
+ * <code>int</code> kako bi se izbjeglo pakiranje u {@link Integer}
+ *
+ * @author Davor Češljaš
+ */
+public class IntProcessor {
+
+	/**
+	 * Metoda obrađuje predanu vrijednost
+	 *
+	 * @param value
+	 *            vrijednost koja se obrađuje
+	 */
+	public void process(int value) {
+
+	}
+
+}
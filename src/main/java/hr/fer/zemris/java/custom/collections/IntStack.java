@@ -0,0 +1,111 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Razred koji predstavlja implementaciju LIFO(engl. Last In First Out) stoga
+ * primitivnih vrijednosti tipa <code>int</code>. Razred nudi iste metode kao i
+ * {@link ObjectStack}, ali vrijednosti ne pakira u {@link Integer}, pa metoda
+ * {@link #pop()} ne zahtijeva ukalupljivanje. Popis metoda:
+ * <ul>
+ * <li><code>{@link #isEmpty()}</code></li>
+ * <li><code>{@link #size()} </code></li>
+ * <li><code>{@link #push(int)} </code></li>
+ * <li><code>{@link #pop()}</code></li>
+ * <li><code>{@link #peek()} </code></li>
+ * <li><code>{@link #clear()}</code></li>
+ * </ul>
+ * 
+ * Razred sadrži samo jedan konstruktor:
+ * <code>{@link #IntStack()} </code>
+ * 
+ * @author Davor Češljaš
+ */
+public class IntStack {
+
+	/**
+	 * Kolekcija koju koristimo kao spremište podataka za ovaj stog. Kolekcija
+	 * je primjerak razreda {@link IntArrayIndexedCollection} te se metode ovog
+	 * stoga oslanjaju na metode te kolekcije
+	 */
+	private IntArrayIndexedCollection collection;
+
+	/**
+	 * Konstruktor koji inicijalizira stog. Korisnik može biti siguran da je
+	 * nakon poziva konstruktora stog prazan ,odnosno metoda {@link #isEmpty()}
+	 * vraća vrijednost <code><b>true</b></code>
+	 */
+	public IntStack() {
+		this.collection = new IntArrayIndexedCollection();
+	}
+
+	/**
+	 * Vraća vrijednost <code><b>true</b></code> ukoliko stog ne sadrži niti
+	 * jednu vrijednost. U suprotnom vraća <code><b>false</b></code>
+	 *
+	 * @return <code><b>true</b></code> ako je stog prazan,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean isEmpty() {
+		return collection.isEmpty();
+	}
+
+	/**
+	 * Vraća broj trenutno pospremljenih vrijednosti na stogu
+	 *
+	 * @return broj vrijednosti na stogu
+	 */
+	public int size() {
+		return collection.size();
+	}
+
+	/**
+	 * Dodaje vrijednost <code><b>value</b></code> na vrh stoga.
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno dodati na stog
+	 */
+	public void push(int value) {
+		collection.add(value);
+	}
+
+	/**
+	 * Skida zadnje dodanu vrijednost sa stoga i vraća je kroz povratnu
+	 * vrijednost
+	 *
+	 * @return zadnje dodana vrijednost na stogu
+	 * 
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public int pop() {
+		int value = peek();
+		collection.remove(size() - 1);
+		return value;
+	}
+
+	/**
+	 * Analogno metodi {@link #pop()}. Jedina rezlika je što stog ostaje
+	 * nepromijenjen, odnosno vraćena vrijednost se nakon poziva ove metode i
+	 * dalje nalazi na stogu
+	 *
+	 * @return zadnje dodana vrijednost na stogu
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public int peek() {
+		if (size() == 0) {
+			throw new EmptyStackException("Stog je prazan");
+		}
+		return collection.get(collection.size() - 1);
+	}
+
+	/**
+	 * Miče sve vrijednosti sa stoga. Pozivom metoda {@link #peek()} ili
+	 * {@link #pop()} nakon poziva ove metode izazvati će
+	 * {@link EmptyStackException}
+	 */
+	public void clear() {
+		collection.clear();
+	}
+
+}
@@ -1,5 +1,8 @@
 package hr.fer.zemris.java.custom.collections;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Razred koji nasljeđuje razred {@link Collection}. Razred predstavlja
  * promijenjivu kolekciju poduprtu sa dvostruko ulančanom listom čvorova
@@ -11,8 +14,17 @@ package hr.fer.zemris.java.custom.collections;
  * <li><code>{@link #insert(Object, int)} </code></li>
  * <li><code>{@link #indexOf(Object)} </code></li>
  * <li><code>{@link #remove(int)}</code></li>
+ * <li><code>{@link #setParallelThreshold(int)}</code></li>
  * </ul>
  * 
+ * Metoda {@link #get(int)} pamti zadnje pronađeni čvor kako bi slijedno
+ * dohvaćanje bilo brzo, pa i samo čitanje mijenja stanje kolekcije. Čvor i
+ * njegova pozicija zamjenjuju se zajedno kao jedan nepromjenjivi objekt, pa
+ * dretve koje istovremeno samo čitaju (npr. obrađivači iz
+ * {@link #parallelForEach(Processor, ForkJoinPool)}) uvijek kreću od
+ * ispravnog para čvora i pozicije. Kolekcija nije sigurna za korištenje iz
+ * više dretvi ukoliko je ijedna dretva mijenja.
+ * 
  * Moguće implementacije konstruktora:
  * <ul>
  * <li><code>{@link #LinkedListIndexedCollection(Collection)}</code></li>
@@ -54,6 +66,34 @@ public class LinkedListIndexedCollection extends Collection {
 		}
 	}
 
+	/**
+	 * Razred koji predstavlja zadnje pronađeni čvor zajedno s njegovom
+	 * pozicijom. Primjerci su nepromjenjivi kako bi dretve koje istovremeno
+	 * pozivaju {@link LinkedListIndexedCollection#get(int)} uvijek pročitale
+	 * čvor i poziciju iz istog poziva
+	 */
+	private static class Cursor {
+
+		/** Zadnje pronađeni čvor */
+		private final ListNode node;
+
+		/** Pozicija čvora u listi */
+		private final int index;
+
+		/**
+		 * Konstruktor koji prima čvor i njegovu poziciju
+		 *
+		 * @param node
+		 *            zadnje pronađeni čvor
+		 * @param index
+		 *            pozicija čvora u listi
+		 */
+		private Cursor(ListNode node, int index) {
+			this.node = node;
+			this.index = index;
+		}
+	}
+
 	/**
 	 * Status koji se koristi kod metode {@link #indexOf(Object)} ukoliko index
 	 * ne postoji
@@ -69,6 +109,13 @@ public class LinkedListIndexedCollection extends Collection {
 	/** Referenca na posljednji čvor u listi */
 	private ListNode last;
 
+	/**
+	 * Čvor koji je zadnji pronašla metoda {@link #find(int)} s njegovom
+	 * pozicijom ili <code><b>null</b></code> ukoliko je lista u međuvremenu
+	 * promijenjena
+	 */
+	private Cursor cursor;
+
 	/**
 	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
 	 * čiji elementi moraju biti kopirani u novi primjerak razreda
@@ -114,6 +161,8 @@ public class LinkedListIndexedCollection extends Collection {
 		// uništiti cijeli ulančanu listu
 		this.first = this.last = null;
 		this.size = 0;
+		this.modificationCount++;
+		this.cursor = null;
 	}
 
 	@Override
@@ -123,6 +172,20 @@ public class LinkedListIndexedCollection extends Collection {
 		}
 	}
 
+	/**
+	 * {@inheritDoc} Budući da se lista ne može podijeliti bez obilaska, lista
+	 * se slijedno obilazi i dijeli na skupine od po
+	 * {@link #getParallelThreshold()} elemenata koje se obrađuju paralelno
+	 */
+	@Override
+	public void parallelForEach(Processor processor, ForkJoinPool pool) {
+		if (size <= getParallelThreshold()) {
+			forEach(processor);
+			return;
+		}
+		pool.invoke(new SplitTask(this, processor));
+	}
+
 	/**
 	 * Dodaje predani objekt u kolekciju na posljednje mjesto; novododani čvor
 	 * postaje čvor na največoj poziciji. Metoda neće dodati vrijednost
@@ -215,6 +278,8 @@ public class LinkedListIndexedCollection extends Collection {
 			}
 		}
 		this.size++;
+		this.modificationCount++;
+		this.cursor = null;
 	}
 
 	/**
@@ -236,7 +301,10 @@ public class LinkedListIndexedCollection extends Collection {
 	/**
 	 * Metoda koja se koristi za pronalačenje elemenata u dvostruko ulančanoj
 	 * listi. U najgorem slučaju pronalaženje je kompleksnosti <i>n/2 + 1</i> .
-	 * Važeće pozicjie su iz intervala <b>[0, size -1]</b>
+	 * Pronalaženje kreće od prvog čvora, posljednjeg čvora ili zadnje
+	 * pronađenog čvora {@link #cursor}, ovisno o tome koji je najbliži traženoj
+	 * poziciji. Zato je slijedno dohvaćanje elemenata po poziciji kompleksnosti
+	 * O(1) po elementu. Važeće pozicjie su iz intervala <b>[0, size -1]</b>
 	 *
 	 * @param index
 	 *            pozicija traženog elementa u ulančanoj listi
@@ -251,13 +319,24 @@ public class LinkedListIndexedCollection extends Collection {
 
 		ListNode node;
 		int i;
-		// razmatramo je li bolje ići od prvog čvora ili od zadnjeg do nekog
-		// indexa
-		if (index + 1 < size - index) {
+		// razmatramo je li bolje ići od prvog čvora, od zadnjeg ili od
+		// zadnje pronađenog čvora do nekog indexa
+		Cursor current = cursor;
+		int fromCursor = current == null ? Integer.MAX_VALUE : Math.abs(index - current.index);
+		if (fromCursor <= index && fromCursor < size - index) {
+			node = current.node;
+			if (index > current.index) {
+				for (i = current.index; i < index; i++, node = node.next);
+			} else {
+				for (i = current.index; i > index; i--, node = node.previous);
+			}
+		} else if (index + 1 < size - index) {
 			for (i = 0, node = first; i < index; i++, node = node.next);
 		} else {
 			for (i = size - 1, node = last; i > index; i--, node = node.previous);
 		}
+
+		cursor = new Cursor(node, index);
 		return node;
 	}
 
@@ -310,6 +389,152 @@ public class LinkedListIndexedCollection extends Collection {
 			node.previous.next = node.next;
 		}
 		size--;
+		modificationCount++;
+		this.cursor = null;
+	}
+
+	/**
+	 * Zadatak koji slijedno prolazi kroz listu i svakih
+	 * {@link #getParallelThreshold()} elemenata odvaja novi zadatak
+	 * {@link BatchTask} koji ih obrađuje paralelno. Ostatak liste obrađuje sam
+	 * zadatak, nakon čega čeka završetak svih odvojenih zadataka
+	 */
+	private static class SplitTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Kolekcija čiji se elementi obrađuju */
+		private final LinkedListIndexedCollection collection;
+
+		/** Obrađivač elemenata */
+		private final Processor processor;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param collection
+		 *            kolekcija čiji se elementi obrađuju
+		 * @param processor
+		 *            obrađivač elemenata
+		 */
+		private SplitTask(LinkedListIndexedCollection collection, Processor processor) {
+			this.collection = collection;
+			this.processor = processor;
+		}
+
+		@Override
+		protected void compute() {
+			int threshold = collection.getParallelThreshold();
+			BatchTask lastForked = null;
+			ListNode node = collection.first;
+			int remaining = collection.size;
+			while (remaining > threshold) {
+				lastForked = new BatchTask(node, threshold, processor, lastForked);
+				lastForked.fork();
+				for (int i = 0; i < threshold; i++) {
+					node = node.next;
+				}
+				remaining -= threshold;
+			}
+			for (; node != null; node = node.next) {
+				processor.process(node.value);
+			}
+
+			// na kraju se čeka da svi odvojeni zadaci završe
+			for (BatchTask task = lastForked; task != null; task = task.previous) {
+				task.join();
+			}
+		}
+	}
+
+	/**
+	 * Zadatak koji obrađuje zadani broj elemenata počevši od zadanog čvora. Zadaci
+	 * koje odvoji {@link SplitTask} međusobno su ulančani kako bi se mogao
+	 * pričekati završetak svih zadataka bez dodatne kolekcije
+	 */
+	private static class BatchTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Čvor od kojeg započinje obrada */
+		private final ListNode start;
+
+		/** Broj elemenata koji se obrađuju */
+		private final int count;
+
+		/** Obrađivač elemenata */
+		private final Processor processor;
+
+		/** Prethodno odvojeni zadatak ili <code><b>null</b></code> */
+		private final BatchTask previous;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param start
+		 *            čvor od kojeg započinje obrada
+		 * @param count
+		 *            broj elemenata koji se obrađuju
+		 * @param processor
+		 *            obrađivač elemenata
+		 * @param previous
+		 *            prethodno odvojeni zadatak ili <code><b>null</b></code>
+		 */
+		private BatchTask(ListNode start, int count, Processor processor, BatchTask previous) {
+			this.start = start;
+			this.count = count;
+			this.processor = processor;
+			this.previous = previous;
+		}
+
+		@Override
+		protected void compute() {
+			ListNode node = start;
+			for (int i = 0; i < count; i++, node = node.next) {
+				processor.process(node.value);
+			}
+		}
+	}
+
+	@Override
+	public ElementsGetter createElementsGetter() {
+		return new LinkedListElementsGetter(this);
+	}
+
+	/**
+	 * Implementacija sučelja {@link ElementsGetter} za kolekciju
+	 * {@link LinkedListIndexedCollection}. Elementi se dohvaćaju prolaskom kroz
+	 * čvorove liste, pa je dohvat svakog elementa kompleksnosti O(1)
+	 */
+	private static class LinkedListElementsGetter extends AbstractElementsGetter {
+
+		/** Čvor čija se vrijednost sljedeća dohvaća */
+		private ListNode node;
+
+		/**
+		 * Konstruktor koji prima kolekciju čiji se elementi dohvaćaju
+		 *
+		 * @param collection
+		 *            kolekcija čiji se elementi dohvaćaju
+		 */
+		private LinkedListElementsGetter(LinkedListIndexedCollection collection) {
+			super(collection);
+			this.node = collection.first;
+		}
+
+		@Override
+		protected boolean hasNext() {
+			return node != null;
+		}
+
+		@Override
+		protected Object next() {
+			Object value = node.value;
+			node = node.next;
+			return value;
+		}
 	}
 
 }
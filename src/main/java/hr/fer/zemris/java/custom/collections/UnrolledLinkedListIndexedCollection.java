@@ -0,0 +1,663 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Razred koji nasljeđuje razred {@link Collection}. Razred predstavlja
+ * promijenjivu kolekciju poduprtu sa "odmotanom" dvostruko ulančanom listom
+ * (engl. unrolled linked list). Za razliku od
+ * {@link LinkedListIndexedCollection}, svaki čvor {@link ListNode} ne sprema
+ * jedan element već polje od najviše {@link #chunkCapacity} elemenata. Time se
+ * smanjuje broj čvorova (pa i memorija potrebna po elementu), a obilazak
+ * kolekcije većinom prolazi kroz uzastopne elemente polja. Važno: kolekcija
+ * <b>može spremati</b> duplikate, ali <b>ne može spremati</b> vrijednost
+ * <code><b>null</b></code>. Metode dodane u ovaj razred:
+ * <ul>
+ * <li><code>{@link #get(int)}</code></li>
+ * <li><code>{@link #insert(Object, int)} </code></li>
+ * <li><code>{@link #indexOf(Object)} </code></li>
+ * <li><code>{@link #remove(int)}</code></li>
+ * <li><code>{@link #setParallelThreshold(int)}</code></li>
+ * </ul>
+ *
+ * Moguće implementacije konstruktora:
+ * <ul>
+ * <li><code>{@link #UnrolledLinkedListIndexedCollection(Collection, int)}</code></li>
+ * <li><code>{@link #UnrolledLinkedListIndexedCollection(Collection)}</code></li>
+ * <li><code>{@link #UnrolledLinkedListIndexedCollection(int)}</code></li>
+ * <li><code>{@link #UnrolledLinkedListIndexedCollection()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class UnrolledLinkedListIndexedCollection extends Collection {
+
+	/**
+	 * Razred koji služi kao implementacija jednog čvora liste unutar kolekcije
+	 * {@link UnrolledLinkedListIndexedCollection}. Svaki primjerak razreda
+	 * sastoji se od polja vrijednosti, broja zauzetih mjesta u polju te
+	 * referenci na slijedeći i predhodni čvor {@link ListNode}
+	 */
+	private static class ListNode {
+
+		/** Vrijednosti koje su spremljene u čvoru */
+		private final Object[] values;
+
+		/** Broj vrijednosti spremljenih na početku polja {@link #values} */
+		private int count;
+
+		/** Referenca na sljedeći čvor liste */
+		private ListNode next;
+
+		/** Referenca na predhodni čvor liste */
+		private ListNode previous;
+
+		/**
+		 * Konstruktor razreda {@link ListNode} koji stvara prazan čvor
+		 * predanog kapaciteta. Reference na predhodni i sljedeći čvor
+		 * postavljaju se na <b>null</b>
+		 *
+		 * @param capacity
+		 *            najveći broj vrijednosti u čvoru
+		 */
+		private ListNode(int capacity) {
+			this.values = new Object[capacity];
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja položaj elementa u listi: čvor u kojem se
+	 * element nalazi i poziciju elementa unutar tog čvora. Primjerke vraća
+	 * metoda {@link UnrolledLinkedListIndexedCollection#find(int)}
+	 */
+	private static class Position {
+
+		/** Čvor u kojem se nalazi element */
+		private final ListNode node;
+
+		/** Pozicija elementa unutar čvora */
+		private final int offset;
+
+		/**
+		 * Konstruktor koji prima čvor i poziciju elementa unutar čvora
+		 *
+		 * @param node
+		 *            čvor u kojem se nalazi element
+		 * @param offset
+		 *            pozicija elementa unutar čvora
+		 */
+		private Position(ListNode node, int offset) {
+			this.node = node;
+			this.offset = offset;
+		}
+	}
+
+	/** Defaultni kapacitet jednog čvora, ukoliko isti nije zadan */
+	private static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+	/**
+	 * Status koji se koristi kod metode {@link #indexOf(Object)} ukoliko index
+	 * ne postoji
+	 */
+	private static final int DOESNT_CONTAIN = -1;
+
+	/** Najveći broj elemenata u jednom čvoru */
+	private final int chunkCapacity;
+
+	/** Trenutna veličina kolekcije. */
+	private int size;
+
+	/** Referenca na prvi čvor u listi */
+	private ListNode first;
+
+	/** Referenca na posljednji čvor u listi */
+	private ListNode last;
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
+	 * čiji elementi moraju biti kopirani u novi primjerak razreda
+	 * {@link UnrolledLinkedListIndexedCollection}. Drugi argument predstavlja
+	 * najveći broj elemenata u jednom čvoru liste.
+	 *
+	 * @param other
+	 *            primjerak razreda {@link Collection} čiji se elementi moraju
+	 *            kopirati u ovaj.
+	 * @param chunkCapacity
+	 *            najveći broj elemenata u jednom čvoru
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet čvora manji od 2
+	 */
+	public UnrolledLinkedListIndexedCollection(Collection other, int chunkCapacity) {
+		if (chunkCapacity < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.chunkCapacity = chunkCapacity;
+
+		if (other != null) {
+			this.addAll(other);
+		}
+	}
+
+	/**
+	 * Konstruktor koji prima referencu na primjerak razreda {@link Collection}
+	 * čiji elementi moraju biti kopirani u novi primjerak razreda
+	 * {@link UnrolledLinkedListIndexedCollection}. Čvorovi liste sadržavati će
+	 * najviše 64 elementa
+	 *
+	 * @param other
+	 *            primjerak razreda {@link Collection} čiji se elementi moraju
+	 *            kopirati u ovaj.
+	 */
+	public UnrolledLinkedListIndexedCollection(Collection other) {
+		this(other, DEFAULT_CHUNK_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji prima samo najveći broj elemenata u jednom čvoru liste
+	 *
+	 * @param chunkCapacity
+	 *            najveći broj elemenata u jednom čvoru
+	 */
+	public UnrolledLinkedListIndexedCollection(int chunkCapacity) {
+		this(null, chunkCapacity);
+	}
+
+	/**
+	 * Konstruktor koji ne prima niti jedan argument. Čvorovi liste
+	 * sadržavati će najviše 64 elementa
+	 */
+	public UnrolledLinkedListIndexedCollection() {
+		this(null);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Miče sve elemente iz ove kolekcije. Kolekcija "zaboravlja" na trenutnu
+	 * listu čvorova
+	 */
+	@Override
+	public void clear() {
+		this.first = this.last = null;
+		this.size = 0;
+		this.modificationCount++;
+	}
+
+	@Override
+	public void forEach(Processor processor) {
+		for (ListNode node = first; node != null; node = node.next) {
+			Object[] values = node.values;
+			for (int i = 0, count = node.count; i < count; i++) {
+				processor.process(values[i]);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} Lista se slijedno obilazi čvor po čvor i dijeli na
+	 * skupine čvorova koje sadrže barem {@link #getParallelThreshold()}
+	 * elemenata, a skupine se obrađuju paralelno
+	 */
+	@Override
+	public void parallelForEach(Processor processor, ForkJoinPool pool) {
+		if (size <= getParallelThreshold()) {
+			forEach(processor);
+			return;
+		}
+		pool.invoke(new SplitTask(this, processor));
+	}
+
+	/**
+	 * Dodaje predani objekt u kolekciju na posljednje mjesto. Metoda neće
+	 * dodati vrijednost <code><b>null</b></code>. Kompleksnost metoda je O(1)
+	 *
+	 * @param value
+	 *            objekt koji je potrebno dodati
+	 * @throws IllegalArgumentException
+	 *             ukoliko se preda vrijednost null
+	 */
+	@Override
+	public void add(Object value) {
+		insert(value, size);
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		return indexOf(value) != DOESNT_CONTAIN;
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		int index = indexOf(value);
+		if (index == DOESNT_CONTAIN) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public Object[] toArray() {
+		Object[] elements = new Object[this.size];
+
+		int position = 0;
+		for (ListNode node = first; node != null; node = node.next) {
+			System.arraycopy(node.values, 0, elements, position, node.count);
+			position += node.count;
+		}
+
+		return elements;
+	}
+
+	/**
+	 * Ubacuje vrijednost <b>value</b> na predanu poziciju <b>position</b>. Ova
+	 * metoda neće prebrisati element na toj poziciji već će sve elemente na
+	 * pozicijima većim od predane poziciji pomaknuti za jedno mjesto u desno.
+	 * Važeće pozicjie su iz intervala <b>[0, size]</b>. Umetanje na početak i
+	 * kraj liste je kompleksnosti O(1).
+	 *
+	 * @param value
+	 *            vrijednost koju je potrebno ubaciti na predanu poziciju
+	 * @param position
+	 *            pozicija na koju je potrebno ubaciti predanu vrijednost
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je vrijednost <b>null</b> ili pozicija nije u važećem
+	 *             rasponu
+	 */
+	public void insert(Object value, int position) {
+		// jesu li argumenti ispravni
+		if (position < 0 || position > size || value == null) {
+			throw new IllegalArgumentException();
+		}
+
+		if (size == 0) {
+			// dodavanje u praznu listu
+			this.first = this.last = new ListNode(chunkCapacity);
+			insertIntoNode(first, 0, value);
+		} else if (position == size) {
+			// dodavanje na kraj
+			insertIntoNode(last, last.count, value);
+		} else {
+			Position found = find(position);
+			insertIntoNode(found.node, found.offset, value);
+		}
+		this.size++;
+		this.modificationCount++;
+	}
+
+	/**
+	 * Pomoćna metoda koja ubacuje vrijednost u čvor <b>node</b> na poziciju
+	 * <b>offset</b> unutar čvora. Ukoliko je čvor pun, vrijednost se sprema u
+	 * susjedni čvor ili se čvor dijeli na dva dijela
+	 *
+	 * @param node
+	 *            čvor u koji se ubacuje vrijednost
+	 * @param offset
+	 *            pozicija unutar čvora, iz intervala <b>[0, node.count]</b>
+	 * @param value
+	 *            vrijednost koja se ubacuje
+	 */
+	private void insertIntoNode(ListNode node, int offset, Object value) {
+		if (offset == 0 && node.previous != null && node.previous.count < chunkCapacity) {
+			// na kraju prethodnog čvora nije potrebno ništa pomicati
+			node = node.previous;
+			offset = node.count;
+		} else if (node.count == chunkCapacity) {
+			if (offset == chunkCapacity) {
+				node = linkAfter(node);
+				offset = 0;
+			} else if (offset == 0) {
+				node = linkBefore(node);
+			} else {
+				// dijelimo puni čvor na pola
+				ListNode newNode = linkAfter(node);
+				int half = chunkCapacity / 2;
+				int moved = chunkCapacity - half;
+				System.arraycopy(node.values, half, newNode.values, 0, moved);
+				Arrays.fill(node.values, half, chunkCapacity, null);
+				node.count = half;
+				newNode.count = moved;
+				if (offset > half) {
+					node = newNode;
+					offset -= half;
+				}
+			}
+		}
+
+		System.arraycopy(node.values, offset, node.values, offset + 1, node.count - offset);
+		node.values[offset] = value;
+		node.count++;
+	}
+
+	/**
+	 * Stvara novi prazan čvor i ulančava ga iza predanog čvora
+	 *
+	 * @param node
+	 *            čvor iza kojeg se ulančava novi čvor
+	 * @return novi čvor
+	 */
+	private ListNode linkAfter(ListNode node) {
+		ListNode newNode = new ListNode(chunkCapacity);
+		newNode.previous = node;
+		newNode.next = node.next;
+		if (node.next == null) {
+			this.last = newNode;
+		} else {
+			node.next.previous = newNode;
+		}
+		node.next = newNode;
+		return newNode;
+	}
+
+	/**
+	 * Stvara novi prazan čvor i ulančava ga ispred predanog čvora
+	 *
+	 * @param node
+	 *            čvor ispred kojeg se ulančava novi čvor
+	 * @return novi čvor
+	 */
+	private ListNode linkBefore(ListNode node) {
+		ListNode newNode = new ListNode(chunkCapacity);
+		newNode.next = node;
+		newNode.previous = node.previous;
+		if (node.previous == null) {
+			this.first = newNode;
+		} else {
+			node.previous.next = newNode;
+		}
+		node.previous = newNode;
+		return newNode;
+	}
+
+	/**
+	 * Izbacuje predani čvor iz liste
+	 *
+	 * @param node
+	 *            čvor koji se izbacuje
+	 */
+	private void unlink(ListNode node) {
+		if (node.previous == null) {
+			this.first = node.next;
+		} else {
+			node.previous.next = node.next;
+		}
+		if (node.next == null) {
+			this.last = node.previous;
+		} else {
+			node.next.previous = node.previous;
+		}
+	}
+
+	/**
+	 * Vraća objekt koji je spremljen u ovoj kolekciji na poziciji
+	 * <b>index</b>. Važeće pozicjie su iz intervala <b>[0, size -1]</b>
+	 *
+	 * @param index
+	 *            pozicija tražene vrijednosti u listi
+	 * @return traženi element iz liste
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public Object get(int index) {
+		Position found = find(index);
+		return found.node.values[found.offset];
+	}
+
+	/**
+	 * Metoda koja se koristi za pronalačenje čvora u kojem se nalazi element
+	 * na poziciji <b>index</b> i pozicije elementa unutar tog čvora.
+	 * Pretraživanje kreće od bližeg kraja liste i preskače cijele čvorove.
+	 * Važeće pozicjie su iz intervala <b>[0, size -1]</b>
+	 *
+	 * @param index
+	 *            pozicija traženog elementa
+	 * @return čvor liste u kojem se nalazi traženi element i pozicija
+	 *         elementa unutar čvora
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	private Position find(int index) {
+		if (index < 0 || index > size - 1) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		ListNode node;
+		int start;
+		if (index < size / 2) {
+			for (node = first, start = 0; index >= start + node.count; node = node.next) {
+				start += node.count;
+			}
+		} else {
+			for (node = last, start = size - last.count; index < start; start -= node.count) {
+				node = node.previous;
+			}
+		}
+		return new Position(node, index - start);
+	}
+
+	/**
+	 * Pretražuje kolekciju i vraća prvu poziciju na kojoj je našla predanu
+	 * vrijednost ili -1 ukoliko predana vrijednosti ne postoji u ovoj kolekciji
+	 *
+	 * @param value
+	 *            vrijednost koja se pretražuje
+	 * @return pozicija na kojoj je prvi puta pronađena vrijednost ili -1
+	 *         ukoliko vrijednost nije pronađena
+	 */
+	public int indexOf(Object value) {
+		int start = 0;
+		for (ListNode node = first; node != null; node = node.next) {
+			Object[] values = node.values;
+			for (int i = 0, count = node.count; i < count; i++) {
+				if (values[i].equals(value)) {
+					return start + i;
+				}
+			}
+			start += node.count;
+		}
+		return DOESNT_CONTAIN;
+	}
+
+	/**
+	 * Miče element sa predane pozicije <b>index</b>. Sve elemente desno od
+	 * predane pozicije pomiče za jedno mjesto u lijevo. Prazni čvorovi se
+	 * izbacuju iz liste, a poluprazni se spajaju sa sljedećim čvorom ukoliko
+	 * njihovi elementi stanu u jedan čvor. Važeće pozicjie su iz intervala
+	 * <b>[0, size-1]</b>.
+	 *
+	 * @param index
+	 *            pozicija sa koje je potrebno maknuti element
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void remove(int index) {
+		// prvo će se provjeriti je li index izvan granica
+		Position found = find(index);
+		ListNode node = found.node;
+		int offset = found.offset;
+
+		System.arraycopy(node.values, offset + 1, node.values, offset, node.count - offset - 1);
+		node.values[--node.count] = null;
+		size--;
+		modificationCount++;
+
+		if (node.count == 0) {
+			unlink(node);
+		} else if (node.count < chunkCapacity / 2 && node.next != null
+				&& node.count + node.next.count <= chunkCapacity) {
+			ListNode next = node.next;
+			System.arraycopy(next.values, 0, node.values, node.count, next.count);
+			node.count += next.count;
+			unlink(next);
+		}
+	}
+
+	/**
+	 * Zadatak koji slijedno prolazi kroz listu i za svaku skupinu čvorova s
+	 * barem {@link #getParallelThreshold()} elemenata odvaja novi zadatak
+	 * {@link BatchTask} koji ih obrađuje paralelno. Ostatak liste obrađuje sam
+	 * zadatak, nakon čega čeka završetak svih odvojenih zadataka
+	 */
+	private static class SplitTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Kolekcija čiji se elementi obrađuju */
+		private final UnrolledLinkedListIndexedCollection collection;
+
+		/** Obrađivač elemenata */
+		private final Processor processor;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param collection
+		 *            kolekcija čiji se elementi obrađuju
+		 * @param processor
+		 *            obrađivač elemenata
+		 */
+		private SplitTask(UnrolledLinkedListIndexedCollection collection, Processor processor) {
+			this.collection = collection;
+			this.processor = processor;
+		}
+
+		@Override
+		protected void compute() {
+			int threshold = collection.getParallelThreshold();
+			BatchTask lastForked = null;
+			ListNode node = collection.first;
+			while (node != null) {
+				// skupljamo čvorove dok ne skupimo dovoljno elemenata
+				ListNode start = node;
+				int nodes = 0;
+				int elements = 0;
+				for (; node != null && elements < threshold; node = node.next) {
+					elements += node.count;
+					nodes++;
+				}
+				if (node == null) {
+					// posljednju skupinu obrađuje ovaj zadatak
+					new BatchTask(start, nodes, processor, null).compute();
+				} else {
+					lastForked = new BatchTask(start, nodes, processor, lastForked);
+					lastForked.fork();
+				}
+			}
+
+			// na kraju se čeka da svi odvojeni zadaci završe
+			for (BatchTask task = lastForked; task != null; task = task.previous) {
+				task.join();
+			}
+		}
+	}
+
+	/**
+	 * Zadatak koji obrađuje zadani broj čvorova počevši od zadanog čvora. Zadaci
+	 * koje odvoji {@link SplitTask} međusobno su ulančani kako bi se mogao
+	 * pričekati završetak svih zadataka bez dodatne kolekcije
+	 */
+	private static class BatchTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Čvor od kojeg započinje obrada */
+		private final ListNode start;
+
+		/** Broj čvorova koji se obrađuju */
+		private final int count;
+
+		/** Obrađivač elemenata */
+		private final Processor processor;
+
+		/** Prethodno odvojeni zadatak ili <code><b>null</b></code> */
+		private final BatchTask previous;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param start
+		 *            čvor od kojeg započinje obrada
+		 * @param count
+		 *            broj čvorova koji se obrađuju
+		 * @param processor
+		 *            obrađivač elemenata
+		 * @param previous
+		 *            prethodno odvojeni zadatak ili <code><b>null</b></code>
+		 */
+		private BatchTask(ListNode start, int count, Processor processor, BatchTask previous) {
+			this.start = start;
+			this.count = count;
+			this.processor = processor;
+			this.previous = previous;
+		}
+
+		@Override
+		protected void compute() {
+			ListNode node = start;
+			for (int i = 0; i < count; i++, node = node.next) {
+				Object[] values = node.values;
+				for (int j = 0, nodeCount = node.count; j < nodeCount; j++) {
+					processor.process(values[j]);
+				}
+			}
+		}
+	}
+
+	@Override
+	public ElementsGetter createElementsGetter() {
+		return new UnrolledListElementsGetter(this);
+	}
+
+	/**
+	 * Implementacija sučelja {@link ElementsGetter} za kolekciju
+	 * {@link UnrolledLinkedListIndexedCollection}. Elementi se dohvaćaju redom
+	 * iz polja unutar čvorova liste
+	 */
+	private static class UnrolledListElementsGetter extends AbstractElementsGetter {
+
+		/** Čvor u kojem se nalazi sljedeći element */
+		private ListNode node;
+
+		/** Pozicija sljedećeg elementa unutar čvora {@link #node} */
+		private int offset;
+
+		/**
+		 * Konstruktor koji prima kolekciju čiji se elementi dohvaćaju
+		 *
+		 * @param collection
+		 *            kolekcija čiji se elementi dohvaćaju
+		 */
+		private UnrolledListElementsGetter(UnrolledLinkedListIndexedCollection collection) {
+			super(collection);
+			this.node = collection.first;
+		}
+
+		@Override
+		protected boolean hasNext() {
+			return node != null;
+		}
+
+		@Override
+		protected Object next() {
+			Object value = node.values[offset++];
+			if (offset == node.count) {
+				node = node.next;
+				offset = 0;
+			}
+			return value;
+		}
+	}
+
+}
@@ -0,0 +1,313 @@
+package hr.fer.zemris.java.custom.collections.demo;
+
+import java.util.Arrays;
+
+import hr.fer.zemris.java.custom.collections.EmptyStackException;
+
+/**
+ * Razred koji predstavlja prevedeni cjelobrojni izraz u postfiksnom obliku.
+ * Izraz se metodom {@link #compile(String)} jednom prevodi u kompaktno polje
+ * naredbi, a zatim se metodom {@link #evaluate(int...)} može izračunati
+ * proizvoljan broj puta za različite vrijednosti varijabli.
+ * <p>
+ * Elementi izraza odvajaju se prazninama, a mogu biti cijeli brojevi,
+ * varijable (slovo ili podvlaka iza kojih slijede slova, znamenke ili
+ * podvlake) te operacije +, -, *, / i %. Varijable se numeriraju redom prvog
+ * pojavljivanja u izrazu, a njihova imena vraća metoda
+ * {@link #getVariables()}. Dubina stoga provjerava se pri prevođenju, pa se
+ * izraz koji bi pri računanju izazvao {@link EmptyStackException} ili na
+ * stogu ostavio više od jednog broja uopće ne može prevesti. Izraz se računa
+ * nad unaprijed alociranim poljem, bez alokacije memorije i bez provjera
+ * stoga.
+ * <p>
+ * Primjerak razreda nije siguran za istovremeno računanje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class PostfixExpression {
+
+	/** Naredba koja na stog stavlja konstantu iz sljedećeg elementa */
+	private static final int CONST = 0;
+
+	/** Naredba koja na stog stavlja varijablu čiji je indeks u sljedećem elementu */
+	private static final int LOAD = 1;
+
+	/** Naredba zbrajanja */
+	private static final int ADD = 2;
+
+	/** Naredba oduzimanja */
+	private static final int SUB = 3;
+
+	/** Naredba množenja */
+	private static final int MUL = 4;
+
+	/** Naredba dijeljenja */
+	private static final int DIV = 5;
+
+	/** Naredba ostatka pri dijeljenju */
+	private static final int MOD = 6;
+
+	/** Polje naredbi i njihovih operanada */
+	private final int[] code;
+
+	/** Imena varijabli redom prvog pojavljivanja */
+	private final String[] variables;
+
+	/** Unaprijed alocirani stog dovoljne dubine */
+	private final int[] stack;
+
+	/**
+	 * Konstruktor koji inicijalizira prevedeni izraz
+	 *
+	 * @param code
+	 *            polje naredbi i njihovih operanada
+	 * @param variables
+	 *            imena varijabli
+	 * @param maxDepth
+	 *            najveća dubina stoga pri računanju
+	 */
+	private PostfixExpression(int[] code, String[] variables, int maxDepth) {
+		this.code = code;
+		this.variables = variables;
+		this.stack = new int[maxDepth];
+	}
+
+	/**
+	 * Prevodi izraz u postfiksnom obliku
+	 *
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @return prevedeni izraz
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz sadrži neispravan element, ukoliko neka
+	 *             operacija nema dva argumenta ili ukoliko izraz ne daje
+	 *             točno jedan rezultat
+	 */
+	public static PostfixExpression compile(String expression) {
+		int[] code = new int[8];
+		int codeLength = 0;
+		String[] variables = new String[0];
+		int depth = 0;
+		int maxDepth = 0;
+
+		int length = expression.length();
+		for (int start = 0; start < length;) {
+			if (Character.isWhitespace(expression.charAt(start))) {
+				start++;
+				continue;
+			}
+			int end = start;
+			while (end < length && !Character.isWhitespace(expression.charAt(end))) {
+				end++;
+			}
+			String token = expression.substring(start, end);
+			start = end;
+
+			if (codeLength + 2 > code.length) {
+				code = Arrays.copyOf(code, code.length * 2);
+			}
+			int opcode = operation(token);
+			if (opcode != -1) {
+				if (depth < 2) {
+					throw new IllegalArgumentException("Unijeli ste prevelik broj operacija, a premalo brojeva");
+				}
+				code[codeLength++] = opcode;
+				depth--;
+				continue;
+			}
+
+			if (isNumber(token)) {
+				code[codeLength++] = CONST;
+				code[codeLength++] = parseInt(token);
+			} else if (isVariable(token)) {
+				int index = Arrays.asList(variables).indexOf(token);
+				if (index == -1) {
+					index = variables.length;
+					variables = Arrays.copyOf(variables, index + 1);
+					variables[index] = token;
+				}
+				code[codeLength++] = LOAD;
+				code[codeLength++] = index;
+			} else {
+				throw new IllegalArgumentException(String.format("'%s' nije valjana operacija", token));
+			}
+			maxDepth = Math.max(maxDepth, ++depth);
+		}
+
+		if (depth != 1) {
+			throw new IllegalArgumentException("Unijeli ste preveliki broj brojeva, a premalo operatora");
+		}
+		return new PostfixExpression(Arrays.copyOf(code, codeLength), variables, maxDepth);
+	}
+
+	/**
+	 * Vraća imena varijabli redom kojim se predaju metodi
+	 * {@link #evaluate(int...)}
+	 *
+	 * @return kopija polja imena varijabli
+	 */
+	public String[] getVariables() {
+		return variables.clone();
+	}
+
+	/**
+	 * Vraća indeks varijable <b>name</b>
+	 *
+	 * @param name
+	 *            ime varijable
+	 * @return indeks varijable ili -1 ukoliko se varijabla ne pojavljuje u
+	 *         izrazu
+	 */
+	public int indexOf(String name) {
+		return Arrays.asList(variables).indexOf(name);
+	}
+
+	/**
+	 * Računa izraz za predane vrijednosti varijabli. Metoda ne alocira
+	 * memoriju.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli redom iz {@link #getVariables()}
+	 * @return vrijednost izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj vrijednosti nije jednak broju varijabli ili
+	 *             ukoliko je djelitelj jednak 0
+	 */
+	public int evaluate(int... values) {
+		if (values.length != variables.length) {
+			throw new IllegalArgumentException(
+					"Očekivano je " + variables.length + " vrijednosti varijabli, a predano " + values.length);
+		}
+		int[] stack = this.stack;
+		int top = -1;
+		for (int pc = 0; pc < code.length;) {
+			switch (code[pc++]) {
+			case CONST:
+				stack[++top] = code[pc++];
+				break;
+			case LOAD:
+				stack[++top] = values[code[pc++]];
+				break;
+			case ADD:
+				stack[top - 1] += stack[top--];
+				break;
+			case SUB:
+				stack[top - 1] -= stack[top--];
+				break;
+			case MUL:
+				stack[top - 1] *= stack[top--];
+				break;
+			case DIV:
+				checkDevideByZero(stack[top]);
+				stack[top - 1] /= stack[top--];
+				break;
+			default:
+				checkDevideByZero(stack[top]);
+				stack[top - 1] %= stack[top--];
+				break;
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Vraća naredbu operacije <b>token</b>
+	 *
+	 * @param token
+	 *            element izraza
+	 * @return naredba operacije ili -1 ukoliko <b>token</b> nije operacija
+	 */
+	private static int operation(String token) {
+		switch (token) {
+		case "+":
+			return ADD;
+		case "-":
+			return SUB;
+		case "*":
+			return MUL;
+		case "/":
+			return DIV;
+		case "%":
+			return MOD;
+		default:
+			return -1;
+		}
+	}
+
+	/**
+	 * Provjerava je li <b>token</b> cijeli broj s opcionalnim predznakom
+	 *
+	 * @param token
+	 *            element izraza
+	 * @return <code><b>true</b></code> ukoliko je <b>token</b> cijeli broj,
+	 *         <code><b>false</b></code> inače
+	 */
+	private static boolean isNumber(String token) {
+		int start = token.charAt(0) == '+' || token.charAt(0) == '-' ? 1 : 0;
+		if (start == token.length()) {
+			return false;
+		}
+		for (int i = start; i < token.length(); i++) {
+			if (!Character.isDigit(token.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pretvara cijeli broj u vrijednost tipa <code>int</code>
+	 *
+	 * @param token
+	 *            cijeli broj
+	 * @return vrijednost broja
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj nije u rasponu tipa <code>int</code>
+	 */
+	private static int parseInt(String token) {
+		try {
+			return Integer.parseInt(token);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("'%s' nije u rasponu cijelih brojeva", token));
+		}
+	}
+
+	/**
+	 * Provjerava je li <b>token</b> ispravno ime varijable
+	 *
+	 * @param token
+	 *            element izraza
+	 * @return <code><b>true</b></code> ukoliko je <b>token</b> ime varijable,
+	 *         <code><b>false</b></code> inače
+	 */
+	private static boolean isVariable(String token) {
+		if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+			return false;
+		}
+		for (int i = 1; i < token.length(); i++) {
+			char c = token.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li djelitelj jednak 0
+	 *
+	 * @param divisor
+	 *            djelitelj
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>divisor</b> jednak nuli
+	 */
+	private static void checkDevideByZero(int divisor) {
+		if (divisor == 0) {
+			throw new IllegalArgumentException("Djelitelj je jednak 0!");
+		}
+	}
+}
@@ -1,79 +1,249 @@
 package hr.fer.zemris.java.custom.collections.demo;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import hr.fer.zemris.java.custom.collections.EmptyStackException;
-import hr.fer.zemris.java.custom.collections.ObjectStack;
+import hr.fer.zemris.java.custom.collections.IntStack;
+import hr.fer.zemris.java.hw02.ComplexPostfixEvaluator;
+import hr.fer.zemris.java.hw02.MutableComplexNumber;
 
 /**
  * Razred koji predstavlja program za računanje izraza u postfiksnom obliku.
  * Razred sve argumente prima kroz naredbeni redak. Razred također služi za
- * demonstraciju razreda {@link ObjectStack} i iznimke
- * {@link EmptyStackException}
+ * demonstraciju razreda {@link IntStack} i iznimke
+ * {@link EmptyStackException}. Brojevi se na stog spremaju kao primitivne
+ * vrijednosti, bez pakiranja u {@link Integer}
+ * <p>
+ * Program se može pokrenuti i u skupnom načinu rada s argumentima
+ * <code>{@value #BATCH_OPTION} ulaznaDatoteka izlaznaDatoteka</code>. Tada se
+ * ulazna datoteka čita redak po redak, svaki neprazan redak računa se kao
+ * jedan izraz nad istim, ispražnjenim stogom, a u izlaznu datoteku za svaki
+ * izraz zapisuje se rezultat ili poruka o pogrešci s rednim brojem retka. Na
+ * kraju se ispisuje broj obrađenih izraza u sekundi.
+ * <p>
+ * Ukoliko je prvi argument {@value #COMPLEX_OPTION}, izrazi se u oba načina
+ * rada računaju nad kompleksnim brojevima razredom
+ * {@link ComplexPostfixEvaluator}.
  * 
  * @author Davor Češljaš
  */
 public class StackDemo {
 
+	/** Argument kojim se odabire skupni način rada */
+	private static final String BATCH_OPTION = "-batch";
+
+	/** Argument kojim se odabire računanje nad kompleksnim brojevima */
+	private static final String COMPLEX_OPTION = "-complex";
+
 	/**
 	 * Metoda koja počinje izvođenje programa
 	 *
 	 * @param args
 	 *            u ovom programu potrebno je cijeli izraz unijeti unutar
-	 *            navodnika tako da veličina polja <b>args</b> bude 1
+	 *            navodnika tako da veličina polja <b>args</b> bude 1, ili za
+	 *            skupni način rada predati {@value #BATCH_OPTION} te putanje
+	 *            ulazne i izlazne datoteke. Ispred tih argumenata može se
+	 *            predati {@value #COMPLEX_OPTION}
 	 */
 	public static void main(String[] args) {
-		if (args.length > 1) {
+		boolean complex = args.length > 0 && args[0].equals(COMPLEX_OPTION);
+		int first = complex ? 1 : 0;
+		int remaining = args.length - first;
+		if (remaining == 3 && args[first].equals(BATCH_OPTION)) {
+			batch(args[first + 1], args[first + 2], complex);
+			return;
+		}
+		if (remaining != 1) {
 			System.out.println(
-					"Unijeli ste prevelik broj argumenata. Molimo Vas sve argumente pošaljite unutar navodnika");
+					"Unijeli ste pogrešan broj argumenata. Molimo Vas sve argumente pošaljite unutar navodnika");
 			return;
 		}
 
-		ObjectStack stack = new ObjectStack();
-		try (Scanner sc = new Scanner(args[0])) {
-			doTheMath(stack, sc);
-			printResult(stack);
+		try {
+			String result = complex ? new ComplexPostfixEvaluator().evaluate(args[first]).toString()
+					: Integer.toString(evaluate(new IntStack(), args[first]));
+			System.out.println("Rezultat zadanog izraza je " + result);
 		} catch (IllegalArgumentException e) {
 			System.out.println(e.getMessage());
-		} catch (EmptyStackException e) {
-			System.out.println("Unijeli ste prevelik broj operacija, a premalo brojeva");
 		}
 	}
 
 	/**
-	 * Ispisuje rezultat izračunatog izraza ili ispisuje poruku da je unesen
-	 * prevelik broj brojeva, a premalo operacija
+	 * Računa sve izraze iz ulazne datoteke i zapisuje rezultate u izlaznu
+	 * datoteku te ispisuje broj obrađenih izraza u sekundi
+	 *
+	 * @param input
+	 *            putanja ulazne datoteke
+	 * @param output
+	 *            putanja izlazne datoteke
+	 * @param complex
+	 *            računaju li se izrazi nad kompleksnim brojevima
+	 */
+	private static void batch(String input, String output, boolean complex) {
+		long start = System.nanoTime();
+		long count;
+		try (BufferedReader reader = Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+				BufferedWriter writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+			count = evaluateAll(reader, writer, complex);
+		} catch (IOException e) {
+			System.out.println("Pogreška pri čitanju ili pisanju datoteke: " + e.getMessage());
+			return;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Izračunato %d izraza (%.0f izraza/s)%n", count, count / seconds);
+	}
+
+	/**
+	 * Računa svaki neprazan redak iz <b>reader</b> kao jedan izraz i u
+	 * <b>writer</b> zapisuje njegov rezultat ili poruku o pogrešci. Svi izrazi
+	 * računaju se nad istim stogom koji se prazni prije svakog izraza.
+	 * Rezultat nad kompleksnim brojevima zapisuje se u obliku <b>a+bi</b>.
+	 *
+	 * @param reader
+	 *            izvor izraza
+	 * @param writer
+	 *            odredište rezultata
+	 * @param complex
+	 *            računaju li se izrazi nad kompleksnim brojevima
+	 * @return broj izračunatih izraza
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju ili pisanju
+	 */
+	static long evaluateAll(BufferedReader reader, Writer writer, boolean complex) throws IOException {
+		IntStack stack = new IntStack();
+		ComplexPostfixEvaluator evaluator = new ComplexPostfixEvaluator();
+		MutableComplexNumber result = new MutableComplexNumber();
+		long count = 0;
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			count++;
+			try {
+				if (complex) {
+					evaluator.evaluate(line, result);
+					writer.write(Double.toString(result.getReal()));
+					// predznak se provjerava i za -0.0 kako ne bi nastalo "+-0.0i"
+					writer.write(Math.copySign(1, result.getImaginary()) < 0 ? "" : "+");
+					writer.write(Double.toString(result.getImaginary()));
+					writer.write('i');
+				} else {
+					writer.write(Integer.toString(evaluate(stack, line)));
+				}
+			} catch (IllegalArgumentException e) {
+				writer.write("Pogreška u retku " + lineNumber + ": " + e.getMessage());
+			}
+			writer.write(System.lineSeparator());
+		}
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Računa izraz <b>expression</b> nad stogom <b>stack</b> koji se prethodno
+	 * prazni
 	 *
 	 * @param stack
-	 *            primjerak stoga sa kojeg se vadi konačni rezultat.
+	 *            stog nad kojim se računa izraz
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @return vrijednost izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz sadrži neispravnu operaciju, ukoliko je
+	 *             djelitelj jednak 0 ili ukoliko izraz nema točno jedan
+	 *             rezultat
 	 */
-	private static void printResult(ObjectStack stack) {
-		if (stack.size() == 1) {
-			System.out.println("Rezultat zadanog izraza je " + stack.pop());
-		} else {
-			System.out.println("Unijeli ste preveliki broj brojeva, a premalo operatora");
+	static int evaluate(IntStack stack, String expression) {
+		stack.clear();
+		try {
+			doTheMath(stack, expression);
+		} catch (EmptyStackException e) {
+			throw new IllegalArgumentException("Unijeli ste prevelik broj operacija, a premalo brojeva");
+		}
+		if (stack.size() != 1) {
+			throw new IllegalArgumentException("Unijeli ste preveliki broj brojeva, a premalo operatora");
 		}
+		return stack.pop();
 	}
 
 	/**
 	 * Vrši operacije stavljanja brojeva na stog i računanje izraza ovisno o
-	 * tome što vrati {@link Scanner#next()}
+	 * elementima izraza odvojenima prazninama
 	 *
 	 * @param stack
 	 *            stog na koji se spremaju brojevi
-	 * @param sc
-	 *            primjerak razreda {@link Scanner} pomoću kojeg čitamo izraz
+	 * @param expression
+	 *            izraz u postfiksnom obliku
 	 */
-	private static void doTheMath(ObjectStack stack, Scanner sc) {
-		while (sc.hasNext()) {
-			if (sc.hasNextInt()) {
-				// autoboxing u Integer
-				stack.push(sc.nextInt());
-			} else {
-				compute(stack, sc.next());
+	private static void doTheMath(IntStack stack, String expression) {
+		int length = expression.length();
+		for (int start = 0; start < length;) {
+			if (Character.isWhitespace(expression.charAt(start))) {
+				start++;
+				continue;
+			}
+			int end = start;
+			while (end < length && !Character.isWhitespace(expression.charAt(end))) {
+				end++;
 			}
+			if (!pushNumber(stack, expression, start, end)) {
+				compute(stack, expression.substring(start, end));
+			}
+			start = end;
 		}
+	}
 
+	/**
+	 * Stavlja na stog cijeli broj zapisan u rasponu <b>[start, end)</b>
+	 * izraza ukoliko je u tom rasponu zapisan broj iz raspona tipa
+	 * <code>int</code>
+	 *
+	 * @param stack
+	 *            stog na koji se sprema broj
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @param start
+	 *            početak elementa izraza
+	 * @param end
+	 *            kraj elementa izraza
+	 * @return <code><b>true</b></code> ukoliko je broj stavljen na stog,
+	 *         <code><b>false</b></code> inače
+	 */
+	private static boolean pushNumber(IntStack stack, String expression, int start, int end) {
+		char first = expression.charAt(start);
+		boolean negative = first == '-';
+		int i = negative || first == '+' ? start + 1 : start;
+		if (i == end) {
+			return false;
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = expression.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return false;
+			}
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE + 1L) {
+				return false;
+			}
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			return false;
+		}
+		stack.push((int) value);
+		return true;
 	}
 
 	/**
@@ -87,13 +257,12 @@ public class StackDemo {
 	 * @throws IllegalArgumentException
 	 *             ukoliko je <b>input</b> različit od +,-.*,/ ili %
 	 */
-	private static void compute(ObjectStack stack, String input) {
+	private static void compute(IntStack stack, String input) {
 		// ako je na stogu manje od 2 argumenta sigurno će se throwati
 		// EmtyStackException
 		int result;
-		// auto deboxing
-		int secondArgument = (Integer) stack.pop();
-		int firstArgument = (Integer) stack.pop();
+		int secondArgument = stack.pop();
+		int firstArgument = stack.pop();
 		switch (input) {
 		case "+":
 			result = firstArgument + secondArgument;
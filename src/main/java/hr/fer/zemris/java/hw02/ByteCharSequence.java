@@ -0,0 +1,52 @@
+package hr.fer.zemris.java.hw02;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Razred koji predstavlja pogled na polje okteta kao na niz znakova. Svaki
+ * oktet tumači se kao jedan znak kodiranja ISO-8859-1, pa je pogled ispravan
+ * za ASCII zapise kompleksnih brojeva. Koristi ga
+ * {@link ComplexNumberFileReader} kako bi {@link ComplexNumberParser} parsirao
+ * izravno iz međuspremnika bez stvaranja nizova znakova.
+ *
+ * @author Davor Češljaš
+ */
+final class ByteCharSequence implements CharSequence {
+
+	/** Polje okteta nad kojim je stvoren pogled */
+	private final byte[] bytes;
+
+	/** Broj okteta koji pripadaju pogledu */
+	private final int length;
+
+	/**
+	 * Konstruktor koji stvara pogled nad predanim poljem okteta
+	 *
+	 * @param bytes
+	 *            polje okteta
+	 */
+	ByteCharSequence(byte[] bytes) {
+		this.bytes = bytes;
+		this.length = bytes.length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		return (char) (bytes[index] & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+	}
+
+	@Override
+	public String toString() {
+		return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,362 @@
+package hr.fer.zemris.java.hw02;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Razred koji predstavlja polje kompleksnih brojeva fiksne duljine spremljeno
+ * izvan gomile (engl. off-heap). Realni i imaginarni dio svakog broja spremaju
+ * se jedan do drugog kao dvije vrijednosti tipa <code>double</code> u
+ * izravnim (engl. direct) primjercima razreda {@link ByteBuffer}, pa jedan
+ * broj zauzima točno 16 okteta i ne opterećuje sakupljač smeća. Budući da
+ * jedan {@link ByteBuffer} može sadržavati najviše 2GB, polje je podijeljeno
+ * na segmente, a pozicije su tipa <code>long</code>.
+ * <p>
+ * Razred nudi sljedeće metode:
+ * <ul>
+ * <li><code>{@link #length()}</code></li>
+ * <li><code>{@link #get(long)}</code></li>
+ * <li><code>{@link #getReal(long)}</code></li>
+ * <li><code>{@link #getImaginary(long)}</code></li>
+ * <li><code>{@link #get(long, double[], int)}</code></li>
+ * <li><code>{@link #get(long, double[], double[], int, int)}</code></li>
+ * <li><code>{@link #set(long, ComplexNumber)}</code></li>
+ * <li><code>{@link #set(long, double, double)}</code></li>
+ * <li><code>{@link #set(long, double[], double[], int, int)}</code></li>
+ * </ul>
+ *
+ * Memorija polja oslobađa se tek kada sakupljač smeća ukloni primjerak ovog
+ * razreda. Ukupna izravna memorija ograničena je zastavicom virtualnog stroja
+ * <code>-XX:MaxDirectMemorySize</code>, čija je predodređena vrijednost
+ * jednaka najvećoj veličini gomile (<code>-Xmx</code>), pa polje veće od te
+ * granice zahtijeva njeno povećanje. Istovremeno čitanje iz više dretvi je
+ * sigurno, dok pisanje u iste pozicije mora usklađivati korisnik.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexArray {
+
+	/** Broj okteta potreban za spremanje jednog kompleksnog broja */
+	private static final int BYTES_PER_NUMBER = 2 * Double.BYTES;
+
+	/**
+	 * Defaultni binarni logaritam broja kompleksnih brojeva u jednom segmentu
+	 * (2^26 brojeva, odnosno 1GB po segmentu)
+	 */
+	private static final int DEFAULT_SEGMENT_SHIFT = 26;
+
+	/** Broj kompleksnih brojeva u polju */
+	private final long length;
+
+	/** Binarni logaritam broja kompleksnih brojeva u jednom segmentu */
+	private final int segmentShift;
+
+	/** Maska kojom se iz pozicije dobiva pozicija unutar segmenta */
+	private final long segmentMask;
+
+	/** Segmenti u koje su spremljeni kompleksni brojevi */
+	private final ByteBuffer[] segments;
+
+	/**
+	 * Konstruktor koji alocira polje od <b>length</b> kompleksnih brojeva.
+	 * Svi brojevi inicijalno su jednaki nuli.
+	 *
+	 * @param length
+	 *            broj kompleksnih brojeva u polju
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>length</b> manji od 0
+	 * @throws OutOfMemoryError
+	 *             ukoliko polje premašuje granicu izravne memorije
+	 */
+	public ComplexArray(long length) {
+		this(length, DEFAULT_SEGMENT_SHIFT);
+	}
+
+	/**
+	 * Konstruktor koji alocira polje od <b>length</b> kompleksnih brojeva
+	 * podijeljeno na segmente od <b>2^segmentShift</b> brojeva. Koristi se za
+	 * ispitivanje rada s više segmenata bez alociranja velike memorije.
+	 *
+	 * @param length
+	 *            broj kompleksnih brojeva u polju
+	 * @param segmentShift
+	 *            binarni logaritam broja brojeva u jednom segmentu
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>length</b> manji od 0 ili <b>segmentShift</b>
+	 *             nije iz intervala <b>[0, 26]</b>
+	 * @throws OutOfMemoryError
+	 *             ukoliko polje premašuje granicu izravne memorije
+	 */
+	ComplexArray(long length, int segmentShift) {
+		if (length < 0 || segmentShift < 0 || segmentShift > DEFAULT_SEGMENT_SHIFT) {
+			throw new IllegalArgumentException();
+		}
+		this.length = length;
+		this.segmentShift = segmentShift;
+		this.segmentMask = (1L << segmentShift) - 1;
+
+		long segmentLength = 1L << segmentShift;
+		int segmentsCount = (int) ((length + segmentLength - 1) >>> segmentShift);
+		this.segments = new ByteBuffer[segmentsCount];
+		for (int i = 0; i < segmentsCount; i++) {
+			long numbers = Math.min(segmentLength, length - i * segmentLength);
+			segments[i] = allocateSegment((int) numbers * BYTES_PER_NUMBER);
+		}
+	}
+
+	/**
+	 * Alocira izravni segment od <b>bytes</b> okteta
+	 *
+	 * @param bytes
+	 *            veličina segmenta u oktetima
+	 * @return alocirani segment
+	 *
+	 * @throws OutOfMemoryError
+	 *             ukoliko segment premašuje granicu izravne memorije, s
+	 *             porukom koja navodi zastavicu kojom se granica povećava
+	 */
+	private ByteBuffer allocateSegment(int bytes) {
+		try {
+			return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+		} catch (OutOfMemoryError e) {
+			OutOfMemoryError error = new OutOfMemoryError(String.format(
+					"Nije moguće alocirati %d okteta izravne memorije za polje od %d brojeva. "
+							+ "Granicu je moguće povećati zastavicom -XX:MaxDirectMemorySize",
+					bytes, length));
+			error.initCause(e);
+			throw error;
+		}
+	}
+
+	/**
+	 * Vraća broj kompleksnih brojeva u polju
+	 *
+	 * @return broj kompleksnih brojeva u polju
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Vraća kompleksni broj na poziciji <b>index</b> kao novi primjerak
+	 * razreda {@link ComplexNumber}
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return kompleksni broj na predanoj poziciji
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public ComplexNumber get(long index) {
+		ByteBuffer segment = segment(index);
+		int offset = offset(index);
+		return new ComplexNumber(segment.getDouble(offset), segment.getDouble(offset + Double.BYTES));
+	}
+
+	/**
+	 * Vraća realni dio kompleksnog broja na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return realni dio broja
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public double getReal(long index) {
+		return segment(index).getDouble(offset(index));
+	}
+
+	/**
+	 * Vraća imaginarni dio kompleksnog broja na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return imaginarni dio broja
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public double getImaginary(long index) {
+		return segment(index).getDouble(offset(index) + Double.BYTES);
+	}
+
+	/**
+	 * Upisuje realni i imaginarni dio kompleksnog broja na poziciji
+	 * <b>index</b> u predano polje, na pozicije <b>destOffset</b> i
+	 * <b>destOffset + 1</b>. Metoda ne alocira memoriju.
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @param dest
+	 *            polje u koje se upisuje broj
+	 * @param destOffset
+	 *            pozicija realnog dijela u polju <b>dest</b>
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> ili <b>destOffset</b> nisu unutar
+	 *             granica
+	 */
+	public void get(long index, double[] dest, int destOffset) {
+		ByteBuffer segment = segment(index);
+		int offset = offset(index);
+		dest[destOffset] = segment.getDouble(offset);
+		dest[destOffset + 1] = segment.getDouble(offset + Double.BYTES);
+	}
+
+	/**
+	 * Kopira <b>count</b> kompleksnih brojeva počevši od pozicije <b>from</b>
+	 * u odvojena polja realnih i imaginarnih dijelova, počevši od pozicije
+	 * <b>destOffset</b>. Metoda ne alocira memoriju.
+	 *
+	 * @param from
+	 *            pozicija prvog broja koji se kopira
+	 * @param re
+	 *            polje u koje se upisuju realni dijelovi
+	 * @param im
+	 *            polje u koje se upisuju imaginarni dijelovi
+	 * @param destOffset
+	 *            pozicija u poljima <b>re</b> i <b>im</b> na koju se upisuje
+	 *            prvi broj
+	 * @param count
+	 *            broj brojeva koji se kopiraju
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko raspon nije unutar granica ovog polja ili predanih
+	 *             polja
+	 */
+	public void get(long from, double[] re, double[] im, int destOffset, int count) {
+		checkRange(from, count, re, im, destOffset);
+		for (int i = 0; i < count; i++) {
+			long index = from + i;
+			ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+			int offset = offset(index);
+			re[destOffset + i] = segment.getDouble(offset);
+			im[destOffset + i] = segment.getDouble(offset + Double.BYTES);
+		}
+	}
+
+	/**
+	 * Postavlja kompleksni broj na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @param number
+	 *            kompleksni broj koji se sprema
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void set(long index, ComplexNumber number) {
+		set(index, number.getReal(), number.getImaginary());
+	}
+
+	/**
+	 * Postavlja kompleksni broj na poziciji <b>index</b> iz realnog i
+	 * imaginarnog dijela
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @param real
+	 *            realni dio broja
+	 * @param imaginary
+	 *            imaginarni dio broja
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	public void set(long index, double real, double imaginary) {
+		ByteBuffer segment = segment(index);
+		int offset = offset(index);
+		segment.putDouble(offset, real);
+		segment.putDouble(offset + Double.BYTES, imaginary);
+	}
+
+	/**
+	 * Kopira <b>count</b> kompleksnih brojeva iz odvojenih polja realnih i
+	 * imaginarnih dijelova (počevši od pozicije <b>srcOffset</b>) u ovo polje,
+	 * počevši od pozicije <b>from</b>.
+	 *
+	 * @param from
+	 *            pozicija u ovom polju na koju se sprema prvi broj
+	 * @param re
+	 *            polje realnih dijelova
+	 * @param im
+	 *            polje imaginarnih dijelova
+	 * @param srcOffset
+	 *            pozicija prvog broja u poljima <b>re</b> i <b>im</b>
+	 * @param count
+	 *            broj brojeva koji se kopiraju
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko raspon nije unutar granica ovog polja ili predanih
+	 *             polja
+	 */
+	public void set(long from, double[] re, double[] im, int srcOffset, int count) {
+		checkRange(from, count, re, im, srcOffset);
+		for (int i = 0; i < count; i++) {
+			long index = from + i;
+			ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+			int offset = offset(index);
+			segment.putDouble(offset, re[srcOffset + i]);
+			segment.putDouble(offset + Double.BYTES, im[srcOffset + i]);
+		}
+	}
+
+	/**
+	 * Vraća segment u kojem se nalazi broj na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return segment u kojem se nalazi broj
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar granica
+	 */
+	private ByteBuffer segment(long index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Pozicija " + index + " nije unutar polja duljine " + length);
+		}
+		return segments[(int) (index >>> segmentShift)];
+	}
+
+	/**
+	 * Vraća poziciju (u oktetima) realnog dijela broja na poziciji
+	 * <b>index</b> unutar njegovog segmenta
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return pozicija realnog dijela unutar segmenta
+	 */
+	private int offset(long index) {
+		return (int) (index & segmentMask) * BYTES_PER_NUMBER;
+	}
+
+	/**
+	 * Provjerava jesu li raspon ovog polja i raspon predanih polja unutar
+	 * granica
+	 *
+	 * @param from
+	 *            pozicija prvog broja u ovom polju
+	 * @param count
+	 *            broj brojeva
+	 * @param re
+	 *            polje realnih dijelova
+	 * @param im
+	 *            polje imaginarnih dijelova
+	 * @param arrayOffset
+	 *            pozicija prvog broja u poljima <b>re</b> i <b>im</b>
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko raspon nije unutar granica
+	 */
+	private void checkRange(long from, int count, double[] re, double[] im, int arrayOffset) {
+		if (from < 0 || count < 0 || from > length - count || arrayOffset < 0
+				|| arrayOffset > re.length - count || arrayOffset > im.length - count) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
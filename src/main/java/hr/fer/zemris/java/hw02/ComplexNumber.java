@@ -15,7 +15,9 @@ package hr.fer.zemris.java.hw02;
  * <li><code>{@link #mul(ComplexNumber)} </code></li>
  * <li><code>{@link #div(ComplexNumber)}</code></li>
  * <li><code>{@link #power(int)} </code></li>
+ * <li><code>{@link #powers(int)} </code></li>
  * <li><code>{@link #root(int)} </code></li>
+ * <li><code>{@link #rootsInto(double[], double[])} </code></li>
  * </ul>
  * 
  * Razred nudi nekoliko metoda tvornica:
@@ -24,6 +26,7 @@ package hr.fer.zemris.java.hw02;
  * <li><code>{@link #fromImaginary(double)} </code></li>
  * <li><code>{@link #fromMagnitudeAndAngle(double, double)} </code></li>
  * <li><code>{@link #parse(String)}</code></li>
+ * <li><code>{@link #parse(CharSequence, int, int)}</code></li>
  * </ul>
  * 
  * Razred također nudi i jedan konstruktor:
@@ -34,30 +37,16 @@ package hr.fer.zemris.java.hw02;
 public class ComplexNumber {
 
 	/**
-	 * Predstavlja znak "+" koji se koristi prilikom parsiranja. Vidi
-	 * {@link #recursiveParse(String[], int)} i
-	 * {@link #parseImaginary(StringBuilder)}
+	 * Predstavlja kompleksni broj 0 s kojim se uspoređuje djelitelj u metodi
+	 * {@link #div(ComplexNumber)}
 	 */
-	private static final String PLUS_CHAR = "+";
-
-	/**
-	 * Predstavlja znak "-" koji se koristi prilikom parsiranja. Vidi
-	 * {@link #recursiveParse(String[], int)} i
-	 * {@link #parseImaginary(StringBuilder)}
-	 */
-	private static final String MINUS_CHAR = "-";
-
-	/**
-	 * Predstavlja znak "i" koji se koristi prilikom parsiranja. Vidi
-	 * {@link #recursiveParse(String[], int)}
-	 */
-	private static final String IMAGINARY_UNIT = "i";
+	private static final ComplexNumber ZERO = new ComplexNumber(0, 0);
 
 	/**
-	 * Predstavlja kompleksni broj 0 koji je neutralni element u metodi
-	 * {@link #recursiveParse(String[], int)}
+	 * Najveća razlika realnih i imaginarnih komponenti dvaju brojeva koje
+	 * metoda {@link #equals(Object)} smatra jednakima
 	 */
-	private static final ComplexNumber ZERO = new ComplexNumber(0, 0);
+	static final double TOLERANCE = 0.01;
 
 	/** Realna komponenta kompleksnog broja */
 	private double real;
@@ -182,7 +171,12 @@ public class ComplexNumber {
 
 	/**
 	 * Potencira trenutni kompleksni broj na <b>n</b> i rezultat vraća u novom
-	 * primjerku razreda {@link ComplexNumber}. Potencija <b>n >= 0</b>
+	 * primjerku razreda {@link ComplexNumber}. Potencija se računa
+	 * kvadriranjem i množenjem u pravokutnom obliku, bez trigonometrijskih
+	 * funkcija, pa je rezultat za male cjelobrojne potencije točan (npr.
+	 * <b>(1 + i)^2 = 2i</b>). Za vrlo velike eksponente koristi se polarni
+	 * oblik. Negativna potencija računa se kao potencija recipročne
+	 * vrijednosti. Vidi {@link MutableComplexNumber#power(int)}
 	 *
 	 * @param n
 	 *            potencija kompleksnog broja
@@ -191,22 +185,47 @@ public class ComplexNumber {
 	 *         rezultat potenciranja
 	 * 
 	 * @throws IllegalArgumentException
-	 *             ukoliko je potencija <b>n < 0</b>
+	 *             ukoliko je potencija <b>n < 0</b>, a trenutni broj jednak
+	 *             nuli
 	 */
 	public ComplexNumber power(int n) {
+		return new MutableComplexNumber(real, imaginary).power(n).toComplexNumber();
+	}
+
+	/**
+	 * Vraća polje svih potencija trenutnog kompleksnog broja od <b>z^0</b> do
+	 * <b>z^n</b>. Potencije se računaju uzastopnim množenjem, pa je za
+	 * računanje svih potencija potrebno samo <b>n</b> množenja.
+	 *
+	 * @param n
+	 *            najveća potencija
+	 * @return polje duljine <b>n + 1</b> u kojem je na poziciji <b>k</b>
+	 *         potencija <b>z^k</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>n < 0</b>
+	 */
+	public ComplexNumber[] powers(int n) {
 		if (n < 0) {
-			throw new IllegalArgumentException("Eksponent ne može biti mani od nule");
+			throw new IllegalArgumentException("Najveća potencija ne može biti " + n);
+		}
+		ComplexNumber[] powers = new ComplexNumber[n + 1];
+		double powerReal = 1, powerImaginary = 0;
+		powers[0] = new ComplexNumber(powerReal, powerImaginary);
+		for (int k = 1; k <= n; k++) {
+			double newReal = powerReal * real - powerImaginary * imaginary;
+			powerImaginary = powerReal * imaginary + powerImaginary * real;
+			powerReal = newReal;
+			powers[k] = new ComplexNumber(powerReal, powerImaginary);
 		}
-		double powMagnitude = Math.pow(getMagnitude(), n);
-		double angle = getAngle();
-		double realPart = powMagnitude * Math.cos(n * angle);
-		double imaginaryPart = powMagnitude * Math.sin(n * angle);
-		return new ComplexNumber(realPart, imaginaryPart);
+		return powers;
 	}
 
 	/**
 	 * Korjenuje trenutni kompleksni broj sa <b>n</b> i rezultat vraća u novom
-	 * primjerku razreda {@link ComplexNumber}. Korijen <b>n > 0</b>
+	 * primjerku razreda {@link ComplexNumber}. Korijen <b>n > 0</b>. Računa se
+	 * samo glavni korijen, a ostali se dobivaju njegovim množenjem s
+	 * <b>n</b>-tim korijenima iz jedinice iz tablice {@link RootsOfUnity}.
 	 *
 	 * @param n
 	 *            korijen kompleksnog broja
@@ -220,31 +239,47 @@ public class ComplexNumber {
 		if (n <= 0) {
 			throw new IllegalArgumentException("Korijen ne može biti " + n);
 		}
+		double[] re = new double[n];
+		double[] im = new double[n];
+		rootsInto(re, im);
 		ComplexNumber[] roots = new ComplexNumber[n];
-		double rootMagnitude = Math.pow(getMagnitude(), 1.0 / n);
 		for (int k = 0; k < n; k++) {
-			roots[k] = new ComplexNumber(rootMagnitude * getRootAngle(true, k, n),
-					rootMagnitude * getRootAngle(false, k, n));
+			roots[k] = new ComplexNumber(re[k], im[k]);
 		}
 		return roots;
 	}
 
 	/**
-	 * Pomoćna metoda za računanje kuta korijena. Koristi je {@link #root(int)}.
-	 * Moguće je računati realni ili imaginarni dio
+	 * Računa svih <b>n</b> korijena trenutnog kompleksnog broja, gdje je
+	 * <b>n</b> duljina predanih polja, i upisuje ih u polja <b>re</b> i
+	 * <b>im</b> istim redom kao metoda {@link #root(int)}. Metoda ne alocira
+	 * memoriju osim pri prvom korištenju tablice korijena iz jedinice za
+	 * <b>n</b>.
 	 *
-	 * @param real
-	 *            <code><b>true</b></code> ako tražimo realan dio korijena,
-	 *            <code><b>false</b></code>inače
-	 * @param rootNumber
-	 *            broj korijena
-	 * @param root
-	 *            koji se korijen računa (n u metodi {@link #root(int)})
-	 * @return kut korijena
+	 * @param re
+	 *            polje u koje se upisuju realni dijelovi korijena
+	 * @param im
+	 *            polje u koje se upisuju imaginarni dijelovi korijena
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko su polja prazna ili različite duljine
 	 */
-	private double getRootAngle(boolean real, int rootNumber, int root) {
-		double argument = (getAngle() + 2 * rootNumber * Math.PI) / root;
-		return real ? Math.cos(argument) : Math.sin(argument);
+	public void rootsInto(double[] re, double[] im) {
+		int n = re.length;
+		if (n == 0 || im.length != n) {
+			throw new IllegalArgumentException("Polja za korijene moraju biti jednake duljine veće od 0");
+		}
+		RootsOfUnity unity = RootsOfUnity.of(n);
+		double rootMagnitude = Math.pow(getMagnitude(), 1.0 / n);
+		double angle = getAngle() / n;
+		double principalReal = rootMagnitude * Math.cos(angle);
+		double principalImaginary = rootMagnitude * Math.sin(angle);
+
+		double[] unityRe = unity.re, unityIm = unity.im;
+		for (int k = 0; k < n; k++) {
+			re[k] = principalReal * unityRe[k] - principalImaginary * unityIm[k];
+			im[k] = principalReal * unityIm[k] + principalImaginary * unityRe[k];
+		}
 	}
 
 	@Override
@@ -310,92 +345,47 @@ public class ComplexNumber {
 	 *             ako metoda {@link String#isEmpty()} nad <b>s</b> vrati
 	 *             <code><b>true</b></code>
 	 * @throws NumberFormatException
-	 *             ukoliko se iz <b>s</b> ne mogu dobiti isključivo brojevi
+	 *             ukoliko se iz <b>s</b> ne mogu dobiti isključivo brojevi.
+	 *             Baca se {@link ComplexNumberFormatException} s pozicijom
+	 *             pogreške
 	 */
 	public static ComplexNumber parse(String s) {
 		if (s.trim().isEmpty()) {
 			throw new IllegalArgumentException("Unijeli ste prazni niz znakova");
 		}
-		String[] splitted = s.split("");
-		return recursiveParse(splitted, 0);
+		return new ComplexNumberParser().parse(s).toComplexNumber();
 	}
 
 	/**
-	 * Pomoćna metoda koja rekurzivno parsira string predan metodi {@link #parse(String)}
+	 * Parsira <b>length</b> znakova niza <b>s</b> počevši od pozicije
+	 * <b>offset</b> u primjerak razreda {@link ComplexNumber}. Gramatika je
+	 * jednaka kao i kod metode {@link #parse(String)}, a parsiranje se obavlja
+	 * bez stvaranja pomoćnih nizova znakova. Za parsiranje bez ikakve alokacije
+	 * koristi se izravno {@link ComplexNumberParser}.
 	 *
-	 * @param splitted
-	 *            polje stringova koje treba isparsirati
-	 * @param index
-	 *            trenutni index do kojeg je parsiranje uspjelo
-	 * @return konačno rješenje kao primjerak razreda {@link ComplexNumber}
-	 * @throws NumberFormatException
-	 *             ukoliko se iz <b>splitted</b> ne mogu dobiti isključivo brojevi
+	 * @param s
+	 *            niz znakova koji se parsira
+	 * @param offset
+	 *            pozicija prvog znaka
+	 * @param length
+	 *            broj znakova koji se parsiraju
+	 * @return primjerak razreda {@link ComplexNumber} koji je isparsiran
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko raspon nije unutar niza <b>s</b>
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko raspon ne sadrži ispravan zapis kompleksnog broja
 	 */
-	private static ComplexNumber recursiveParse(String[] splitted, int index) {
-		// kako bi se krenuo vračati rekurzivno potrebno je pročitati sve i
-		// vratiti neutralan element
-		if (splitted.length <= index) {
-			return ZERO;
-		}
-
-		StringBuilder sb = new StringBuilder();
-		String currentChar = splitted[index];
-		// ovdje će biti spremljen broj koji se u ovom pozivu isprasira
-		ComplexNumber number = null;
-		// idem znak po znak i spajam string
-		while ((!currentChar.equals(PLUS_CHAR) && !currentChar.equals(MINUS_CHAR) || sb.toString().isEmpty())) {
-			// ako je trenutni znak jednak "i" tada bi ono prije njega trebalo
-			// biti imaginarni dio broja
-			if (currentChar.equals(IMAGINARY_UNIT)) {
-				// preskoči slovo i
-				index++;
-				// postoji nekoliko slučajeva pa sam to izolirao u metodu
-				number = parseImaginary(sb);
-				break;
-			}
-			// ako je string prazan ili je jednak razmaku preskoči (parser
-			// javlja grešku za razmak između npr + i broja)
-			if (!currentChar.trim().isEmpty()) {
-				sb.append(currentChar);
-			}
-
-			index++;
-			// provjeri jesmo li došli do kraja
-			if (index == splitted.length) {
-				break;
-			}
-			currentChar = splitted[index];
-		}
-
-		// broj nije imaginaran dakle broj je realan, ako nije realan znači da
-		// NIJE broj pa ide NumberFormatException
-		if (number == null) {
-			number = fromReal(Double.parseDouble(sb.toString()));
-		}
-		return number.add(recursiveParse(splitted, index));
+	public static ComplexNumber parse(CharSequence s, int offset, int length) {
+		return new ComplexNumberParser().parse(s, offset, length).toComplexNumber();
 	}
 
 	/**
-	 * Metoda koja parsira imaginarni dio broja
-	 *
-	 * @param sb
-	 *            primjerak razreda {@link StringBuilder} koji se koristi pri parsiranju
-	 * @return imaginarni dio kompleksnog broja koji je sadržan u <b>sb</b>.
-	 * 
-	 * @throws NumberFormatException   ukoliko se u <b>sb</b> ne nalazi broj 
+	 * {@inheritDoc} Sažetak se računa iz točnih vrijednosti komponenti, pa
+	 * brojevi koje metoda {@link #equals(Object)} smatra jednakima mogu imati
+	 * različite sažetke. Za pretraživanje i uklanjanje duplikata po
+	 * toleranciji koristi se {@link ComplexNumberSet}.
 	 */
-	private static ComplexNumber parseImaginary(StringBuilder sb) {
-		String possibleNumber = sb.toString();
-		int lastIndex = sb.toString().length() - 1;
-		if (possibleNumber.lastIndexOf(PLUS_CHAR) == lastIndex || possibleNumber.lastIndexOf(MINUS_CHAR) == lastIndex) {
-			return fromImaginary(Double.parseDouble(sb.append(1).toString()));
-		} else if (!sb.toString().isEmpty()) {
-			return fromImaginary(Double.parseDouble(possibleNumber));
-		} else {
-			return fromImaginary(1);
-		}
-	}
-
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -417,10 +407,25 @@ public class ComplexNumber {
 		if (getClass() != obj.getClass())
 			return false;
 		ComplexNumber other = (ComplexNumber) obj;
-		if (Math.abs(imaginary - other.imaginary) > 0.01)
-			return false;
-		if (Math.abs(real - other.real) > 0.01)
-			return false;
-		return true;
+		return approximatelyEquals(real, imaginary, other.real, other.imaginary);
+	}
+
+	/**
+	 * Provjerava razlikuju li se komponente brojeva <b>re1 + im1 * i</b> i
+	 * <b>re2 + im2 * i</b> najviše za {@value #TOLERANCE}
+	 *
+	 * @param re1
+	 *            realni dio prvog broja
+	 * @param im1
+	 *            imaginarni dio prvog broja
+	 * @param re2
+	 *            realni dio drugog broja
+	 * @param im2
+	 *            imaginarni dio drugog broja
+	 * @return <code><b>true</b></code> ukoliko su brojevi jednaki unutar
+	 *         tolerancije, <code><b>false</b></code> inače
+	 */
+	static boolean approximatelyEquals(double re1, double im1, double re2, double im2) {
+		return !(Math.abs(im1 - im2) > TOLERANCE) && !(Math.abs(re1 - re2) > TOLERANCE);
 	}
 }
@@ -0,0 +1,476 @@
+package hr.fer.zemris.java.hw02;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Razred koji čita tekstualnu datoteku u kojoj je u svakom retku zapisan
+ * jedan kompleksni broj (u gramatici metode {@link ComplexNumber#parse(String)}).
+ * Datoteka se čita pozicijskim čitanjem kroz {@link FileChannel} u
+ * međuspremnik okteta, a brojevi se parsiraju izravno iz okteta pomoću
+ * {@link ComplexNumberParser}, bez stvaranja niza znakova za svaki redak.
+ * Prazni retci i retci koji sadrže samo razmake se preskaču, a razmaci na
+ * početku i kraju retka (uključujući <code>\r</code>) se zanemaruju.
+ * <p>
+ * Isparsirani brojevi predaju se korisniku u blokovima kroz sučelje
+ * {@link ChunkConsumer} kao polja realnih i imaginarnih dijelova. Datoteku je
+ * metodom {@link #split(int)} moguće podijeliti na raspone koji počinju na
+ * početku retka, pa više dretvi može istovremeno čitati različite raspone
+ * metodom {@link #read(long, long, ChunkConsumer)}. Metoda
+ * {@link #readAll(ForkJoinPool)} na taj način paralelno učitava cijelu
+ * datoteku u {@link ComplexArray}. Metode ovog razreda sigurne su za
+ * istovremeno korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexNumberFileReader implements Closeable {
+
+	/**
+	 * Sučelje koje predstavlja primatelja blokova isparsiranih kompleksnih
+	 * brojeva
+	 *
+	 * @author Davor Češljaš
+	 */
+	public interface ChunkConsumer {
+
+		/**
+		 * Prima jedan blok kompleksnih brojeva. Polja se ponovno koriste za
+		 * sljedeći blok, pa ih primatelj ne smije pamtiti nakon povratka iz
+		 * metode.
+		 *
+		 * @param re
+		 *            realni dijelovi brojeva
+		 * @param im
+		 *            imaginarni dijelovi brojeva
+		 * @param count
+		 *            broj brojeva u bloku (počevši od pozicije 0)
+		 */
+		void accept(double[] re, double[] im, int count);
+	}
+
+	/**
+	 * Sučelje kojem metoda {@link ComplexNumberFileReader#scan} predaje svaki
+	 * neprazni redak
+	 */
+	private interface LineVisitor {
+
+		/**
+		 * Obrađuje jedan redak bez razmaka na početku i kraju
+		 *
+		 * @param bytes
+		 *            pogled na međuspremnik u kojem se nalazi redak
+		 * @param start
+		 *            pozicija prvog znaka retka u međuspremniku
+		 * @param end
+		 *            pozicija iza zadnjeg znaka retka u međuspremniku
+		 * @param filePosition
+		 *            pozicija prvog znaka retka u datoteci
+		 */
+		void line(ByteCharSequence bytes, int start, int end, long filePosition);
+	}
+
+	/** Defaultna veličina međuspremnika u oktetima */
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+	/** Defaultni broj kompleksnih brojeva u jednom bloku */
+	private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	/** Kanal kroz koji se čita datoteka */
+	private final FileChannel channel;
+
+	/** Veličina međuspremnika u oktetima (ujedno i najveća duljina retka) */
+	private final int bufferSize;
+
+	/** Broj kompleksnih brojeva u jednom bloku */
+	private final int chunkSize;
+
+	/**
+	 * Konstruktor koji otvara datoteku za čitanje
+	 *
+	 * @param path
+	 *            putanja do datoteke
+	 *
+	 * @throws IOException
+	 *             ukoliko datoteku nije moguće otvoriti
+	 */
+	public ComplexNumberFileReader(Path path) throws IOException {
+		this(path, DEFAULT_BUFFER_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Konstruktor koji otvara datoteku za čitanje uz zadanu veličinu
+	 * međuspremnika i bloka. Koristi se za ispitivanje rubnih slučajeva.
+	 *
+	 * @param path
+	 *            putanja do datoteke
+	 * @param bufferSize
+	 *            veličina međuspremnika u oktetima
+	 * @param chunkSize
+	 *            broj kompleksnih brojeva u jednom bloku
+	 *
+	 * @throws IOException
+	 *             ukoliko datoteku nije moguće otvoriti
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neka od veličina manja od 1
+	 */
+	ComplexNumberFileReader(Path path, int bufferSize, int chunkSize) throws IOException {
+		if (bufferSize < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.bufferSize = bufferSize;
+		this.chunkSize = chunkSize;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+	}
+
+	/**
+	 * Vraća veličinu datoteke u oktetima
+	 *
+	 * @return veličina datoteke
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 */
+	public long size() throws IOException {
+		return channel.size();
+	}
+
+	/**
+	 * Dijeli datoteku na najviše <b>parts</b> raspona podjednake veličine
+	 * koji počinju na početku retka. Vraća polje granica duljine
+	 * <b>parts + 1</b>, gdje je <b>i</b>-ti raspon
+	 * <code>[bounds[i], bounds[i + 1])</code>. Neki rasponi mogu biti prazni.
+	 *
+	 * @param parts
+	 *            broj raspona
+	 * @return polje granica raspona
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>parts</b> manji od 1
+	 */
+	public long[] split(int parts) throws IOException {
+		if (parts < 1) {
+			throw new IllegalArgumentException("Broj raspona ne može biti " + parts);
+		}
+		long size = size();
+		long[] bounds = new long[parts + 1];
+		bounds[parts] = size;
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		for (int i = 1; i < parts; i++) {
+			long guess = Math.max(bounds[i - 1], size / parts * i);
+			bounds[i] = guess == 0 ? 0 : nextLineStart(guess - 1, size, buffer);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Vraća broj nepraznih redaka u rasponu <b>[from, to)</b>. Raspon mora
+	 * počinjati na početku retka.
+	 *
+	 * @param from
+	 *            početak raspona u oktetima
+	 * @param to
+	 *            kraj raspona u oktetima (isključivo)
+	 * @return broj nepraznih redaka
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 */
+	public long countLines(long from, long to) throws IOException {
+		long[] count = new long[1];
+		scan(from, to, (bytes, start, end, filePosition) -> count[0]++);
+		return count[0];
+	}
+
+	/**
+	 * Parsira sve retke datoteke i predaje ih primatelju <b>consumer</b>.
+	 * Vidi {@link #read(long, long, ChunkConsumer)}
+	 *
+	 * @param consumer
+	 *            primatelj blokova brojeva
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko neki redak nije ispravan zapis kompleksnog broja
+	 */
+	public void read(ChunkConsumer consumer) throws IOException {
+		read(0, size(), consumer);
+	}
+
+	/**
+	 * Parsira retke u rasponu <b>[from, to)</b> i predaje ih primatelju
+	 * <b>consumer</b> u blokovima, redom kojim se nalaze u datoteci. Raspon
+	 * mora počinjati na početku retka (vidi {@link #split(int)}).
+	 *
+	 * @param from
+	 *            početak raspona u oktetima
+	 * @param to
+	 *            kraj raspona u oktetima (isključivo)
+	 * @param consumer
+	 *            primatelj blokova brojeva
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko neki redak nije ispravan zapis kompleksnog broja.
+	 *             Poruka sadrži poziciju retka u datoteci, a pozicija pogreške
+	 *             odnosi se na redak
+	 */
+	public void read(long from, long to, ChunkConsumer consumer) throws IOException {
+		double[] re = new double[chunkSize];
+		double[] im = new double[chunkSize];
+		int[] count = new int[1];
+		ComplexNumberParser parser = new ComplexNumberParser();
+
+		scan(from, to, (bytes, start, end, filePosition) -> {
+			try {
+				parser.parse(bytes, start, end - start);
+			} catch (ComplexNumberFormatException e) {
+				throw new ComplexNumberFormatException("Neispravan kompleksni broj u retku na poziciji "
+						+ filePosition + ": " + e.getMessage(), e.getErrorOffset() - start);
+			}
+			re[count[0]] = parser.getReal();
+			im[count[0]] = parser.getImaginary();
+			if (++count[0] == chunkSize) {
+				consumer.accept(re, im, chunkSize);
+				count[0] = 0;
+			}
+		});
+		if (count[0] > 0) {
+			consumer.accept(re, im, count[0]);
+		}
+	}
+
+	/**
+	 * Paralelno učitava cijelu datoteku u novi primjerak razreda
+	 * {@link ComplexArray}. Datoteka se dijeli na raspone metodom
+	 * {@link #split(int)}, u prvom prolazu se paralelno prebroje retci svakog
+	 * raspona, a u drugom se rasponi paralelno parsiraju izravno na svoje
+	 * pozicije u polju.
+	 *
+	 * @param pool
+	 *            bazen dretvi u kojem se izvodi učitavanje
+	 * @return polje svih brojeva iz datoteke, redom kojim su zapisani
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko neki redak nije ispravan zapis kompleksnog broja
+	 */
+	public ComplexArray readAll(ForkJoinPool pool) throws IOException {
+		int parts = pool.getParallelism() * 4;
+		long[] bounds = split(parts);
+
+		List<Callable<Long>> counters = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			long from = bounds[i], to = bounds[i + 1];
+			counters.add(() -> countLines(from, to));
+		}
+		List<Long> counts = invokeAll(pool, counters);
+
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		ComplexArray array = new ComplexArray(total);
+
+		List<Callable<Long>> readers = new ArrayList<>(parts);
+		long firstIndex = 0;
+		for (int i = 0; i < parts; i++) {
+			long from = bounds[i], to = bounds[i + 1], first = firstIndex;
+			readers.add(() -> {
+				long[] index = { first };
+				read(from, to, (re, im, count) -> {
+					array.set(index[0], re, im, 0, count);
+					index[0] += count;
+				});
+				return index[0] - first;
+			});
+			firstIndex += counts.get(i);
+		}
+		invokeAll(pool, readers);
+		return array;
+	}
+
+	/**
+	 * Paralelno učitava cijelu datoteku u zajedničkom bazenu dretvi. Vidi
+	 * {@link #readAll(ForkJoinPool)}
+	 *
+	 * @return polje svih brojeva iz datoteke, redom kojim su zapisani
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko neki redak nije ispravan zapis kompleksnog broja
+	 */
+	public ComplexArray readAll() throws IOException {
+		return readAll(ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Čita raspon <b>[from, to)</b> kroz međuspremnik i predaje svaki
+	 * neprazni redak posjetitelju <b>visitor</b>. Redak koji prelazi kraj
+	 * međuspremnika premješta se na njegov početak prije sljedećeg čitanja.
+	 *
+	 * @param from
+	 *            početak raspona u oktetima
+	 * @param to
+	 *            kraj raspona u oktetima (isključivo)
+	 * @param visitor
+	 *            posjetitelj redaka
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju ili je neki redak dulji
+	 *             od međuspremnika
+	 */
+	private void scan(long from, long to, LineVisitor visitor) throws IOException {
+		byte[] buffer = new byte[bufferSize];
+		ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+		ByteCharSequence bytes = new ByteCharSequence(buffer);
+		long bufferStart = from;
+		int filled = 0;
+
+		while (true) {
+			long remaining = to - bufferStart - filled;
+			wrapper.limit((int) Math.min(bufferSize, filled + remaining));
+			wrapper.position(filled);
+			int read = remaining > 0 ? channel.read(wrapper, bufferStart + filled) : -1;
+			if (read > 0) {
+				filled += read;
+			}
+			boolean end = read < 0 || bufferStart + filled >= to;
+
+			int lineStart = 0;
+			for (int i = 0; i < filled; i++) {
+				if (buffer[i] == '\n') {
+					visitLine(bytes, lineStart, i, bufferStart, visitor);
+					lineStart = i + 1;
+				}
+			}
+			if (end) {
+				if (lineStart < filled) {
+					visitLine(bytes, lineStart, filled, bufferStart, visitor);
+				}
+				return;
+			}
+			if (lineStart == 0 && filled == bufferSize) {
+				throw new IOException("Redak na poziciji " + bufferStart + " je dulji od " + bufferSize + " okteta");
+			}
+			System.arraycopy(buffer, lineStart, buffer, 0, filled - lineStart);
+			bufferStart += lineStart;
+			filled -= lineStart;
+		}
+	}
+
+	/**
+	 * Miče razmake s početka i kraja retka i predaje ga posjetitelju ukoliko
+	 * nije prazan
+	 *
+	 * @param bytes
+	 *            pogled na međuspremnik
+	 * @param start
+	 *            pozicija prvog znaka retka u međuspremniku
+	 * @param end
+	 *            pozicija iza zadnjeg znaka retka u međuspremniku
+	 * @param bufferStart
+	 *            pozicija međuspremnika u datoteci
+	 * @param visitor
+	 *            posjetitelj redaka
+	 */
+	private static void visitLine(ByteCharSequence bytes, int start, int end, long bufferStart,
+			LineVisitor visitor) {
+		while (start < end && bytes.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && bytes.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		if (start < end) {
+			visitor.line(bytes, start, end, bufferStart + start);
+		}
+	}
+
+	/**
+	 * Vraća poziciju prvog okteta iza prvog znaka novog retka koji se nalazi
+	 * na poziciji <b>position</b> ili iza nje
+	 *
+	 * @param position
+	 *            pozicija od koje se traži znak novog retka
+	 * @param size
+	 *            veličina datoteke
+	 * @param buffer
+	 *            pomoćni međuspremnik
+	 * @return početak sljedećeg retka ili <b>size</b> ukoliko ga nema
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri čitanju
+	 */
+	private long nextLineStart(long position, long size, ByteBuffer buffer) throws IOException {
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Izvodi predane zadatke u bazenu dretvi i vraća njihove rezultate.
+	 * Iznimke iz zadataka prosljeđuju se pozivatelju.
+	 *
+	 * @param pool
+	 *            bazen dretvi
+	 * @param tasks
+	 *            zadaci
+	 * @return rezultati zadataka
+	 *
+	 * @throws IOException
+	 *             ukoliko je neki zadatak bacio {@link IOException}
+	 */
+	private static List<Long> invokeAll(ForkJoinPool pool, List<Callable<Long>> tasks) throws IOException {
+		List<Long> results = new ArrayList<>(tasks.size());
+		for (Future<Long> future : pool.invokeAll(tasks)) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Čitanje je prekinuto", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+		return results;
+	}
+}
@@ -0,0 +1,41 @@
+package hr.fer.zemris.java.hw02;
+
+/**
+ * Razred koji nasljeđuje {@link NumberFormatException}. Iznimku baca
+ * {@link ComplexNumberParser} kada predani niz znakova nije ispravan zapis
+ * kompleksnog broja. Uz poruku, iznimka pamti i poziciju u nizu znakova na
+ * kojoj je parsiranje prekinuto.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexNumberFormatException extends NumberFormatException {
+
+	/** Konstanta serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** Pozicija u nizu znakova na kojoj je parsiranje prekinuto */
+	private final int errorOffset;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda porukom i
+	 * pozicijom pogreške
+	 *
+	 * @param message
+	 *            poruka koju treba ispisati korisniku prilikom bacanja iznimke
+	 * @param errorOffset
+	 *            pozicija u nizu znakova na kojoj je parsiranje prekinuto
+	 */
+	public ComplexNumberFormatException(String message, int errorOffset) {
+		super(message);
+		this.errorOffset = errorOffset;
+	}
+
+	/**
+	 * Vraća poziciju u nizu znakova na kojoj je parsiranje prekinuto
+	 *
+	 * @return pozicija pogreške
+	 */
+	public int getErrorOffset() {
+		return errorOffset;
+	}
+}
@@ -0,0 +1,198 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Razred koji predstavlja ograničenu priručnu memoriju rezultata metode
+ * {@link ComplexNumber#parse(String)}. Ključ je ulazni niz znakova, a budući
+ * da je {@link ComplexNumber} nepromjenjiv, isti primjerak sigurno se vraća
+ * svim pozivateljima. Korištenje je opcionalno: pozivatelj koji parsira
+ * mnogo ponovljenih zapisa umjesto {@link ComplexNumber#parse(String)}
+ * poziva {@link #parse(String)}.
+ * <p>
+ * Memorija je podijeljena na segmente s vlastitim zaključavanjem kako bi se
+ * smanjilo natjecanje dretvi, a svaki segment je LRU (engl. Least Recently
+ * Used) memorija koja pri prekoračenju svog dijela kapaciteta izbacuje
+ * najdulje nekorišteni zapis. Parsiranje se obavlja izvan zaključavanja.
+ * Zapisi koji nisu ispravni ne pamte se. Broj pogodaka i promašaja dohvaća se
+ * metodama {@link #getHitCount()} i {@link #getMissCount()}. Razred je
+ * siguran za korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexNumberParseCache {
+
+	/** Najveći broj segmenata */
+	private static final int MAX_SEGMENTS = 16;
+
+	/**
+	 * Najmanji kapacitet segmenta; manje memorije imaju jedan segment i time
+	 * točan LRU poredak
+	 */
+	private static final int MIN_SEGMENT_CAPACITY = 32;
+
+	/** Segmenti priručne memorije */
+	private final Segment[] segments;
+
+	/** Broj pogodaka */
+	private final LongAdder hits = new LongAdder();
+
+	/** Broj promašaja */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Razred koji predstavlja jedan segment priručne memorije: mapu poredanu
+	 * po zadnjem pristupu koja izbacuje najdulje nekorišteni zapis
+	 */
+	private static class Segment extends LinkedHashMap<String, ComplexNumber> {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Najveći broj zapisa u segmentu */
+		private final int capacity;
+
+		/**
+		 * Konstruktor koji inicijalizira segment
+		 *
+		 * @param capacity
+		 *            najveći broj zapisa u segmentu
+		 */
+		private Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ComplexNumber> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira priručnu memoriju zadanog kapaciteta
+	 *
+	 * @param maximumSize
+	 *            najveći broj zapamćenih zapisa
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 1
+	 */
+	public ComplexNumberParseCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Kapacitet ne može biti " + maximumSize);
+		}
+		int count = Math.max(1, Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize / MIN_SEGMENT_CAPACITY)));
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			// ostatak dijeljenja raspoređuje se na prve segmente
+			segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Vraća kompleksni broj zapisan u <b>s</b>, iz priručne memorije ili
+	 * parsiranjem metodom {@link ComplexNumber#parse(String)}
+	 *
+	 * @param s
+	 *            zapis kompleksnog broja
+	 * @return kompleksni broj zapisan u <b>s</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>s</b> prazan
+	 * @throws NumberFormatException
+	 *             ukoliko <b>s</b> nije ispravan zapis kompleksnog broja
+	 */
+	public ComplexNumber parse(String s) {
+		Segment segment = segmentFor(s);
+		ComplexNumber number;
+		synchronized (segment) {
+			number = segment.get(s);
+		}
+		if (number != null) {
+			hits.increment();
+			return number;
+		}
+
+		misses.increment();
+		number = ComplexNumber.parse(s);
+		synchronized (segment) {
+			ComplexNumber previous = segment.putIfAbsent(s, number);
+			return previous == null ? number : previous;
+		}
+	}
+
+	/**
+	 * Vraća broj poziva metode {@link #parse(String)} u kojima je broj
+	 * pronađen u priručnoj memoriji
+	 *
+	 * @return broj pogodaka
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Vraća broj poziva metode {@link #parse(String)} u kojima je broj
+	 * trebalo parsirati
+	 *
+	 * @return broj promašaja
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Vraća udio pogodaka u svim pozivima metode {@link #parse(String)} ili 0
+	 * ukoliko poziva nije bilo
+	 *
+	 * @return udio pogodaka
+	 */
+	public double getHitRate() {
+		long hitCount = getHitCount();
+		long total = hitCount + getMissCount();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Vraća trenutni broj zapamćenih zapisa
+	 *
+	 * @return broj zapamćenih zapisa
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Briše sve zapamćene zapise i statistiku
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	/**
+	 * Vraća segment u kojem se nalazi zapis <b>s</b>
+	 *
+	 * @param s
+	 *            zapis kompleksnog broja
+	 * @return segment zapisa
+	 */
+	private Segment segmentFor(String s) {
+		int hash = s.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+}
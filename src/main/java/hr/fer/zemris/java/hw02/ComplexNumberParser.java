@@ -0,0 +1,335 @@
+package hr.fer.zemris.java.hw02;
+
+/**
+ * Razred koji parsira zapis kompleksnog broja iz primjerka sučelja
+ * {@link CharSequence} u jednom prolazu, znak po znak. Prihvaća se ista
+ * gramatika kao i u metodi {@link ComplexNumber#parse(String)}: zbroj
+ * realnih i imaginarnih članova, npr.
+ *
+ * <pre>
+ * "3.51", "-3.17", "-2.71i", "i", "1", "-2.71-3.15i", "1 + 2i - 3"
+ * </pre>
+ *
+ * Razmaci se unutar članova zanemaruju, a član završava predznakom ili
+ * imaginarnom jedinicom <b>i</b>.
+ * <p>
+ * Za razliku od {@link ComplexNumber#parse(String)}, parser ne stvara
+ * pomoćne nizove znakova: jednostavni decimalni zapisi pretvaraju se u broj
+ * izravno iz znakova, a samo rijetki zapisi (npr. "NaN" ili zapisi s više od
+ * 15 znamenaka) prepuštaju se metodi {@link Double#parseDouble(String)}, pa
+ * je rezultat uvijek jednak onome te metode. Parser se može ponovno koristiti
+ * za više poziva metode {@link #parse(CharSequence, int, int)}, a rezultat
+ * zadnjeg parsiranja dohvaća se metodama {@link #getReal()} i
+ * {@link #getImaginary()} bez ikakve alokacije. Razred nije siguran za
+ * korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexNumberParser {
+
+	/**
+	 * Najveći broj značajnih znamenaka za koji se decimalni zapis može točno
+	 * pretvoriti bez {@link Double#parseDouble(String)}
+	 */
+	private static final int MAX_FAST_DIGITS = 15;
+
+	/**
+	 * Potencije broja 10 koje su točno prikazive tipom <code>double</code>
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Realna komponenta zadnjeg isparsiranog broja */
+	private double real;
+
+	/** Imaginarna komponenta zadnjeg isparsiranog broja */
+	private double imaginary;
+
+	/** Vrijednost zadnjeg isparsiranog člana */
+	private double termValue;
+
+	/**
+	 * Pozicija prvog znaka koji brzi način pretvorbe nije prihvatio ili -1
+	 */
+	private int rejectedAt;
+
+	/**
+	 * Parsira cijeli predani niz znakova. Vidi
+	 * {@link #parse(CharSequence, int, int)}
+	 *
+	 * @param s
+	 *            niz znakova koji se parsira
+	 * @return ovaj parser
+	 *
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko <b>s</b> nije ispravan zapis kompleksnog broja
+	 */
+	public ComplexNumberParser parse(CharSequence s) {
+		return parse(s, 0, s.length());
+	}
+
+	/**
+	 * Parsira <b>length</b> znakova niza <b>s</b> počevši od pozicije
+	 * <b>offset</b>. Rezultat se nakon poziva dohvaća metodama
+	 * {@link #getReal()}, {@link #getImaginary()} ili
+	 * {@link #toComplexNumber()}.
+	 *
+	 * @param s
+	 *            niz znakova koji se parsira
+	 * @param offset
+	 *            pozicija prvog znaka
+	 * @param length
+	 *            broj znakova koji se parsiraju
+	 * @return ovaj parser
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko raspon nije unutar niza <b>s</b>
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko raspon ne sadrži ispravan zapis kompleksnog broja.
+	 *             Pozicija pogreške odnosi se na niz <b>s</b>
+	 */
+	public ComplexNumberParser parse(CharSequence s, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > s.length() - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		int end = offset + length;
+		if (length == 0) {
+			throw new ComplexNumberFormatException("Unijeli ste prazni niz znakova", offset);
+		}
+
+		double realSum = 0;
+		double imaginarySum = 0;
+		int pos = offset;
+		while (pos < end) {
+			int termStart = pos;
+			int significant = 0;
+			boolean isImaginary = false;
+			// član završava predznakom (ako nije prvi znak člana) ili slovom i
+			while (true) {
+				char c = s.charAt(pos);
+				if ((c == '+' || c == '-') && significant > 0) {
+					break;
+				}
+				pos++;
+				if (c == 'i') {
+					isImaginary = true;
+					break;
+				}
+				if (c > ' ') {
+					significant++;
+				}
+				if (pos == end) {
+					break;
+				}
+			}
+
+			int termEnd = isImaginary ? pos - 1 : pos;
+			if (isImaginary && isSignOnly(s, termStart, significant)) {
+				// "i", "+i" ili "-i"
+				imaginarySum += significant == 0 || s.charAt(firstSignificant(s, termStart)) == '+' ? 1 : -1;
+				continue;
+			}
+			parseTerm(s, termStart, termEnd);
+			if (isImaginary) {
+				imaginarySum += termValue;
+			} else {
+				realSum += termValue;
+			}
+		}
+
+		this.real = realSum;
+		this.imaginary = imaginarySum;
+		return this;
+	}
+
+	/**
+	 * Vraća realnu komponentu zadnjeg isparsiranog broja
+	 *
+	 * @return realna komponenta
+	 */
+	public double getReal() {
+		return real;
+	}
+
+	/**
+	 * Vraća imaginarnu komponentu zadnjeg isparsiranog broja
+	 *
+	 * @return imaginarna komponenta
+	 */
+	public double getImaginary() {
+		return imaginary;
+	}
+
+	/**
+	 * Stvara novi primjerak razreda {@link ComplexNumber} iz zadnjeg
+	 * isparsiranog broja
+	 *
+	 * @return zadnji isparsirani broj
+	 */
+	public ComplexNumber toComplexNumber() {
+		return new ComplexNumber(real, imaginary);
+	}
+
+	/**
+	 * Provjerava sadrži li član samo predznak ili ništa
+	 *
+	 * @param s
+	 *            niz znakova
+	 * @param from
+	 *            početak člana
+	 * @param significant
+	 *            broj znakova člana koji nisu razmaci
+	 * @return <code><b>true</b></code> ako je član prazan ili sadrži samo
+	 *         predznak, <code><b>false</b></code> inače
+	 */
+	private static boolean isSignOnly(CharSequence s, int from, int significant) {
+		if (significant == 0) {
+			return true;
+		}
+		if (significant > 1) {
+			return false;
+		}
+		char c = s.charAt(firstSignificant(s, from));
+		return c == '+' || c == '-';
+	}
+
+	/**
+	 * Vraća poziciju prvog znaka od pozicije <b>from</b> koji nije razmak
+	 *
+	 * @param s
+	 *            niz znakova
+	 * @param from
+	 *            početna pozicija
+	 * @return pozicija prvog znaka koji nije razmak
+	 */
+	private static int firstSignificant(CharSequence s, int from) {
+		while (s.charAt(from) <= ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	/**
+	 * Pretvara jedan član u broj i sprema ga u {@link #termValue}. Jednostavni
+	 * decimalni zapisi pretvaraju se izravno, a ostali metodom
+	 * {@link Double#parseDouble(String)}
+	 *
+	 * @param s
+	 *            niz znakova
+	 * @param from
+	 *            početak člana
+	 * @param to
+	 *            kraj člana bez slova i (isključivo)
+	 *
+	 * @throws ComplexNumberFormatException
+	 *             ukoliko član nije ispravan zapis broja
+	 */
+	private void parseTerm(CharSequence s, int from, int to) {
+		if (parseFast(s, from, to)) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder(to - from);
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c > ' ') {
+				sb.append(c);
+			}
+		}
+		try {
+			termValue = Double.parseDouble(sb.toString());
+		} catch (NumberFormatException e) {
+			int position = rejectedAt < 0 ? to : rejectedAt;
+			throw new ComplexNumberFormatException(
+					"Neispravan zapis broja \"" + sb + "\" na poziciji " + position, position);
+		}
+	}
+
+	/**
+	 * Pokušava pretvoriti član oblika
+	 * <code>[+-]znamenke[.znamenke][(e|E)znamenke]</code> (uz zanemarivanje
+	 * razmaka) bez alokacije. Pretvorba je točna jer se mantisa od najviše 15
+	 * znamenaka i potencija broja 10 do 22 točno prikazuju tipom
+	 * <code>double</code>, pa dijeljenje ili množenje daje ispravno zaokružen
+	 * rezultat.
+	 *
+	 * @param s
+	 *            niz znakova
+	 * @param from
+	 *            početak člana
+	 * @param to
+	 *            kraj člana (isključivo)
+	 * @return <code><b>true</b></code> ako je član pretvoren i spremljen u
+	 *         {@link #termValue}, <code><b>false</b></code> inače
+	 */
+	private boolean parseFast(CharSequence s, int from, int to) {
+		rejectedAt = -1;
+		boolean negative = false;
+		boolean signAllowed = true;
+		boolean dotSeen = false;
+		boolean exponentSeen = false;
+		int digits = 0;
+		int significantDigits = 0;
+		int exponentDigits = 0;
+		int fractionDigits = 0;
+		long mantissa = 0;
+		int exponent = 0;
+
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (c <= ' ') {
+				continue;
+			}
+			if (signAllowed && (c == '+' || c == '-')) {
+				negative = c == '-';
+				signAllowed = false;
+				continue;
+			}
+			signAllowed = false;
+			if (c >= '0' && c <= '9') {
+				int digit = c - '0';
+				if (exponentSeen) {
+					exponentDigits++;
+					if (exponent < 1000) {
+						exponent = exponent * 10 + digit;
+					}
+					continue;
+				}
+				digits++;
+				if (dotSeen) {
+					fractionDigits++;
+				}
+				if (significantDigits > 0 || digit != 0) {
+					significantDigits++;
+					if (significantDigits > MAX_FAST_DIGITS) {
+						return false;
+					}
+				}
+				mantissa = mantissa * 10 + digit;
+			} else if (c == '.' && !dotSeen && !exponentSeen) {
+				dotSeen = true;
+			} else if ((c == 'e' || c == 'E') && !exponentSeen && digits > 0) {
+				exponentSeen = true;
+			} else {
+				rejectedAt = i;
+				return false;
+			}
+		}
+		if (digits == 0 || (exponentSeen && exponentDigits == 0)) {
+			return false;
+		}
+
+		int scale = exponent - fractionDigits;
+		double value = mantissa;
+		if (mantissa == 0) {
+			value = 0;
+		} else if (scale < 0 && scale >= -22) {
+			value /= POWERS_OF_TEN[-scale];
+		} else if (scale > 0 && scale <= 22) {
+			value *= POWERS_OF_TEN[scale];
+		} else if (scale != 0) {
+			return false;
+		}
+		termValue = negative ? -value : value;
+		return true;
+	}
+}
@@ -0,0 +1,371 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Razred koji predstavlja skup kompleksnih brojeva u kojem se elementi
+ * uspoređuju kao u metodi {@link ComplexNumber#equals(Object)}, dakle uz
+ * toleranciju {@value ComplexNumber#TOLERANCE} po svakoj komponenti.
+ * <p>
+ * Kompleksna ravnina podijeljena je na kvadratne ćelije stranice
+ * <b>2 * {@value ComplexNumber#TOLERANCE}</b>. Brojevi koji su jednaki unutar
+ * tolerancije nalaze se u istoj ili susjednim ćelijama, pa se pri traženju
+ * pregledava ćelija broja i njenih osam susjeda. Ćelije se spremaju u tablicu
+ * raspršenog adresiranja s linearnim ispitivanjem čiji su ključevi parovi
+ * koordinata ćelije tipa <code>long</code>, a brojevi iste ćelije povezani su
+ * u listu indeksima. Koordinate se ograničavaju tek za komponente veće od
+ * približno <b>1.8e17</b> po apsolutnoj vrijednosti. Svi podaci čuvaju se u primitivnim
+ * poljima, pa su dodavanje i traženje u prosjeku konstantne složenosti i ne
+ * alociraju memoriju.
+ * <p>
+ * Budući da jednakost unutar tolerancije nije tranzitivna, skup čuva prvi
+ * dodani broj kao predstavnika, a kasniji brojevi jednaki nekom od
+ * predstavnika se ne dodaju. Elementi se dohvaćaju indeksom u poretku
+ * dodavanja. Vrijednosti <code>NaN</code> nisu podržane. Razred nije siguran
+ * za korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexNumberSet {
+
+	/** Stranica ćelije */
+	private static final double CELL_SIZE = 2 * ComplexNumber.TOLERANCE;
+
+	/** Predodređeni početni kapacitet skupa */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** Oznaka prazne ćelije tablice i kraja liste */
+	private static final int EMPTY = -1;
+
+	/** Realni dijelovi elemenata u poretku dodavanja */
+	private double[] re;
+
+	/** Imaginarni dijelovi elemenata u poretku dodavanja */
+	private double[] im;
+
+	/** Indeks sljedećeg elementa iste ćelije ili {@value #EMPTY} */
+	private int[] next;
+
+	/** Broj elemenata skupa */
+	private int size;
+
+	/** Koordinate ćelija tablice po realnoj osi */
+	private long[] keysRe;
+
+	/** Koordinate ćelija tablice po imaginarnoj osi */
+	private long[] keysIm;
+
+	/** Indeks zadnje dodanog elementa ćelije ili {@value #EMPTY} */
+	private int[] heads;
+
+	/** Broj zauzetih ćelija tablice */
+	private int cells;
+
+	/**
+	 * Konstruktor koji inicijalizira prazan skup predodređenog kapaciteta
+	 */
+	public ComplexNumberSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira prazan skup kapaciteta dovoljnog za
+	 * <b>expectedSize</b> elemenata
+	 *
+	 * @param expectedSize
+	 *            očekivani broj elemenata
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je očekivani broj elemenata negativan
+	 */
+	public ComplexNumberSet(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Kapacitet ne može biti " + expectedSize);
+		}
+		int capacity = Math.max(expectedSize, 1);
+		re = new double[capacity];
+		im = new double[capacity];
+		next = new int[capacity];
+		allocateTable(Integer.highestOneBit(capacity * 4 - 1));
+	}
+
+	/**
+	 * Dodaje broj <b>re + im * i</b> ukoliko u skupu ne postoji njemu jednak
+	 * broj
+	 *
+	 * @param re
+	 *            realni dio broja
+	 * @param im
+	 *            imaginarni dio broja
+	 * @return indeks broja iz skupa koji je jednak predanom ili indeks
+	 *         novododanog broja
+	 */
+	public int addIfAbsent(double re, double im) {
+		int index = indexOf(re, im);
+		return index == EMPTY ? insert(re, im) : index;
+	}
+
+	/**
+	 * Dodaje broj <b>number</b> ukoliko u skupu ne postoji njemu jednak broj
+	 *
+	 * @param number
+	 *            broj koji se dodaje
+	 * @return <code><b>true</b></code> ukoliko je broj dodan,
+	 *         <code><b>false</b></code> ukoliko je u skupu već postojao
+	 *         jednak broj
+	 */
+	public boolean add(ComplexNumber number) {
+		int oldSize = size;
+		addIfAbsent(number.getReal(), number.getImaginary());
+		return size != oldSize;
+	}
+
+	/**
+	 * Vraća indeks broja iz skupa koji je jednak broju <b>re + im * i</b>
+	 *
+	 * @param re
+	 *            realni dio broja
+	 * @param im
+	 *            imaginarni dio broja
+	 * @return indeks jednakog broja ili -1 ukoliko takav ne postoji
+	 */
+	public int indexOf(double re, double im) {
+		long cellRe = cell(re);
+		long cellIm = cell(im);
+		for (int dr = -1; dr <= 1; dr++) {
+			for (int di = -1; di <= 1; di++) {
+				int slot = find(cellRe + dr, cellIm + di);
+				if (slot == EMPTY) {
+					continue;
+				}
+				for (int i = heads[slot]; i != EMPTY; i = next[i]) {
+					if (ComplexNumber.approximatelyEquals(this.re[i], this.im[i], re, im)) {
+						return i;
+					}
+				}
+			}
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Provjerava sadrži li skup broj jednak broju <b>number</b>
+	 *
+	 * @param number
+	 *            broj koji se traži
+	 * @return <code><b>true</b></code> ukoliko skup sadrži jednak broj,
+	 *         <code><b>false</b></code> inače
+	 */
+	public boolean contains(ComplexNumber number) {
+		return indexOf(number.getReal(), number.getImaginary()) != EMPTY;
+	}
+
+	/**
+	 * Vraća broj elemenata skupa
+	 *
+	 * @return broj elemenata skupa
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Vraća element s indeksom <b>index</b>
+	 *
+	 * @param index
+	 *            indeks elementa
+	 * @return element s indeksom <b>index</b>
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije iz intervala <b>[0, size())</b>
+	 */
+	public ComplexNumber get(int index) {
+		checkIndex(index);
+		return new ComplexNumber(re[index], im[index]);
+	}
+
+	/**
+	 * Vraća realni dio elementa s indeksom <b>index</b>
+	 *
+	 * @param index
+	 *            indeks elementa
+	 * @return realni dio elementa
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije iz intervala <b>[0, size())</b>
+	 */
+	public double getReal(int index) {
+		checkIndex(index);
+		return re[index];
+	}
+
+	/**
+	 * Vraća imaginarni dio elementa s indeksom <b>index</b>
+	 *
+	 * @param index
+	 *            indeks elementa
+	 * @return imaginarni dio elementa
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije iz intervala <b>[0, size())</b>
+	 */
+	public double getImaginary(int index) {
+		checkIndex(index);
+		return im[index];
+	}
+
+	/**
+	 * Dodaje broj na kraj polja elemenata i u listu njegove ćelije
+	 *
+	 * @param re
+	 *            realni dio broja
+	 * @param im
+	 *            imaginarni dio broja
+	 * @return indeks dodanog broja
+	 */
+	private int insert(double re, double im) {
+		if (size == this.re.length) {
+			int capacity = size * 2;
+			this.re = Arrays.copyOf(this.re, capacity);
+			this.im = Arrays.copyOf(this.im, capacity);
+			next = Arrays.copyOf(next, capacity);
+		}
+		int index = size++;
+		this.re[index] = re;
+		this.im[index] = im;
+
+		long cellRe = cell(re);
+		long cellIm = cell(im);
+		int slot = find(cellRe, cellIm);
+		if (slot == EMPTY) {
+			if (2 * (cells + 1) > heads.length) {
+				rehash();
+			}
+			slot = freeSlot(cellRe, cellIm);
+			keysRe[slot] = cellRe;
+			keysIm[slot] = cellIm;
+			heads[slot] = EMPTY;
+			cells++;
+		}
+		next[index] = heads[slot];
+		heads[slot] = index;
+		return index;
+	}
+
+	/**
+	 * Vraća mjesto ćelije s koordinatama <b>(cellRe, cellIm)</b> u tablici
+	 *
+	 * @param cellRe
+	 *            koordinata ćelije po realnoj osi
+	 * @param cellIm
+	 *            koordinata ćelije po imaginarnoj osi
+	 * @return mjesto ćelije ili {@value #EMPTY} ukoliko ćelija nije u tablici
+	 */
+	private int find(long cellRe, long cellIm) {
+		int mask = heads.length - 1;
+		for (int slot = hash(cellRe, cellIm) & mask;; slot = (slot + 1) & mask) {
+			if (heads[slot] == EMPTY) {
+				return EMPTY;
+			}
+			if (keysRe[slot] == cellRe && keysIm[slot] == cellIm) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Vraća prvo slobodno mjesto za ćeliju s koordinatama
+	 * <b>(cellRe, cellIm)</b>
+	 *
+	 * @param cellRe
+	 *            koordinata ćelije po realnoj osi
+	 * @param cellIm
+	 *            koordinata ćelije po imaginarnoj osi
+	 * @return slobodno mjesto u tablici
+	 */
+	private int freeSlot(long cellRe, long cellIm) {
+		int mask = heads.length - 1;
+		int slot = hash(cellRe, cellIm) & mask;
+		while (heads[slot] != EMPTY) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Udvostručuje tablicu i ponovno raspoređuje zauzete ćelije
+	 */
+	private void rehash() {
+		long[] oldKeysRe = keysRe;
+		long[] oldKeysIm = keysIm;
+		int[] oldHeads = heads;
+		allocateTable(heads.length * 2);
+		for (int slot = 0; slot < oldHeads.length; slot++) {
+			if (oldHeads[slot] != EMPTY) {
+				int newSlot = freeSlot(oldKeysRe[slot], oldKeysIm[slot]);
+				keysRe[newSlot] = oldKeysRe[slot];
+				keysIm[newSlot] = oldKeysIm[slot];
+				heads[newSlot] = oldHeads[slot];
+			}
+		}
+	}
+
+	/**
+	 * Stvara praznu tablicu zadanog kapaciteta
+	 *
+	 * @param capacity
+	 *            kapacitet tablice, potencija broja 2
+	 */
+	private void allocateTable(int capacity) {
+		keysRe = new long[capacity];
+		keysIm = new long[capacity];
+		heads = new int[capacity];
+		Arrays.fill(heads, EMPTY);
+	}
+
+	/**
+	 * Provjerava je li <b>index</b> iz intervala <b>[0, size())</b>
+	 *
+	 * @param index
+	 *            indeks koji se provjerava
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije iz intervala <b>[0, size())</b>
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Indeks mora biti iz intervala [0, " + size + ")");
+		}
+	}
+
+	/**
+	 * Vraća koordinatu ćelije u kojoj se nalazi komponenta <b>x</b>.
+	 * Koordinata se ograničava na raspon tipa <code>long</code>, pa sve
+	 * komponente veće od približno <b>1.8e17</b> po apsolutnoj vrijednosti
+	 * dijele rubnu ćeliju. Susjedne koordinate rubnih ćelija preljevom
+	 * završavaju na suprotnom rubu, što ne utječe na ispravnost jer se brojevi
+	 * uvijek uspoređuju izravno.
+	 *
+	 * @param x
+	 *            komponenta broja
+	 * @return koordinata ćelije
+	 */
+	private static long cell(double x) {
+		return (long) Math.floor(x / CELL_SIZE);
+	}
+
+	/**
+	 * Raspršuje koordinate ćelije tako da susjedne ćelije ne završe na
+	 * susjednim mjestima tablice
+	 *
+	 * @param cellRe
+	 *            koordinata ćelije po realnoj osi
+	 * @param cellIm
+	 *            koordinata ćelije po imaginarnoj osi
+	 * @return sažetak koordinata
+	 */
+	private static int hash(long cellRe, long cellIm) {
+		long h = (cellRe * 0x9E3779B97F4A7C15L + cellIm) * 0xC2B2AE3D27D4EB4FL;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,202 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Razred koji predstavlja polinom s kompleksnim koeficijentima
+ *
+ * <pre>
+ * p(z) = a[0] + a[1] * z + a[2] * z^2 + ... + a[n] * z^n
+ * </pre>
+ *
+ * Koeficijenti se spremaju kao polja realnih i imaginarnih dijelova, a
+ * vodeći koeficijenti jednaki nuli se odbacuju, pa je <b>a[n]</b> različit od
+ * nule (osim za nul-polinom). Polinom je nepromjenjiv. Metode za rad s
+ * polinomom su sljedeće:
+ * <ul>
+ * <li><code>{@link #degree()}</code></li>
+ * <li><code>{@link #getCoefficient(int)}</code></li>
+ * <li><code>{@link #apply(ComplexNumber)}</code></li>
+ * <li><code>{@link #apply(double, double, MutableComplexNumber)}</code></li>
+ * <li><code>{@link #derive()}</code></li>
+ * <li><code>{@link #roots()}</code></li>
+ * </ul>
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexPolynomial {
+
+	/** Realni dijelovi koeficijenata, od slobodnog člana prema vodećem */
+	final double[] re;
+
+	/** Imaginarni dijelovi koeficijenata, od slobodnog člana prema vodećem */
+	final double[] im;
+
+	/**
+	 * Konstruktor koji stvara polinom iz koeficijenata poredanih od
+	 * slobodnog člana prema vodećem
+	 *
+	 * @param coefficients
+	 *            koeficijenti polinoma
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko nije predan niti jedan koeficijent
+	 */
+	public ComplexPolynomial(ComplexNumber... coefficients) {
+		this(realParts(coefficients), imaginaryParts(coefficients));
+	}
+
+	/**
+	 * Konstruktor koji stvara polinom iz polja realnih i imaginarnih dijelova
+	 * koeficijenata poredanih od slobodnog člana prema vodećem. Polja se
+	 * kopiraju.
+	 *
+	 * @param re
+	 *            realni dijelovi koeficijenata
+	 * @param im
+	 *            imaginarni dijelovi koeficijenata
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko su polja prazna ili različite duljine
+	 */
+	public ComplexPolynomial(double[] re, double[] im) {
+		if (re.length == 0 || re.length != im.length) {
+			throw new IllegalArgumentException("Polja koeficijenata moraju biti jednake duljine veće od 0");
+		}
+		int length = re.length;
+		while (length > 1 && re[length - 1] == 0 && im[length - 1] == 0) {
+			length--;
+		}
+		this.re = Arrays.copyOf(re, length);
+		this.im = Arrays.copyOf(im, length);
+	}
+
+	/**
+	 * Vraća stupanj polinoma
+	 *
+	 * @return stupanj polinoma
+	 */
+	public int degree() {
+		return re.length - 1;
+	}
+
+	/**
+	 * Vraća koeficijent uz <b>z^k</b>
+	 *
+	 * @param k
+	 *            potencija uz koju stoji koeficijent
+	 * @return koeficijent uz <b>z^k</b>
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>k</b> nije iz intervala <b>[0, degree()]</b>
+	 */
+	public ComplexNumber getCoefficient(int k) {
+		return new ComplexNumber(re[k], im[k]);
+	}
+
+	/**
+	 * Računa vrijednost polinoma u točki <b>z</b> Hornerovim postupkom
+	 *
+	 * @param z
+	 *            točka u kojoj se računa vrijednost
+	 * @return vrijednost polinoma u točki <b>z</b>
+	 */
+	public ComplexNumber apply(ComplexNumber z) {
+		return apply(z.getReal(), z.getImaginary(), new MutableComplexNumber()).toComplexNumber();
+	}
+
+	/**
+	 * Računa vrijednost polinoma u točki <b>zr + zi * i</b> Hornerovim
+	 * postupkom i upisuje je u <b>result</b>. Metoda ne alocira memoriju.
+	 *
+	 * @param zr
+	 *            realni dio točke
+	 * @param zi
+	 *            imaginarni dio točke
+	 * @param result
+	 *            broj u koji se upisuje vrijednost polinoma
+	 * @return <b>result</b>
+	 */
+	public MutableComplexNumber apply(double zr, double zi, MutableComplexNumber result) {
+		double pr = 0, pi = 0;
+		for (int k = re.length - 1; k >= 0; k--) {
+			double newReal = pr * zr - pi * zi + re[k];
+			pi = pr * zi + pi * zr + im[k];
+			pr = newReal;
+		}
+		return result.set(pr, pi);
+	}
+
+	/**
+	 * Vraća derivaciju ovog polinoma
+	 *
+	 * @return novi polinom koji je derivacija ovog polinoma
+	 */
+	public ComplexPolynomial derive() {
+		if (re.length == 1) {
+			return new ComplexPolynomial(new double[] { 0 }, new double[] { 0 });
+		}
+		double[] derivedRe = new double[re.length - 1];
+		double[] derivedIm = new double[re.length - 1];
+		for (int k = 1; k < re.length; k++) {
+			derivedRe[k - 1] = k * re[k];
+			derivedIm[k - 1] = k * im[k];
+		}
+		return new ComplexPolynomial(derivedRe, derivedIm);
+	}
+
+	/**
+	 * Računa sve nultočke polinoma (s višestrukostima). Vidi
+	 * {@link PolynomialRootFinder}
+	 *
+	 * @return polje od {@link #degree()} nultočaka polinoma
+	 */
+	public ComplexNumber[] roots() {
+		return new PolynomialRootFinder().findRoots(this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int k = re.length - 1; k >= 0; k--) {
+			if (sb.length() > 0) {
+				sb.append(" + ");
+			}
+			sb.append('(').append(re[k]).append(im[k] < 0 ? "" : "+").append(im[k]).append("i)");
+			if (k > 0) {
+				sb.append("z^").append(k);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Vraća polje realnih dijelova predanih kompleksnih brojeva
+	 *
+	 * @param numbers
+	 *            kompleksni brojevi
+	 * @return polje realnih dijelova
+	 */
+	private static double[] realParts(ComplexNumber[] numbers) {
+		double[] parts = new double[numbers.length];
+		for (int i = 0; i < numbers.length; i++) {
+			parts[i] = numbers[i].getReal();
+		}
+		return parts;
+	}
+
+	/**
+	 * Vraća polje imaginarnih dijelova predanih kompleksnih brojeva
+	 *
+	 * @param numbers
+	 *            kompleksni brojevi
+	 * @return polje imaginarnih dijelova
+	 */
+	private static double[] imaginaryParts(ComplexNumber[] numbers) {
+		double[] parts = new double[numbers.length];
+		for (int i = 0; i < numbers.length; i++) {
+			parts[i] = numbers[i].getImaginary();
+		}
+		return parts;
+	}
+}
@@ -0,0 +1,217 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Razred koji računa izraze nad kompleksnim brojevima zapisane u
+ * postfiksnom obliku. Elementi izraza odvajaju se prazninama, a mogu biti
+ * kompleksni brojevi zapisani gramatikom metode
+ * {@link ComplexNumber#parse(String)} (bez praznina unutar broja, npr.
+ * <code>"-2.5+3i"</code> ili <code>"i"</code>) te sljedeće operacije:
+ * <ul>
+ * <li><code>+</code> - {@link ComplexNumber#add(ComplexNumber)}</li>
+ * <li><code>-</code> - {@link ComplexNumber#sub(ComplexNumber)}</li>
+ * <li><code>*</code> - {@link ComplexNumber#mul(ComplexNumber)}</li>
+ * <li><code>/</code> - {@link ComplexNumber#div(ComplexNumber)}</li>
+ * <li><code>^</code> - {@link ComplexNumber#power(int)}, eksponent mora biti
+ * cijeli broj</li>
+ * <li><code>root</code> - glavni korijen iz {@link ComplexNumber#root(int)},
+ * stupanj mora biti prirodan broj</li>
+ * </ul>
+ *
+ * Na primjer, izraz <code>"1+i 2 ^ 3 root"</code> računa treći korijen od
+ * <b>(1 + i)^2</b>. Brojevi se čuvaju na stogu realnih i imaginarnih
+ * dijelova u primitivnim poljima, brojevi se parsiraju razredom
+ * {@link ComplexNumberParser} izravno iz izraza, a operacije se računaju
+ * razredom {@link MutableComplexNumber}, pa računanje ne alocira memoriju
+ * (osim pri povećanju stoga). Primjerak se može ponovno koristiti za
+ * proizvoljan broj izraza, ali nije siguran za korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexPostfixEvaluator {
+
+	/** Oznaka operacije korijena */
+	private static final char ROOT = 'r';
+
+	/** Početna dubina stoga */
+	private static final int INITIAL_DEPTH = 16;
+
+	/** Stog realnih dijelova */
+	private double[] re = new double[INITIAL_DEPTH];
+
+	/** Stog imaginarnih dijelova */
+	private double[] im = new double[INITIAL_DEPTH];
+
+	/** Broj brojeva na stogu */
+	private int size;
+
+	/** Parser brojeva izraza */
+	private final ComplexNumberParser parser = new ComplexNumberParser();
+
+	/** Pomoćni broj nad kojim se računaju operacije */
+	private final MutableComplexNumber operand = new MutableComplexNumber();
+
+	/**
+	 * Računa izraz <b>expression</b>
+	 *
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @return vrijednost izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz nije ispravan ili se neka operacija ne može
+	 *             izračunati. Vidi
+	 *             {@link #evaluate(CharSequence, MutableComplexNumber)}
+	 */
+	public ComplexNumber evaluate(CharSequence expression) {
+		return evaluate(expression, new MutableComplexNumber()).toComplexNumber();
+	}
+
+	/**
+	 * Računa izraz <b>expression</b> i upisuje vrijednost u <b>result</b>.
+	 * Metoda ne alocira memoriju.
+	 *
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @param result
+	 *            broj u koji se upisuje vrijednost izraza
+	 * @return <b>result</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz sadrži neispravan element, ukoliko neka
+	 *             operacija nema dva argumenta, ukoliko izraz nema točno
+	 *             jedan rezultat, ukoliko je djelitelj jednak nuli ili
+	 *             ukoliko eksponent ili stupanj korijena nisu ispravni
+	 */
+	public MutableComplexNumber evaluate(CharSequence expression, MutableComplexNumber result) {
+		size = 0;
+		int length = expression.length();
+		for (int start = 0; start < length;) {
+			if (Character.isWhitespace(expression.charAt(start))) {
+				start++;
+				continue;
+			}
+			int end = start;
+			while (end < length && !Character.isWhitespace(expression.charAt(end))) {
+				end++;
+			}
+			if (!compute(expression, start, end)) {
+				push(expression, start, end);
+			}
+			start = end;
+		}
+
+		if (size != 1) {
+			throw new IllegalArgumentException("Unijeli ste preveliki broj brojeva, a premalo operatora");
+		}
+		return result.set(re[0], im[0]);
+	}
+
+	/**
+	 * Računa operaciju zapisanu u rasponu <b>[start, end)</b> izraza ukoliko
+	 * je u tom rasponu zapisana operacija
+	 *
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @param start
+	 *            početak elementa izraza
+	 * @param end
+	 *            kraj elementa izraza
+	 * @return <code><b>true</b></code> ukoliko je element operacija,
+	 *         <code><b>false</b></code> inače
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko se operacija ne može izračunati
+	 */
+	private boolean compute(CharSequence expression, int start, int end) {
+		char operation = expression.charAt(start);
+		if (end - start == 4 && operation == 'r' && expression.charAt(start + 1) == 'o'
+				&& expression.charAt(start + 2) == 'o' && expression.charAt(start + 3) == 't') {
+			operation = ROOT;
+		} else if (end - start != 1 || "+-*/^".indexOf(operation) == -1) {
+			return false;
+		}
+
+		if (size < 2) {
+			throw new IllegalArgumentException("Unijeli ste prevelik broj operacija, a premalo brojeva");
+		}
+		int second = --size;
+		int first = size - 1;
+		operand.set(re[first], im[first]);
+		switch (operation) {
+		case '+':
+			operand.add(re[second], im[second]);
+			break;
+		case '-':
+			operand.sub(re[second], im[second]);
+			break;
+		case '*':
+			operand.mul(re[second], im[second]);
+			break;
+		case '/':
+			operand.div(re[second], im[second]);
+			break;
+		case '^':
+			operand.power(toInt(re[second], im[second], "Eksponent"));
+			break;
+		case ROOT:
+			operand.root(toInt(re[second], im[second], "Stupanj korijena"));
+			break;
+		}
+		re[first] = operand.getReal();
+		im[first] = operand.getImaginary();
+		return true;
+	}
+
+	/**
+	 * Stavlja na stog broj zapisan u rasponu <b>[start, end)</b> izraza
+	 *
+	 * @param expression
+	 *            izraz u postfiksnom obliku
+	 * @param start
+	 *            početak elementa izraza
+	 * @param end
+	 *            kraj elementa izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko element nije ispravan zapis kompleksnog broja
+	 */
+	private void push(CharSequence expression, int start, int end) {
+		try {
+			parser.parse(expression, start, end - start);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+					String.format("'%s' nije valjana operacija", expression.subSequence(start, end)));
+		}
+		if (size == re.length) {
+			re = Arrays.copyOf(re, size * 2);
+			im = Arrays.copyOf(im, size * 2);
+		}
+		re[size] = parser.getReal();
+		im[size] = parser.getImaginary();
+		size++;
+	}
+
+	/**
+	 * Pretvara kompleksni broj u cijeli broj
+	 *
+	 * @param real
+	 *            realni dio broja
+	 * @param imaginary
+	 *            imaginarni dio broja
+	 * @param name
+	 *            naziv broja u poruci o pogrešci
+	 * @return cijeli broj
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj nije cijeli broj iz raspona tipa
+	 *             <code>int</code>
+	 */
+	private static int toInt(double real, double imaginary, String name) {
+		if (imaginary != 0 || real != Math.rint(real) || Math.abs(real) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(name + " mora biti cijeli broj");
+		}
+		return (int) real;
+	}
+}
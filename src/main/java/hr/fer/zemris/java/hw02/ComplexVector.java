@@ -0,0 +1,394 @@
+package hr.fer.zemris.java.hw02;
+
+/**
+ * Razred koji predstavlja vektor kompleksnih brojeva fiksne duljine. Za
+ * razliku od polja primjeraka razreda {@link ComplexNumber}, realni i
+ * imaginarni dijelovi spremaju se u dva odvojena polja tipa
+ * <code>double[]</code>, pa operacije nad cijelim vektorom ne alociraju nove
+ * objekte, a petlje nad poljima JIT prevoditelj može vektorizirati.
+ * <p>
+ * Svaka operacija postoji u dvije inačice: jedna mijenja ovaj vektor, a druga
+ * rezultat upisuje u predani odredišni vektor (koji smije biti i jedan od
+ * operanada). Obje inačice vraćaju vektor u koji je upisan rezultat. Metode za
+ * rad s vektorima su sljedeće:
+ * <ul>
+ * <li><code>{@link #add(ComplexVector)}</code></li>
+ * <li><code>{@link #sub(ComplexVector)}</code></li>
+ * <li><code>{@link #mul(ComplexVector)}</code></li>
+ * <li><code>{@link #div(ComplexVector)}</code></li>
+ * <li><code>{@link #scale(double)}</code></li>
+ * <li><code>{@link #conjugate()}</code></li>
+ * </ul>
+ *
+ * Razred nudi i pretvorbu u i iz polja primjeraka razreda
+ * {@link ComplexNumber}: {@link #fromArray(ComplexNumber[])} i
+ * {@link #toArray()}.
+ *
+ * @author Davor Češljaš
+ */
+public class ComplexVector {
+
+	/** Realni dijelovi kompleksnih brojeva */
+	private final double[] re;
+
+	/** Imaginarni dijelovi kompleksnih brojeva */
+	private final double[] im;
+
+	/**
+	 * Konstruktor koji stvara vektor od <b>length</b> kompleksnih brojeva
+	 * jednakih nuli
+	 *
+	 * @param length
+	 *            duljina vektora
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je duljina manja od 0
+	 */
+	public ComplexVector(int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Duljina vektora ne može biti " + length);
+		}
+		this.re = new double[length];
+		this.im = new double[length];
+	}
+
+	/**
+	 * Konstruktor koji stvara vektor nad predanim poljima realnih i
+	 * imaginarnih dijelova. Polja se ne kopiraju, pa se promjene vektora vide
+	 * u poljima i obrnuto.
+	 *
+	 * @param re
+	 *            realni dijelovi kompleksnih brojeva
+	 * @param im
+	 *            imaginarni dijelovi kompleksnih brojeva
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko polja nisu jednake duljine
+	 */
+	public ComplexVector(double[] re, double[] im) {
+		if (re.length != im.length) {
+			throw new IllegalArgumentException("Polja realnih i imaginarnih dijelova nisu jednake duljine");
+		}
+		this.re = re;
+		this.im = im;
+	}
+
+	/**
+	 * Stvara novi vektor iz polja primjeraka razreda {@link ComplexNumber}
+	 *
+	 * @param numbers
+	 *            polje kompleksnih brojeva
+	 * @return novi vektor s istim kompleksnim brojevima
+	 */
+	public static ComplexVector fromArray(ComplexNumber[] numbers) {
+		ComplexVector vector = new ComplexVector(numbers.length);
+		for (int i = 0; i < numbers.length; i++) {
+			vector.re[i] = numbers[i].getReal();
+			vector.im[i] = numbers[i].getImaginary();
+		}
+		return vector;
+	}
+
+	/**
+	 * Stvara novo polje primjeraka razreda {@link ComplexNumber} s brojevima
+	 * ovog vektora
+	 *
+	 * @return novo polje kompleksnih brojeva
+	 */
+	public ComplexNumber[] toArray() {
+		ComplexNumber[] numbers = new ComplexNumber[re.length];
+		for (int i = 0; i < numbers.length; i++) {
+			numbers[i] = new ComplexNumber(re[i], im[i]);
+		}
+		return numbers;
+	}
+
+	/**
+	 * Vraća duljinu vektora
+	 *
+	 * @return duljina vektora
+	 */
+	public int length() {
+		return re.length;
+	}
+
+	/**
+	 * Vraća polje realnih dijelova. Polje se ne kopira.
+	 *
+	 * @return polje realnih dijelova
+	 */
+	public double[] getRealParts() {
+		return re;
+	}
+
+	/**
+	 * Vraća polje imaginarnih dijelova. Polje se ne kopira.
+	 *
+	 * @return polje imaginarnih dijelova
+	 */
+	public double[] getImaginaryParts() {
+		return im;
+	}
+
+	/**
+	 * Vraća kompleksni broj na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @return kompleksni broj na predanoj poziciji
+	 */
+	public ComplexNumber get(int index) {
+		return new ComplexNumber(re[index], im[index]);
+	}
+
+	/**
+	 * Postavlja kompleksni broj na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @param real
+	 *            realni dio broja
+	 * @param imaginary
+	 *            imaginarni dio broja
+	 */
+	public void set(int index, double real, double imaginary) {
+		re[index] = real;
+		im[index] = imaginary;
+	}
+
+	/**
+	 * Postavlja kompleksni broj na poziciji <b>index</b>
+	 *
+	 * @param index
+	 *            pozicija broja
+	 * @param number
+	 *            kompleksni broj
+	 */
+	public void set(int index, ComplexNumber number) {
+		set(index, number.getReal(), number.getImaginary());
+	}
+
+	/**
+	 * Ovom vektoru pribraja vektor <b>other</b> element po element
+	 *
+	 * @param other
+	 *            vektor koji se pribraja
+	 * @return ovaj vektor
+	 */
+	public ComplexVector add(ComplexVector other) {
+		return add(other, this);
+	}
+
+	/**
+	 * Zbraja ovaj vektor i vektor <b>other</b> element po element i rezultat
+	 * upisuje u vektor <b>dest</b>
+	 *
+	 * @param other
+	 *            vektor koji se pribraja
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector add(ComplexVector other, ComplexVector dest) {
+		checkLengths(other, dest);
+		double[] aRe = re, aIm = im, bRe = other.re, bIm = other.im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			cRe[i] = aRe[i] + bRe[i];
+			cIm[i] = aIm[i] + bIm[i];
+		}
+		return dest;
+	}
+
+	/**
+	 * Od ovog vektora oduzima vektor <b>other</b> element po element
+	 *
+	 * @param other
+	 *            vektor koji se oduzima
+	 * @return ovaj vektor
+	 */
+	public ComplexVector sub(ComplexVector other) {
+		return sub(other, this);
+	}
+
+	/**
+	 * Od ovog vektora oduzima vektor <b>other</b> element po element i
+	 * rezultat upisuje u vektor <b>dest</b>
+	 *
+	 * @param other
+	 *            vektor koji se oduzima
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector sub(ComplexVector other, ComplexVector dest) {
+		checkLengths(other, dest);
+		double[] aRe = re, aIm = im, bRe = other.re, bIm = other.im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			cRe[i] = aRe[i] - bRe[i];
+			cIm[i] = aIm[i] - bIm[i];
+		}
+		return dest;
+	}
+
+	/**
+	 * Množi ovaj vektor vektorom <b>other</b> element po element
+	 *
+	 * @param other
+	 *            vektor množitelj
+	 * @return ovaj vektor
+	 */
+	public ComplexVector mul(ComplexVector other) {
+		return mul(other, this);
+	}
+
+	/**
+	 * Množi ovaj vektor vektorom <b>other</b> element po element i rezultat
+	 * upisuje u vektor <b>dest</b>
+	 *
+	 * @param other
+	 *            vektor množitelj
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector mul(ComplexVector other, ComplexVector dest) {
+		checkLengths(other, dest);
+		double[] aRe = re, aIm = im, bRe = other.re, bIm = other.im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			// lokalne varijable jer dest smije biti i jedan od operanada
+			double a = aRe[i], b = aIm[i], c = bRe[i], d = bIm[i];
+			cRe[i] = a * c - b * d;
+			cIm[i] = a * d + b * c;
+		}
+		return dest;
+	}
+
+	/**
+	 * Dijeli ovaj vektor vektorom <b>other</b> element po element. Vidi
+	 * {@link #div(ComplexVector, ComplexVector)}
+	 *
+	 * @param other
+	 *            vektor djelitelj
+	 * @return ovaj vektor
+	 */
+	public ComplexVector div(ComplexVector other) {
+		return div(other, this);
+	}
+
+	/**
+	 * Dijeli ovaj vektor vektorom <b>other</b> element po element i rezultat
+	 * upisuje u vektor <b>dest</b>. Za razliku od metode
+	 * {@link ComplexNumber#div(ComplexNumber)}, dijeljenje s nulom ne baca
+	 * iznimku već daje beskonačnost ili NaN prema IEEE 754, kako petlja ne bi
+	 * imala grananja.
+	 *
+	 * @param other
+	 *            vektor djelitelj
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector div(ComplexVector other, ComplexVector dest) {
+		checkLengths(other, dest);
+		double[] aRe = re, aIm = im, bRe = other.re, bIm = other.im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			double a = aRe[i], b = aIm[i], c = bRe[i], d = bIm[i];
+			double denominator = c * c + d * d;
+			cRe[i] = (a * c + b * d) / denominator;
+			cIm[i] = (b * c - a * d) / denominator;
+		}
+		return dest;
+	}
+
+	/**
+	 * Množi svaki element ovog vektora realnim brojem <b>factor</b>
+	 *
+	 * @param factor
+	 *            realni faktor
+	 * @return ovaj vektor
+	 */
+	public ComplexVector scale(double factor) {
+		return scale(factor, this);
+	}
+
+	/**
+	 * Množi svaki element ovog vektora realnim brojem <b>factor</b> i rezultat
+	 * upisuje u vektor <b>dest</b>
+	 *
+	 * @param factor
+	 *            realni faktor
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector scale(double factor, ComplexVector dest) {
+		checkLengths(dest, dest);
+		double[] aRe = re, aIm = im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			cRe[i] = aRe[i] * factor;
+			cIm[i] = aIm[i] * factor;
+		}
+		return dest;
+	}
+
+	/**
+	 * Zamjenjuje svaki element ovog vektora njegovim konjugatom
+	 *
+	 * @return ovaj vektor
+	 */
+	public ComplexVector conjugate() {
+		return conjugate(this);
+	}
+
+	/**
+	 * Konjugate elemenata ovog vektora upisuje u vektor <b>dest</b>
+	 *
+	 * @param dest
+	 *            vektor u koji se upisuje rezultat
+	 * @return vektor <b>dest</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	public ComplexVector conjugate(ComplexVector dest) {
+		checkLengths(dest, dest);
+		double[] aRe = re, aIm = im, cRe = dest.re, cIm = dest.im;
+		for (int i = 0; i < aRe.length; i++) {
+			cRe[i] = aRe[i];
+			cIm[i] = -aIm[i];
+		}
+		return dest;
+	}
+
+	/**
+	 * Provjerava jesu li predani vektori jednake duljine kao ovaj vektor
+	 *
+	 * @param other
+	 *            drugi operand
+	 * @param dest
+	 *            odredišni vektor
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko vektori nisu jednake duljine
+	 */
+	private void checkLengths(ComplexVector other, ComplexVector dest) {
+		if (other.re.length != re.length || dest.re.length != re.length) {
+			throw new IllegalArgumentException("Vektori nisu jednake duljine");
+		}
+	}
+}
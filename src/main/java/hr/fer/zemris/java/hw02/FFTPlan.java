@@ -0,0 +1,517 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Razred koji predstavlja pripremljeni plan brze Fourierove transformacije
+ * (engl. Fast Fourier Transform) za nizove kompleksnih brojeva duljine
+ * <b>n</b>, zapisane kao polja realnih i imaginarnih dijelova. Unaprijedna
+ * transformacija računa
+ *
+ * <pre>
+ * X[k] = suma po j od x[j] * e^(-2PI i jk / n)
+ * </pre>
+ *
+ * a inverzna transformacija ju poništava (uključujući dijeljenje s <b>n</b>).
+ * <p>
+ * Za duljine koje su potencija broja 2 koristi se iterativni radix-2
+ * algoritam s faktorima rotacije iz tablice {@link RootsOfUnity}. Ostale
+ * duljine svode se Bluesteinovim algoritmom na cikličku konvoluciju duljine
+ * potencije broja 2, pa je složenost za svaki <b>n</b> O(n log n). Planovi se
+ * dohvaćaju metodom {@link #of(int)} iz zajedničke ograničene priručne
+ * memorije, nepromjenjivi su i sigurni za istovremeno korištenje iz više
+ * dretvi. Transformacije duljine barem {@value #PARALLEL_THRESHOLD} mogu se
+ * izvesti paralelno predajom primjerka razreda {@link ForkJoinPool}.
+ *
+ * @author Davor Češljaš
+ */
+public final class FFTPlan {
+
+	/**
+	 * Najmanja duljina transformacije za koju se leptiri jednog koraka
+	 * dijele na više zadataka
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	/** Broj leptira koje obrađuje jedan zadatak u paralelnom načinu */
+	private static final int BUTTERFLIES_PER_TASK = 1 << 11;
+
+	/** Najveći broj planova u priručnoj memoriji */
+	private static final int MAX_CACHED_PLANS = 32;
+
+	/** Planovi poredani od najdulje nekorištenog do zadnje korištenog */
+	private static final Map<Integer, FFTPlan> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Duljina transformacije */
+	private final int n;
+
+	/**
+	 * Realni dijelovi <b>n</b>-tih korijena iz jedinice (samo za radix-2)
+	 */
+	private final double[] twiddleRe;
+
+	/**
+	 * Imaginarni dijelovi <b>n</b>-tih korijena iz jedinice (samo za radix-2)
+	 */
+	private final double[] twiddleIm;
+
+	/** Permutacija obrnutih bitova (samo za radix-2) */
+	private final int[] bitReversed;
+
+	/** Plan duljine potencije broja 2 za konvoluciju (samo za Bluestein) */
+	private final FFTPlan convolutionPlan;
+
+	/** Realni dijelovi niza <b>w[j] = e^(-PI i j^2 / n)</b> (samo za Bluestein) */
+	private final double[] chirpRe;
+
+	/** Imaginarni dijelovi niza <b>w[j]</b> (samo za Bluestein) */
+	private final double[] chirpIm;
+
+	/**
+	 * Realni dijelovi transformiranog konjugiranog niza <b>w</b> (samo za
+	 * Bluestein)
+	 */
+	private final double[] kernelRe;
+
+	/**
+	 * Imaginarni dijelovi transformiranog konjugiranog niza <b>w</b> (samo za
+	 * Bluestein)
+	 */
+	private final double[] kernelIm;
+
+	/**
+	 * Konstruktor koji priprema plan za transformacije duljine <b>n</b>
+	 *
+	 * @param n
+	 *            duljina transformacije
+	 */
+	private FFTPlan(int n) {
+		this.n = n;
+		if ((n & (n - 1)) == 0) {
+			RootsOfUnity unity = RootsOfUnity.of(n);
+			this.twiddleRe = unity.re;
+			this.twiddleIm = unity.im;
+			this.bitReversed = bitReversal(n);
+			this.convolutionPlan = null;
+			this.chirpRe = this.chirpIm = this.kernelRe = this.kernelIm = null;
+			return;
+		}
+
+		this.twiddleRe = this.twiddleIm = null;
+		this.bitReversed = null;
+		int m = Integer.highestOneBit(2 * n - 1) << 1;
+		this.convolutionPlan = of(m);
+		this.chirpRe = new double[n];
+		this.chirpIm = new double[n];
+		this.kernelRe = new double[m];
+		this.kernelIm = new double[m];
+		for (int j = 0; j < n; j++) {
+			// j^2 mod 2n kako bi kut ostao malen i precizan
+			double angle = Math.PI * ((long) j * j % (2L * n)) / n;
+			chirpRe[j] = Math.cos(angle);
+			chirpIm[j] = -Math.sin(angle);
+			kernelRe[j] = chirpRe[j];
+			kernelIm[j] = -chirpIm[j];
+			if (j > 0) {
+				kernelRe[m - j] = kernelRe[j];
+				kernelIm[m - j] = kernelIm[j];
+			}
+		}
+		convolutionPlan.forward(kernelRe, kernelIm);
+	}
+
+	/**
+	 * Vraća plan za transformacije duljine <b>n</b>. Plan se uzima iz
+	 * priručne memorije ili se priprema i sprema u nju.
+	 *
+	 * @param n
+	 *            duljina transformacije
+	 * @return plan za transformacije duljine <b>n</b>
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>n <= 0</b> ili je <b>n</b> prevelik za
+	 *             Bluesteinov algoritam
+	 */
+	public static FFTPlan of(int n) {
+		if (n <= 0 || ((n & (n - 1)) != 0 && n > (1 << 29))) {
+			throw new IllegalArgumentException("Duljina transformacije ne može biti " + n);
+		}
+		synchronized (CACHE) {
+			FFTPlan plan = CACHE.get(n);
+			if (plan != null) {
+				return plan;
+			}
+		}
+		FFTPlan plan = new FFTPlan(n);
+		synchronized (CACHE) {
+			FFTPlan previous = CACHE.putIfAbsent(n, plan);
+			if (previous != null) {
+				return previous;
+			}
+			Iterator<FFTPlan> it = CACHE.values().iterator();
+			while (CACHE.size() > MAX_CACHED_PLANS) {
+				it.next();
+				it.remove();
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Vraća duljinu transformacije
+	 *
+	 * @return duljina transformacije
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Izvodi unaprijednu transformaciju na mjestu
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina polja nije jednaka duljini transformacije
+	 */
+	public void forward(double[] re, double[] im) {
+		forward(re, im, null);
+	}
+
+	/**
+	 * Izvodi unaprijednu transformaciju na mjestu u predanom bazenu dretvi.
+	 * Transformacije kraće od {@value #PARALLEL_THRESHOLD} izvode se
+	 * slijedno.
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code> za slijedno
+	 *            izvođenje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina polja nije jednaka duljini transformacije
+	 */
+	public void forward(double[] re, double[] im, ForkJoinPool pool) {
+		checkLength(re, im);
+		transform(re, im, false, pool);
+	}
+
+	/**
+	 * Izvodi inverznu transformaciju na mjestu
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina polja nije jednaka duljini transformacije
+	 */
+	public void inverse(double[] re, double[] im) {
+		inverse(re, im, null);
+	}
+
+	/**
+	 * Izvodi inverznu transformaciju na mjestu u predanom bazenu dretvi.
+	 * Transformacije kraće od {@value #PARALLEL_THRESHOLD} izvode se
+	 * slijedno.
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code> za slijedno
+	 *            izvođenje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina polja nije jednaka duljini transformacije
+	 */
+	public void inverse(double[] re, double[] im, ForkJoinPool pool) {
+		checkLength(re, im);
+		transform(re, im, true, pool);
+		double scale = 1.0 / n;
+		for (int i = 0; i < n; i++) {
+			re[i] *= scale;
+			im[i] *= scale;
+		}
+	}
+
+	/**
+	 * Izvodi unaprijednu transformaciju vektora na mjestu
+	 *
+	 * @param vector
+	 *            vektor kompleksnih brojeva
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina vektora nije jednaka duljini transformacije
+	 */
+	public void forward(ComplexVector vector) {
+		forward(vector.getRealParts(), vector.getImaginaryParts());
+	}
+
+	/**
+	 * Izvodi inverznu transformaciju vektora na mjestu
+	 *
+	 * @param vector
+	 *            vektor kompleksnih brojeva
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko duljina vektora nije jednaka duljini transformacije
+	 */
+	public void inverse(ComplexVector vector) {
+		inverse(vector.getRealParts(), vector.getImaginaryParts());
+	}
+
+	/**
+	 * Izvodi transformaciju bez skaliranja
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param inverse
+	 *            <code><b>true</b></code> za inverznu (s pozitivnim
+	 *            eksponentom), <code><b>false</b></code> za unaprijednu
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code>
+	 */
+	private void transform(double[] re, double[] im, boolean inverse, ForkJoinPool pool) {
+		if (convolutionPlan == null) {
+			radix2(re, im, inverse, pool);
+		} else {
+			bluestein(re, im, inverse, pool);
+		}
+	}
+
+	/**
+	 * Iterativni radix-2 algoritam: permutacija obrnutih bitova i log2(n)
+	 * koraka leptira
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param inverse
+	 *            smjer transformacije
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code>
+	 */
+	private void radix2(double[] re, double[] im, boolean inverse, ForkJoinPool pool) {
+		for (int i = 0; i < n; i++) {
+			int j = bitReversed[i];
+			if (i < j) {
+				double tmp = re[i];
+				re[i] = re[j];
+				re[j] = tmp;
+				tmp = im[i];
+				im[i] = im[j];
+				im[j] = tmp;
+			}
+		}
+
+		boolean parallel = pool != null && n >= PARALLEL_THRESHOLD;
+		double sign = inverse ? 1 : -1;
+		for (int half = 1; half < n; half <<= 1) {
+			if (parallel) {
+				pool.invoke(new StageTask(re, im, half, sign, 0, n >>> 1));
+			} else {
+				butterflies(re, im, half, sign, 0, n >>> 1);
+			}
+		}
+	}
+
+	/**
+	 * Izvodi leptire s rednim brojevima iz raspona <b>[from, to)</b> u koraku
+	 * u kojem se spajaju nizovi duljine <b>half</b>. Leptiri različitih
+	 * raspona istog koraka su neovisni.
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param half
+	 *            duljina nizova koji se spajaju
+	 * @param sign
+	 *            predznak eksponenta faktora rotacije
+	 * @param from
+	 *            redni broj prvog leptira
+	 * @param to
+	 *            redni broj iza zadnjeg leptira
+	 */
+	private void butterflies(double[] re, double[] im, int half, double sign, int from, int to) {
+		int step = n / (2 * half);
+		double[] twRe = twiddleRe, twIm = twiddleIm;
+		int t = from;
+		while (t < to) {
+			int group = t / half;
+			int j = t - group * half;
+			int base = group * 2 * half;
+			int end = Math.min(half, j + (to - t));
+			t += end - j;
+			for (; j < end; j++) {
+				int i = base + j;
+				int k = i + half;
+				double wr = twRe[j * step];
+				double wi = sign * twIm[j * step];
+				double xr = re[k] * wr - im[k] * wi;
+				double xi = re[k] * wi + im[k] * wr;
+				re[k] = re[i] - xr;
+				im[k] = im[i] - xi;
+				re[i] += xr;
+				im[i] += xi;
+			}
+		}
+	}
+
+	/**
+	 * Bluesteinov algoritam: transformacija se zapisuje kao ciklička
+	 * konvolucija niza <b>x[j] * w[j]</b> s konjugiranim nizom <b>w</b>, koja
+	 * se računa planom duljine potencije broja 2. Inverzna transformacija
+	 * računa se kao konjugat unaprijedne transformacije konjugiranog niza.
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 * @param inverse
+	 *            smjer transformacije
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code>
+	 */
+	private void bluestein(double[] re, double[] im, boolean inverse, ForkJoinPool pool) {
+		int m = convolutionPlan.n;
+		double[] aRe = new double[m];
+		double[] aIm = new double[m];
+		double conjugate = inverse ? -1 : 1;
+		for (int j = 0; j < n; j++) {
+			double xr = re[j], xi = conjugate * im[j];
+			aRe[j] = xr * chirpRe[j] - xi * chirpIm[j];
+			aIm[j] = xr * chirpIm[j] + xi * chirpRe[j];
+		}
+
+		convolutionPlan.forward(aRe, aIm, pool);
+		for (int j = 0; j < m; j++) {
+			double ar = aRe[j], ai = aIm[j];
+			aRe[j] = ar * kernelRe[j] - ai * kernelIm[j];
+			aIm[j] = ar * kernelIm[j] + ai * kernelRe[j];
+		}
+		convolutionPlan.inverse(aRe, aIm, pool);
+
+		for (int k = 0; k < n; k++) {
+			double cr = aRe[k], ci = aIm[k];
+			re[k] = cr * chirpRe[k] - ci * chirpIm[k];
+			im[k] = conjugate * (cr * chirpIm[k] + ci * chirpRe[k]);
+		}
+	}
+
+	/**
+	 * Provjerava jesu li polja jednake duljine kao transformacija
+	 *
+	 * @param re
+	 *            realni dijelovi niza
+	 * @param im
+	 *            imaginarni dijelovi niza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko polja nisu duljine <b>n</b>
+	 */
+	private void checkLength(double[] re, double[] im) {
+		if (re.length != n || im.length != n) {
+			throw new IllegalArgumentException("Plan je za duljinu " + n + ", a predana su polja duljine "
+					+ re.length + " i " + im.length);
+		}
+	}
+
+	/**
+	 * Računa permutaciju obrnutih bitova za duljinu <b>n</b>
+	 *
+	 * @param n
+	 *            potencija broja 2
+	 * @return polje u kojem je na poziciji <b>i</b> broj s obrnutim bitovima
+	 */
+	private static int[] bitReversal(int n) {
+		int[] reversed = new int[n];
+		int bits = Integer.numberOfTrailingZeros(n);
+		for (int i = 1; i < n; i++) {
+			reversed[i] = (reversed[i >>> 1] >>> 1) | ((i & 1) << (bits - 1));
+		}
+		return reversed;
+	}
+
+	/**
+	 * Zadatak koji leptire jednog koraka dijeli na dijelove od najviše
+	 * {@value FFTPlan#BUTTERFLIES_PER_TASK} leptira i izvodi ih paralelno
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class StageTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Realni dijelovi niza */
+		private final double[] re;
+
+		/** Imaginarni dijelovi niza */
+		private final double[] im;
+
+		/** Duljina nizova koji se spajaju */
+		private final int half;
+
+		/** Predznak eksponenta faktora rotacije */
+		private final double sign;
+
+		/** Redni broj prvog leptira */
+		private final int from;
+
+		/** Redni broj iza zadnjeg leptira */
+		private final int to;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param re
+		 *            realni dijelovi niza
+		 * @param im
+		 *            imaginarni dijelovi niza
+		 * @param half
+		 *            duljina nizova koji se spajaju
+		 * @param sign
+		 *            predznak eksponenta faktora rotacije
+		 * @param from
+		 *            redni broj prvog leptira
+		 * @param to
+		 *            redni broj iza zadnjeg leptira
+		 */
+		private StageTask(double[] re, double[] im, int half, double sign, int from, int to) {
+			this.re = re;
+			this.im = im;
+			this.half = half;
+			this.sign = sign;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BUTTERFLIES_PER_TASK) {
+				butterflies(re, im, half, sign, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new StageTask(re, im, half, sign, from, middle),
+					new StageTask(re, im, half, sign, middle, to));
+		}
+	}
+}
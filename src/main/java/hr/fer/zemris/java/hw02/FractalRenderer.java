@@ -0,0 +1,309 @@
+package hr.fer.zemris.java.hw02;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Razred koji iscrtava Mandelbrotov ili Julijin skup iteriranjem
+ * <b>z = z^2 + c</b> za svaki piksel dok <b>|z|</b> ne prijeđe 2 ili se ne
+ * dosegne najveći broj iteracija. Kod Mandelbrotovog skupa je <b>z[0] = 0</b>,
+ * a <b>c</b> točka piksela, dok je kod Julijinog skupa <b>z[0]</b> točka
+ * piksela, a <b>c</b> zadana konstanta.
+ * <p>
+ * Iteracija se može računati metodama razreda {@link ComplexNumber}
+ * ({@link ComplexNumber#mul(ComplexNumber)},
+ * {@link ComplexNumber#add(ComplexNumber)} i
+ * {@link ComplexNumber#getMagnitude()}) ili brzim putem nad primitivnim
+ * vrijednostima tipa <code>double</code>, pa renderer služi i kao mjerilo
+ * brzine kompleksne aritmetike. Slika se iscrtava u pojasevima od
+ * {@value #BAND_ROWS} redaka: retci jednog pojasa dijele se na zadatke u
+ * predanom bazenu dretvi, a gotov pojas odmah se zapisuje u izlazni tok, pa
+ * cijela slika nikad nije u memoriji. Svaki piksel je jedan oktet: 0 za
+ * točke skupa, a inače <b>255 * iteracije / maxIterations</b>.
+ *
+ * @author Davor Češljaš
+ */
+public class FractalRenderer {
+
+	/** Broj redaka jednog pojasa */
+	static final int BAND_ROWS = 64;
+
+	/** Najveći broj redaka koje obrađuje jedan zadatak */
+	private static final int ROWS_PER_TASK = 2;
+
+	/** Širina slike u pikselima */
+	private final int width;
+
+	/** Visina slike u pikselima */
+	private final int height;
+
+	/** Najveći broj iteracija */
+	private final int maxIterations;
+
+	/** Najmanji realni dio prikazanog područja */
+	private double reMin = -2.5;
+
+	/** Najveći realni dio prikazanog područja */
+	private double reMax = 1;
+
+	/** Najmanji imaginarni dio prikazanog područja */
+	private double imMin = -1.25;
+
+	/** Najveći imaginarni dio prikazanog područja */
+	private double imMax = 1.25;
+
+	/**
+	 * Konstanta Julijinog skupa ili <code><b>null</b></code> za Mandelbrotov
+	 * skup
+	 */
+	private ComplexNumber juliaConstant;
+
+	/** Računa li se iteracija metodama razreda {@link ComplexNumber} */
+	private boolean useComplexNumbers;
+
+	/**
+	 * Konstruktor koji inicijalizira renderer Mandelbrotovog skupa na
+	 * području <b>[-2.5, 1] x [-1.25, 1.25]</b>
+	 *
+	 * @param width
+	 *            širina slike u pikselima
+	 * @param height
+	 *            visina slike u pikselima
+	 * @param maxIterations
+	 *            najveći broj iteracija
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko neki od parametara nije pozitivan
+	 */
+	public FractalRenderer(int width, int height, int maxIterations) {
+		if (width <= 0 || height <= 0 || maxIterations <= 0) {
+			throw new IllegalArgumentException("Dimenzije i broj iteracija moraju biti pozitivni");
+		}
+		this.width = width;
+		this.height = height;
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Postavlja prikazano područje kompleksne ravnine
+	 *
+	 * @param reMin
+	 *            najmanji realni dio
+	 * @param reMax
+	 *            najveći realni dio
+	 * @param imMin
+	 *            najmanji imaginarni dio
+	 * @param imMax
+	 *            najveći imaginarni dio
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko područje nije ispravno
+	 */
+	public void setViewport(double reMin, double reMax, double imMin, double imMax) {
+		if (!(reMin < reMax) || !(imMin < imMax)) {
+			throw new IllegalArgumentException("Neispravno područje");
+		}
+		this.reMin = reMin;
+		this.reMax = reMax;
+		this.imMin = imMin;
+		this.imMax = imMax;
+	}
+
+	/**
+	 * Postavlja konstantu Julijinog skupa
+	 *
+	 * @param juliaConstant
+	 *            konstanta Julijinog skupa ili <code><b>null</b></code> za
+	 *            Mandelbrotov skup
+	 */
+	public void setJuliaConstant(ComplexNumber juliaConstant) {
+		this.juliaConstant = juliaConstant;
+	}
+
+	/**
+	 * Postavlja računa li se iteracija metodama razreda {@link ComplexNumber}
+	 * ili brzim putem nad primitivnim vrijednostima
+	 *
+	 * @param useComplexNumbers
+	 *            <code><b>true</b></code> za metode razreda
+	 *            {@link ComplexNumber}, <code><b>false</b></code> za brzi put
+	 */
+	public void setUseComplexNumbers(boolean useComplexNumbers) {
+		this.useComplexNumbers = useComplexNumbers;
+	}
+
+	/**
+	 * Vraća broj piksela slike
+	 *
+	 * @return broj piksela slike
+	 */
+	public long getPixelCount() {
+		return (long) width * height;
+	}
+
+	/**
+	 * Iscrtava sliku i zapisuje je u izlazni tok redak po redak. Ukoliko je
+	 * <b>pgm</b> postavljen, ispred piksela se zapisuje zaglavlje formata
+	 * PGM (P5), a inače se zapisuju samo pikseli.
+	 *
+	 * @param out
+	 *            izlazni tok
+	 * @param pgm
+	 *            zapisuje li se zaglavlje formata PGM
+	 * @param pool
+	 *            bazen dretvi u kojem se iscrtavaju pojasevi
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri pisanju
+	 */
+	public void render(OutputStream out, boolean pgm, ForkJoinPool pool) throws IOException {
+		if (pgm) {
+			out.write(("P5\n" + width + " " + height + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+		}
+		byte[] band = new byte[BAND_ROWS * width];
+		for (int row = 0; row < height; row += BAND_ROWS) {
+			int rows = Math.min(BAND_ROWS, height - row);
+			pool.invoke(new RowsTask(band, row, row, row + rows));
+			out.write(band, 0, rows * width);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Iscrtava retke iz raspona <b>[fromRow, toRow)</b> u polje <b>pixels</b>,
+	 * počevši od retka <b>firstRow</b> polja
+	 *
+	 * @param pixels
+	 *            polje piksela
+	 * @param firstRow
+	 *            redak slike koji je spremljen na početku polja
+	 * @param fromRow
+	 *            prvi redak koji se iscrtava
+	 * @param toRow
+	 *            redak iza zadnjeg koji se iscrtava
+	 */
+	void renderRows(byte[] pixels, int firstRow, int fromRow, int toRow) {
+		double reStep = (reMax - reMin) / width;
+		double imStep = (imMax - imMin) / height;
+		for (int row = fromRow; row < toRow; row++) {
+			double ci = imMax - (row + 0.5) * imStep;
+			int offset = (row - firstRow) * width;
+			for (int column = 0; column < width; column++) {
+				double cr = reMin + (column + 0.5) * reStep;
+				int iterations = useComplexNumbers ? iterateComplex(cr, ci) : iteratePrimitive(cr, ci);
+				pixels[offset + column] = (byte) (iterations == maxIterations ? 0
+						: 255L * iterations / maxIterations);
+			}
+		}
+	}
+
+	/**
+	 * Iterira točku metodama razreda {@link ComplexNumber}
+	 *
+	 * @param re
+	 *            realni dio točke piksela
+	 * @param im
+	 *            imaginarni dio točke piksela
+	 * @return broj iteracija do bijega ili najveći broj iteracija
+	 */
+	private int iterateComplex(double re, double im) {
+		ComplexNumber point = new ComplexNumber(re, im);
+		ComplexNumber z = juliaConstant == null ? new ComplexNumber(0, 0) : point;
+		ComplexNumber c = juliaConstant == null ? point : juliaConstant;
+		int iterations = 0;
+		while (iterations < maxIterations && z.getMagnitude() <= 2) {
+			z = z.mul(z).add(c);
+			iterations++;
+		}
+		return iterations;
+	}
+
+	/**
+	 * Iterira točku nad primitivnim vrijednostima
+	 *
+	 * @param re
+	 *            realni dio točke piksela
+	 * @param im
+	 *            imaginarni dio točke piksela
+	 * @return broj iteracija do bijega ili najveći broj iteracija
+	 */
+	private int iteratePrimitive(double re, double im) {
+		double zr, zi, cr, ci;
+		if (juliaConstant == null) {
+			zr = zi = 0;
+			cr = re;
+			ci = im;
+		} else {
+			zr = re;
+			zi = im;
+			cr = juliaConstant.getReal();
+			ci = juliaConstant.getImaginary();
+		}
+		int iterations = 0;
+		double zr2 = zr * zr, zi2 = zi * zi;
+		while (iterations < maxIterations && zr2 + zi2 <= 4) {
+			zi = 2 * zr * zi + ci;
+			zr = zr2 - zi2 + cr;
+			zr2 = zr * zr;
+			zi2 = zi * zi;
+			iterations++;
+		}
+		return iterations;
+	}
+
+	/**
+	 * Zadatak koji dijeli raspon redaka na dijelove od najviše
+	 * {@value FractalRenderer#ROWS_PER_TASK} redaka i iscrtava ih paralelno
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class RowsTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Polje piksela pojasa */
+		private final byte[] pixels;
+
+		/** Redak slike koji je spremljen na početku polja */
+		private final int firstRow;
+
+		/** Prvi redak koji se iscrtava */
+		private final int fromRow;
+
+		/** Redak iza zadnjeg koji se iscrtava */
+		private final int toRow;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param pixels
+		 *            polje piksela pojasa
+		 * @param firstRow
+		 *            redak slike koji je spremljen na početku polja
+		 * @param fromRow
+		 *            prvi redak koji se iscrtava
+		 * @param toRow
+		 *            redak iza zadnjeg koji se iscrtava
+		 */
+		private RowsTask(byte[] pixels, int firstRow, int fromRow, int toRow) {
+			this.pixels = pixels;
+			this.firstRow = firstRow;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected void compute() {
+			if (toRow - fromRow <= ROWS_PER_TASK) {
+				renderRows(pixels, firstRow, fromRow, toRow);
+				return;
+			}
+			int middle = (fromRow + toRow) >>> 1;
+			invokeAll(new RowsTask(pixels, firstRow, fromRow, middle), new RowsTask(pixels, firstRow, middle, toRow));
+		}
+	}
+}
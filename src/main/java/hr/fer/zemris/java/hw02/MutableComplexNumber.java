@@ -0,0 +1,402 @@
+package hr.fer.zemris.java.hw02;
+
+/**
+ * Razred koji predstavlja promjenjivi kompleksni broj. Razred nudi iste
+ * operacije kao i razred {@link ComplexNumber}, ali ih primjenjuje na ovaj
+ * primjerak umjesto da stvara novi. Svaka operacija vraća ovaj primjerak, pa
+ * je lanac poziva poput
+ *
+ * <pre>
+ * acc.set(c1).add(x).div(c2).power(3)
+ * </pre>
+ *
+ * moguće izvesti bez ijedne alokacije. Metode za rad s kompleksnim brojevima
+ * su sljedeće:
+ * <ul>
+ * <li><code>{@link #getReal()}</code></li>
+ * <li><code>{@link #getImaginary()} </code></li>
+ * <li><code>{@link #getMagnitude()} </code></li>
+ * <li><code>{@link #getAngle()}</code></li>
+ * <li><code>{@link #add(double, double)} </code></li>
+ * <li><code>{@link #sub(double, double)}</code></li>
+ * <li><code>{@link #mul(double, double)} </code></li>
+ * <li><code>{@link #div(double, double)}</code></li>
+ * <li><code>{@link #power(int)} </code></li>
+ * <li><code>{@link #root(int)} </code></li>
+ * </ul>
+ *
+ * Pretvorba iz i u nepromjenjivi oblik obavlja se metodama
+ * {@link #set(ComplexNumber)} i {@link #toComplexNumber()}. Razred nije
+ * siguran za korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class MutableComplexNumber {
+
+	/**
+	 * Najveća apsolutna vrijednost eksponenta za koju metoda
+	 * {@link #power(int)} računa u pravokutnom obliku
+	 */
+	static final int POLAR_POWER_THRESHOLD = 1 << 16;
+
+	/** Realna komponenta kompleksnog broja */
+	private double real;
+
+	/** Imaginarna komponenta kompleksnog broja */
+	private double imaginary;
+
+	/**
+	 * Konstruktor koji inicijalizira kompleksni broj na nulu
+	 */
+	public MutableComplexNumber() {
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira realnu i imaginarnu komponentu kompleksnog
+	 * broja.
+	 *
+	 * @param real
+	 *            realna komponenta kompleksnog broja
+	 * @param imaginary
+	 *            imaginarna komponenta kompleksnog broja
+	 */
+	public MutableComplexNumber(double real, double imaginary) {
+		this.real = real;
+		this.imaginary = imaginary;
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira kompleksni broj na vrijednost predanog
+	 * nepromjenjivog kompleksnog broja
+	 *
+	 * @param c
+	 *            početna vrijednost
+	 */
+	public MutableComplexNumber(ComplexNumber c) {
+		this(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Dohvaća realnu komponentu kompleksnog broja.
+	 *
+	 * @return realnu komponentu kompleksnog broja.
+	 */
+	public double getReal() {
+		return real;
+	}
+
+	/**
+	 * Dohvaća imaginarnu komponentu kompleksnog broja.
+	 *
+	 * @return imaginarnu komponentu kompleksnog broja.
+	 */
+	public double getImaginary() {
+		return imaginary;
+	}
+
+	/**
+	 * Računa i dohvaća magnitudu kompleksnog broja iz pretvorbe u polarni
+	 * oblik.
+	 *
+	 * @return magnitudu kompleksnog broja
+	 */
+	public double getMagnitude() {
+		return Math.sqrt(real * real + imaginary * imaginary);
+	}
+
+	/**
+	 * Računa i dohvaća kut kompleksnog broja iz pretvorbe u polarni oblik. Kut
+	 * je iz intervala <b>[0, 2PI)</b>, kao i kod
+	 * {@link ComplexNumber#getAngle()}
+	 *
+	 * @return kut kompleksnog broja
+	 */
+	public double getAngle() {
+		double angle = Math.atan2(imaginary, real);
+		return angle < 0 ? (angle + 2 * Math.PI) : angle;
+	}
+
+	/**
+	 * Postavlja vrijednost ovog kompleksnog broja
+	 *
+	 * @param real
+	 *            nova realna komponenta
+	 * @param imaginary
+	 *            nova imaginarna komponenta
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber set(double real, double imaginary) {
+		this.real = real;
+		this.imaginary = imaginary;
+		return this;
+	}
+
+	/**
+	 * Postavlja vrijednost ovog kompleksnog broja na vrijednost predanog
+	 * nepromjenjivog kompleksnog broja
+	 *
+	 * @param c
+	 *            nova vrijednost
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber set(ComplexNumber c) {
+		return set(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Postavlja vrijednost ovog kompleksnog broja na vrijednost drugog
+	 * promjenjivog kompleksnog broja
+	 *
+	 * @param c
+	 *            nova vrijednost
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber set(MutableComplexNumber c) {
+		return set(c.real, c.imaginary);
+	}
+
+	/**
+	 * Stvara nepromjenjivi kompleksni broj s trenutnom vrijednošću ovog broja
+	 *
+	 * @return novi primjerak razreda {@link ComplexNumber}
+	 */
+	public ComplexNumber toComplexNumber() {
+		return new ComplexNumber(real, imaginary);
+	}
+
+	/**
+	 * Ovom kompleksnom broju pribraja kompleksni broj zadan komponentama
+	 *
+	 * @param real
+	 *            realna komponenta pribrojnika
+	 * @param imaginary
+	 *            imaginarna komponenta pribrojnika
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber add(double real, double imaginary) {
+		this.real += real;
+		this.imaginary += imaginary;
+		return this;
+	}
+
+	/**
+	 * Ovom kompleksnom broju pribraja kompleksni broj <b>c</b>
+	 *
+	 * @param c
+	 *            pribrojnik
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber add(ComplexNumber c) {
+		return add(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Ovom kompleksnom broju pribraja kompleksni broj <b>c</b>
+	 *
+	 * @param c
+	 *            pribrojnik
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber add(MutableComplexNumber c) {
+		return add(c.real, c.imaginary);
+	}
+
+	/**
+	 * Od ovog kompleksnog broja oduzima kompleksni broj zadan komponentama
+	 *
+	 * @param real
+	 *            realna komponenta umanjitelja
+	 * @param imaginary
+	 *            imaginarna komponenta umanjitelja
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber sub(double real, double imaginary) {
+		this.real -= real;
+		this.imaginary -= imaginary;
+		return this;
+	}
+
+	/**
+	 * Od ovog kompleksnog broja oduzima kompleksni broj <b>c</b>
+	 *
+	 * @param c
+	 *            umanjitelj
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber sub(ComplexNumber c) {
+		return sub(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Od ovog kompleksnog broja oduzima kompleksni broj <b>c</b>
+	 *
+	 * @param c
+	 *            umanjitelj
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber sub(MutableComplexNumber c) {
+		return sub(c.real, c.imaginary);
+	}
+
+	/**
+	 * Ovaj kompleksni broj množi kompleksnim brojem zadanim komponentama
+	 *
+	 * @param real
+	 *            realna komponenta množitelja
+	 * @param imaginary
+	 *            imaginarna komponenta množitelja
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber mul(double real, double imaginary) {
+		double newReal = this.real * real - this.imaginary * imaginary;
+		this.imaginary = this.real * imaginary + this.imaginary * real;
+		this.real = newReal;
+		return this;
+	}
+
+	/**
+	 * Ovaj kompleksni broj množi kompleksnim brojem <b>c</b>
+	 *
+	 * @param c
+	 *            množitelj
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber mul(ComplexNumber c) {
+		return mul(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Ovaj kompleksni broj množi kompleksnim brojem <b>c</b>
+	 *
+	 * @param c
+	 *            množitelj
+	 * @return ovaj primjerak
+	 */
+	public MutableComplexNumber mul(MutableComplexNumber c) {
+		return mul(c.real, c.imaginary);
+	}
+
+	/**
+	 * Ovaj kompleksni broj dijeli kompleksnim brojem zadanim komponentama
+	 *
+	 * @param real
+	 *            realna komponenta djelitelja
+	 * @param imaginary
+	 *            imaginarna komponenta djelitelja
+	 * @return ovaj primjerak
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je djelitelj jednak nuli (uz istu toleranciju kao u
+	 *             {@link ComplexNumber#div(ComplexNumber)})
+	 */
+	public MutableComplexNumber div(double real, double imaginary) {
+		if (ComplexNumber.approximatelyEquals(real, imaginary, 0, 0)) {
+			throw new IllegalArgumentException("Dijeljenje s 0!");
+		}
+		double denominator = real * real + imaginary * imaginary;
+		double newReal = (this.real * real + this.imaginary * imaginary) / denominator;
+		this.imaginary = (this.imaginary * real - this.real * imaginary) / denominator;
+		this.real = newReal;
+		return this;
+	}
+
+	/**
+	 * Ovaj kompleksni broj dijeli kompleksnim brojem <b>c</b>
+	 *
+	 * @param c
+	 *            djelitelj
+	 * @return ovaj primjerak
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je djelitelj jednak nuli
+	 */
+	public MutableComplexNumber div(ComplexNumber c) {
+		return div(c.getReal(), c.getImaginary());
+	}
+
+	/**
+	 * Ovaj kompleksni broj dijeli kompleksnim brojem <b>c</b>
+	 *
+	 * @param c
+	 *            djelitelj
+	 * @return ovaj primjerak
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je djelitelj jednak nuli
+	 */
+	public MutableComplexNumber div(MutableComplexNumber c) {
+		return div(c.real, c.imaginary);
+	}
+
+	/**
+	 * Potencira ovaj kompleksni broj na <b>n</b>. Za <b>|n| <=
+	 * {@value #POLAR_POWER_THRESHOLD}</b> potencija se računa kvadriranjem i
+	 * množenjem u pravokutnom obliku (najviše 2 * log2(n) množenja, bez
+	 * trigonometrijskih funkcija), pa je npr. <b>(1 + i)^2</b> točno
+	 * <b>2i</b>. Za veće eksponente koristi se polarni oblik. Negativna
+	 * potencija računa se kao potencija recipročne vrijednosti.
+	 *
+	 * @param n
+	 *            potencija kompleksnog broja
+	 * @return ovaj primjerak
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je potencija <b>n < 0</b>, a ovaj broj jednak nuli
+	 */
+	public MutableComplexNumber power(int n) {
+		long exponent = n;
+		if (exponent < 0) {
+			double baseReal = real, baseImaginary = imaginary;
+			set(1, 0).div(baseReal, baseImaginary);
+			exponent = -exponent;
+		}
+		if (exponent > POLAR_POWER_THRESHOLD) {
+			double powMagnitude = Math.pow(getMagnitude(), exponent);
+			double angle = getAngle();
+			return set(powMagnitude * Math.cos(exponent * angle), powMagnitude * Math.sin(exponent * angle));
+		}
+
+		double baseReal = real, baseImaginary = imaginary;
+		double resultReal = 1, resultImaginary = 0;
+		while (exponent > 0) {
+			if ((exponent & 1) != 0) {
+				double newReal = resultReal * baseReal - resultImaginary * baseImaginary;
+				resultImaginary = resultReal * baseImaginary + resultImaginary * baseReal;
+				resultReal = newReal;
+			}
+			exponent >>>= 1;
+			if (exponent > 0) {
+				double newReal = baseReal * baseReal - baseImaginary * baseImaginary;
+				baseImaginary = 2 * baseReal * baseImaginary;
+				baseReal = newReal;
+			}
+		}
+		return set(resultReal, resultImaginary);
+	}
+
+	/**
+	 * Postavlja ovaj kompleksni broj na njegov glavni <b>n</b>-ti korijen,
+	 * odnosno na prvi korijen koji vraća metoda
+	 * {@link ComplexNumber#root(int)}
+	 *
+	 * @param n
+	 *            stupanj korijena
+	 * @return ovaj primjerak
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>n <= 0</b>
+	 */
+	public MutableComplexNumber root(int n) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("Korijen ne može biti " + n);
+		}
+		double rootMagnitude = Math.pow(getMagnitude(), 1.0 / n);
+		double angle = getAngle() / n;
+		return set(rootMagnitude * Math.cos(angle), rootMagnitude * Math.sin(angle));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("z = %f%s %fi", real, imaginary >= 0 ? " +" : "", imaginary);
+	}
+}
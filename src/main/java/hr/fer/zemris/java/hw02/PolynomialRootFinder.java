@@ -0,0 +1,491 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Razred koji računa sve nultočke polinoma s kompleksnim koeficijentima
+ * Aberth-Ehrlichovim postupkom. Sve procjene nultočaka popravljaju se
+ * istovremeno, pri čemu se procjena <b>z[k]</b> u svakoj iteraciji pomiče za
+ *
+ * <pre>
+ * w[k] = 1 / (p'(z[k]) / p(z[k]) - suma po j != k od 1 / (z[k] - z[j]))
+ * </pre>
+ *
+ * Nove procjene računaju se samo iz procjena prethodne iteracije, pa su
+ * popravci različitih nultočaka neovisni. Za polinome stupnja barem
+ * {@value #PARALLEL_THRESHOLD} popravci se, ako je predan bazen dretvi,
+ * dijele na dijelove koji se izvode paralelno. Svi međuspremnici i zadaci
+ * alociraju se jednom na početku, pa same iteracije ne alociraju memoriju.
+ * Metoda {@link #findAllRoots(ComplexPolynomial[])} paralelno rješava više
+ * polinoma odjednom.
+ * <p>
+ * Početne procjene su jednoliko raspoređene po kružnici (zakrenutoj kako bi
+ * se izbjegla simetrija) čiji je polumjer geometrijska sredina apsolutnih
+ * vrijednosti nultočaka. Postupak staje kada je za svaku procjenu popravak
+ * manji od <b>tolerance * max(1, |z[k]|)</b> ili je <b>|p(z[k])|</b> unutar
+ * ograde pogreške zaokruživanja Hornerovog postupka, odnosno nakon najvećeg
+ * broja iteracija.
+ * Primjerci razreda sigurni su za istovremeno korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public class PolynomialRootFinder {
+
+	/** Defaultni najveći broj iteracija */
+	public static final int DEFAULT_MAX_ITERATIONS = 500;
+
+	/** Defaultna relativna tolerancija popravka */
+	public static final double DEFAULT_TOLERANCE = 1e-12;
+
+	/**
+	 * Najmanji stupanj polinoma za koji se popravci jedne iteracije izvode
+	 * paralelno
+	 */
+	static final int PARALLEL_THRESHOLD = 256;
+
+	/** Broj nultočaka koje popravlja jedan zadatak u paralelnom načinu */
+	private static final int ROOTS_PER_TASK = 64;
+
+	/**
+	 * Faktor kojim se množi ograda pogreške zaokruživanja pri računanju
+	 * <b>p(z)</b>. Vrijednost polinoma manja od te ograde ne može se
+	 * razlikovati od nule, pa se procjena smatra konvergiranom.
+	 */
+	private static final double ROUNDING_FACTOR = 4;
+
+	/** Kut zakreta početnih procjena */
+	private static final double INITIAL_ROTATION = 0.4;
+
+	/** Najveći broj iteracija */
+	private final int maxIterations;
+
+	/** Relativna tolerancija popravka */
+	private final double tolerance;
+
+	/** Bazen dretvi ili <code><b>null</b></code> za slijedno izvođenje */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Konstruktor koji inicijalizira postupak koji se izvodi slijedno, uz
+	 * defaultne parametre
+	 */
+	public PolynomialRootFinder() {
+		this(null);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira postupak koji se izvodi u predanom
+	 * bazenu dretvi, uz defaultne parametre
+	 *
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code> za slijedno
+	 *            izvođenje
+	 */
+	public PolynomialRootFinder(ForkJoinPool pool) {
+		this(DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE, pool);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira sve parametre postupka
+	 *
+	 * @param maxIterations
+	 *            najveći broj iteracija
+	 * @param tolerance
+	 *            relativna tolerancija popravka
+	 * @param pool
+	 *            bazen dretvi ili <code><b>null</b></code> za slijedno
+	 *            izvođenje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj iteracija ili tolerancija nisu pozitivni
+	 */
+	public PolynomialRootFinder(int maxIterations, double tolerance, ForkJoinPool pool) {
+		if (maxIterations <= 0 || !(tolerance > 0)) {
+			throw new IllegalArgumentException("Broj iteracija i tolerancija moraju biti pozitivni");
+		}
+		this.maxIterations = maxIterations;
+		this.tolerance = tolerance;
+		this.pool = pool;
+	}
+
+	/**
+	 * Računa sve nultočke polinoma
+	 *
+	 * @param polynomial
+	 *            polinom
+	 * @return polje od {@link ComplexPolynomial#degree()} nultočaka
+	 */
+	public ComplexNumber[] findRoots(ComplexPolynomial polynomial) {
+		int degree = polynomial.degree();
+		double[] re = new double[degree];
+		double[] im = new double[degree];
+		findRoots(polynomial, re, im);
+		ComplexNumber[] roots = new ComplexNumber[degree];
+		for (int k = 0; k < degree; k++) {
+			roots[k] = new ComplexNumber(re[k], im[k]);
+		}
+		return roots;
+	}
+
+	/**
+	 * Računa sve nultočke polinoma i upisuje ih u predana polja
+	 *
+	 * @param polynomial
+	 *            polinom
+	 * @param re
+	 *            polje u koje se upisuju realni dijelovi nultočaka
+	 * @param im
+	 *            polje u koje se upisuju imaginarni dijelovi nultočaka
+	 * @return broj obavljenih iteracija. Ukoliko je jednak najvećem broju
+	 *         iteracija, procjene nisu postigle traženu toleranciju
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko polja nisu duljine jednake stupnju polinoma ili je
+	 *             polinom nul-polinom
+	 */
+	public int findRoots(ComplexPolynomial polynomial, double[] re, double[] im) {
+		int degree = polynomial.degree();
+		if (re.length != degree || im.length != degree) {
+			throw new IllegalArgumentException("Polja za nultočke moraju biti duljine " + degree);
+		}
+		if (degree == 0) {
+			if (polynomial.re[0] == 0 && polynomial.im[0] == 0) {
+				throw new IllegalArgumentException("Nul-polinom nema konačno mnogo nultočaka");
+			}
+			return 0;
+		}
+		boolean parallel = pool != null && degree >= PARALLEL_THRESHOLD;
+		Solver solver = new Solver(polynomial, re, im, parallel);
+		if (parallel) {
+			pool.invoke(solver);
+		} else {
+			solver.compute();
+		}
+		return solver.iterations;
+	}
+
+	/**
+	 * Računa nultočke svih predanih polinoma. Ukoliko je predan bazen dretvi,
+	 * polinomi se rješavaju paralelno.
+	 *
+	 * @param polynomials
+	 *            polinomi
+	 * @return polje u kojem su na poziciji <b>i</b> nultočke <b>i</b>-tog
+	 *         polinoma
+	 */
+	public ComplexNumber[][] findAllRoots(ComplexPolynomial[] polynomials) {
+		ComplexNumber[][] roots = new ComplexNumber[polynomials.length][];
+		if (pool == null) {
+			for (int i = 0; i < polynomials.length; i++) {
+				roots[i] = findRoots(polynomials[i]);
+			}
+		} else {
+			pool.invoke(new BatchTask(polynomials, roots, 0, polynomials.length));
+		}
+		return roots;
+	}
+
+	/**
+	 * Zadatak koji rješava jedan polinom. Čuva procjene nultočaka dviju
+	 * uzastopnih iteracija i unaprijed stvorene zadatke za paralelne
+	 * popravke.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class Solver extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Realni dijelovi koeficijenata */
+		private final double[] coefRe;
+
+		/** Imaginarni dijelovi koeficijenata */
+		private final double[] coefIm;
+
+		/** Apsolutne vrijednosti koeficijenata */
+		private final double[] coefAbs;
+
+		/** Polja u koja se upisuje konačni rezultat */
+		private final double[] resultRe, resultIm;
+
+		/** Procjene iz prethodne iteracije */
+		private double[] zRe, zIm;
+
+		/** Procjene koje se računaju u trenutnoj iteraciji */
+		private double[] nextRe, nextIm;
+
+		/** Dijele li se popravci jedne iteracije na paralelne zadatke */
+		private final boolean parallel;
+
+		/** Broj obavljenih iteracija */
+		private int iterations;
+
+		/**
+		 * Konstruktor koji inicijalizira međuspremnike i početne procjene
+		 *
+		 * @param polynomial
+		 *            polinom
+		 * @param re
+		 *            polje za realne dijelove nultočaka
+		 * @param im
+		 *            polje za imaginarne dijelove nultočaka
+		 * @param parallel
+		 *            dijele li se popravci jedne iteracije na paralelne
+		 *            zadatke
+		 */
+		private Solver(ComplexPolynomial polynomial, double[] re, double[] im, boolean parallel) {
+			this.parallel = parallel;
+			this.coefRe = polynomial.re;
+			this.coefIm = polynomial.im;
+			this.coefAbs = new double[coefRe.length];
+			for (int j = 0; j < coefAbs.length; j++) {
+				coefAbs[j] = Math.hypot(coefRe[j], coefIm[j]);
+			}
+			this.resultRe = re;
+			this.resultIm = im;
+			int degree = re.length;
+			this.zRe = new double[degree];
+			this.zIm = new double[degree];
+			this.nextRe = new double[degree];
+			this.nextIm = new double[degree];
+
+			double radius = initialRadius();
+			RootsOfUnity unity = RootsOfUnity.of(degree);
+			double rotationRe = radius * Math.cos(INITIAL_ROTATION);
+			double rotationIm = radius * Math.sin(INITIAL_ROTATION);
+			for (int k = 0; k < degree; k++) {
+				zRe[k] = rotationRe * unity.re[k] - rotationIm * unity.im[k];
+				zIm[k] = rotationRe * unity.im[k] + rotationIm * unity.re[k];
+			}
+		}
+
+		@Override
+		protected void compute() {
+			int degree = zRe.length;
+			UpdateTask[] tasks = null;
+			if (parallel) {
+				tasks = new UpdateTask[(degree + ROOTS_PER_TASK - 1) / ROOTS_PER_TASK];
+				for (int i = 0; i < tasks.length; i++) {
+					tasks[i] = new UpdateTask(this, i * ROOTS_PER_TASK, Math.min(degree, (i + 1) * ROOTS_PER_TASK));
+				}
+			}
+
+			boolean converged = false;
+			while (!converged && iterations < maxIterations) {
+				if (tasks == null) {
+					converged = update(0, degree);
+				} else {
+					for (UpdateTask task : tasks) {
+						task.reinitialize();
+					}
+					ForkJoinTask.invokeAll(tasks);
+					converged = true;
+					for (UpdateTask task : tasks) {
+						converged &= task.converged;
+					}
+				}
+				double[] tmp = zRe;
+				zRe = nextRe;
+				nextRe = tmp;
+				tmp = zIm;
+				zIm = nextIm;
+				nextIm = tmp;
+				iterations++;
+			}
+			System.arraycopy(zRe, 0, resultRe, 0, degree);
+			System.arraycopy(zIm, 0, resultIm, 0, degree);
+		}
+
+		/**
+		 * Računa nove procjene nultočaka s indeksima iz raspona
+		 * <b>[from, to)</b>
+		 *
+		 * @param from
+		 *            prvi indeks
+		 * @param to
+		 *            indeks iza zadnjeg
+		 * @return <code><b>true</b></code> ako su svi popravci unutar
+		 *         tolerancije, <code><b>false</b></code> inače
+		 */
+		private boolean update(int from, int to) {
+			double[] zRe = this.zRe, zIm = this.zIm;
+			boolean converged = true;
+			for (int k = from; k < to; k++) {
+				double zr = zRe[k], zi = zIm[k];
+
+				// p(z), p'(z) i ograda pogreške zaokruživanja Hornerovim
+				// postupkom
+				double zAbs = Math.sqrt(zr * zr + zi * zi);
+				double pr = coefRe[coefRe.length - 1], pi = coefIm[coefIm.length - 1];
+				double dr = 0, di = 0;
+				double bound = coefAbs[coefAbs.length - 1];
+				for (int j = coefRe.length - 2; j >= 0; j--) {
+					double newDr = dr * zr - di * zi + pr;
+					di = dr * zi + di * zr + pi;
+					dr = newDr;
+					double newPr = pr * zr - pi * zi + coefRe[j];
+					pi = pr * zi + pi * zr + coefIm[j];
+					pr = newPr;
+					bound = bound * zAbs + coefAbs[j];
+				}
+
+				double wr = 0, wi = 0;
+				double pNorm = pr * pr + pi * pi;
+				if (pNorm != 0) {
+					// p'(z) / p(z)
+					double qr = (dr * pr + di * pi) / pNorm;
+					double qi = (di * pr - dr * pi) / pNorm;
+					// suma 1 / (z[k] - z[j])
+					for (int j = 0; j < zRe.length; j++) {
+						if (j == k) {
+							continue;
+						}
+						double ar = zr - zRe[j], ai = zi - zIm[j];
+						double norm = ar * ar + ai * ai;
+						if (norm == 0) {
+							// poklopljene procjene preskačemo kako se ne bi
+							// dijelilo s nulom
+							continue;
+						}
+						qr -= ar / norm;
+						qi += ai / norm;
+					}
+					double qNorm = qr * qr + qi * qi;
+					if (qNorm != 0) {
+						wr = qr / qNorm;
+						wi = -qi / qNorm;
+					}
+				}
+
+				nextRe[k] = zr - wr;
+				nextIm[k] = zi - wi;
+				double limit = tolerance * Math.max(1, zAbs);
+				double noise = ROUNDING_FACTOR * Math.ulp(1.0) * bound;
+				if (!(wr * wr + wi * wi <= limit * limit || pNorm <= noise * noise)) {
+					converged = false;
+				}
+			}
+			return converged;
+		}
+
+		/**
+		 * Računa polumjer kružnice početnih procjena kao geometrijsku sredinu
+		 * apsolutnih vrijednosti nultočaka različitih od nule,
+		 * <b>|a[m] / a[n]|^(1 / (n - m))</b>, gdje je <b>a[m]</b> prvi
+		 * koeficijent različit od nule
+		 *
+		 * @return polumjer kružnice početnih procjena
+		 */
+		private double initialRadius() {
+			int n = coefAbs.length - 1;
+			int m = 0;
+			while (coefAbs[m] == 0) {
+				m++;
+			}
+			return m == n ? 1 : Math.pow(coefAbs[m] / coefAbs[n], 1.0 / (n - m));
+		}
+	}
+
+	/**
+	 * Zadatak koji računa nove procjene za raspon nultočaka. Zadaci se
+	 * stvaraju jednom i ponovno koriste u svakoj iteraciji.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class UpdateTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Postupak kojem zadatak pripada */
+		private final Solver solver;
+
+		/** Prvi indeks */
+		private final int from;
+
+		/** Indeks iza zadnjeg */
+		private final int to;
+
+		/** Jesu li svi popravci zadnje iteracije unutar tolerancije */
+		private boolean converged;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param solver
+		 *            postupak kojem zadatak pripada
+		 * @param from
+		 *            prvi indeks
+		 * @param to
+		 *            indeks iza zadnjeg
+		 */
+		private UpdateTask(Solver solver, int from, int to) {
+			this.solver = solver;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			converged = solver.update(from, to);
+		}
+	}
+
+	/**
+	 * Zadatak koji paralelno rješava raspon polinoma
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class BatchTask extends RecursiveAction {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Polinomi */
+		private final ComplexPolynomial[] polynomials;
+
+		/** Polje u koje se upisuju nultočke */
+		private final ComplexNumber[][] roots;
+
+		/** Prvi indeks */
+		private final int from;
+
+		/** Indeks iza zadnjeg */
+		private final int to;
+
+		/**
+		 * Konstruktor koji inicijalizira zadatak
+		 *
+		 * @param polynomials
+		 *            polinomi
+		 * @param roots
+		 *            polje u koje se upisuju nultočke
+		 * @param from
+		 *            prvi indeks
+		 * @param to
+		 *            indeks iza zadnjeg
+		 */
+		private BatchTask(ComplexPolynomial[] polynomials, ComplexNumber[][] roots, int from, int to) {
+			this.polynomials = polynomials;
+			this.roots = roots;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				roots[from] = findRoots(polynomials[from]);
+				return;
+			}
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BatchTask(polynomials, roots, from, middle),
+						new BatchTask(polynomials, roots, middle, to));
+			}
+		}
+	}
+}
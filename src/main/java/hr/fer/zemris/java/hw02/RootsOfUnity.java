@@ -0,0 +1,124 @@
+package hr.fer.zemris.java.hw02;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Razred koji predstavlja tablicu svih <b>n</b>-tih korijena iz jedinice,
+ * odnosno brojeva <b>w^k = cos(2kPI/n) + i sin(2kPI/n)</b> za
+ * <b>k = 0, ..., n - 1</b>. Tablice se dohvaćaju metodom {@link #of(int)} iz
+ * zajedničke ograničene priručne memorije, pa se trigonometrijske funkcije za
+ * isti <b>n</b> računaju samo jednom. Priručna memorija izbacuje najdulje
+ * nekorištene tablice kada ukupan broj spremljenih korijena prijeđe
+ * {@value #MAX_CACHED_VALUES}. Tablice su nepromjenjive i sigurne za
+ * korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public final class RootsOfUnity {
+
+	/** Najveći ukupni broj korijena u svim tablicama priručne memorije */
+	static final int MAX_CACHED_VALUES = 1 << 20;
+
+	/** Tablice poredane od najdulje nekorištene do zadnje korištene */
+	private static final Map<Integer, RootsOfUnity> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Ukupni broj korijena u svim tablicama priručne memorije */
+	private static int cachedValues;
+
+	/** Realni dijelovi korijena */
+	final double[] re;
+
+	/** Imaginarni dijelovi korijena */
+	final double[] im;
+
+	/**
+	 * Konstruktor koji računa tablicu <b>n</b>-tih korijena iz jedinice
+	 *
+	 * @param n
+	 *            red korijena
+	 */
+	private RootsOfUnity(int n) {
+		this.re = new double[n];
+		this.im = new double[n];
+		for (int k = 0; k < n; k++) {
+			double angle = 2 * Math.PI * k / n;
+			re[k] = Math.cos(angle);
+			im[k] = Math.sin(angle);
+		}
+	}
+
+	/**
+	 * Vraća tablicu <b>n</b>-tih korijena iz jedinice. Tablica se uzima iz
+	 * priručne memorije ili se računa i sprema u nju.
+	 *
+	 * @param n
+	 *            red korijena
+	 * @return tablica <b>n</b>-tih korijena iz jedinice
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>n <= 0</b>
+	 */
+	public static RootsOfUnity of(int n) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("Korijen ne može biti " + n);
+		}
+		synchronized (CACHE) {
+			RootsOfUnity table = CACHE.get(n);
+			if (table != null) {
+				return table;
+			}
+		}
+		// računanje izvan zaključavanja, u najgorem slučaju dvije dretve
+		// izračunaju istu tablicu
+		RootsOfUnity table = new RootsOfUnity(n);
+		if (n > MAX_CACHED_VALUES) {
+			return table;
+		}
+		synchronized (CACHE) {
+			RootsOfUnity previous = CACHE.putIfAbsent(n, table);
+			if (previous != null) {
+				return previous;
+			}
+			cachedValues += n;
+			Iterator<RootsOfUnity> it = CACHE.values().iterator();
+			while (cachedValues > MAX_CACHED_VALUES) {
+				cachedValues -= it.next().order();
+				it.remove();
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Vraća red korijena, odnosno broj korijena u tablici
+	 *
+	 * @return red korijena
+	 */
+	public int order() {
+		return re.length;
+	}
+
+	/**
+	 * Vraća realni dio korijena <b>w^k</b>
+	 *
+	 * @param k
+	 *            redni broj korijena
+	 * @return realni dio korijena
+	 */
+	public double getReal(int k) {
+		return re[k];
+	}
+
+	/**
+	 * Vraća imaginarni dio korijena <b>w^k</b>
+	 *
+	 * @param k
+	 *            redni broj korijena
+	 * @return imaginarni dio korijena
+	 */
+	public double getImaginary(int k) {
+		return im[k];
+	}
+}
@@ -1,6 +1,7 @@
 package hr.fer.zemris.java.hw02.demo;
 
 import hr.fer.zemris.java.hw02.ComplexNumber;
+import hr.fer.zemris.java.hw02.MutableComplexNumber;
 
 
 /**
@@ -21,6 +22,10 @@ public class ComplexDemo {
 		ComplexNumber c3 = c1.add(ComplexNumber.fromMagnitudeAndAngle(2, 1.57)).div(c2).power(3).root(2)[1];
 		System.out.println(c3);
 		System.out.println(new ComplexNumber(2.5,-3).getAngle());
+		// isti izračun bez međurezultata
+		MutableComplexNumber acc = new MutableComplexNumber(c1);
+		acc.add(ComplexNumber.fromMagnitudeAndAngle(2, 1.57)).div(c2).power(3);
+		System.out.println(acc.toComplexNumber().root(2)[1]);
 	}
 
 }
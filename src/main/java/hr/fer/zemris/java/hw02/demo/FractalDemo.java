@@ -0,0 +1,110 @@
+package hr.fer.zemris.java.hw02.demo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+import hr.fer.zemris.java.hw02.ComplexNumber;
+import hr.fer.zemris.java.hw02.FractalRenderer;
+
+/**
+ * Program iscrtava Mandelbrotov (ili Julijin) skup razredom
+ * {@link FractalRenderer} u datoteku formata PGM i ispisuje broj iscrtanih
+ * piksela u sekundi, posebno za iteraciju metodama razreda
+ * {@link ComplexNumber} i za brzi put nad primitivnim vrijednostima.
+ * <p>
+ * Kako prvi način rada ne bi plaćao zagrijavanje virtualnog stroja, oba se
+ * načina najprije jednom iscrtavaju bez mjerenja, a zatim se mjere u
+ * {@value #ROUNDS} krugova u kojima se redoslijed načina izmjenjuje. Za svaki
+ * način ispisuje se najkraće izmjereno vrijeme. Mjerenja se iscrtavaju bez
+ * pisanja u datoteku, a datoteka se zapisuje jednom na kraju. Za točnija
+ * mjerenja potrebno je koristiti JMH.
+ *
+ * @author Davor Češljaš
+ */
+public class FractalDemo {
+
+	/** Broj mjerenih krugova */
+	private static final int ROUNDS = 5;
+
+	/** Izlazni tok koji odbacuje sve zapisano */
+	private static final OutputStream DISCARD = new OutputStream() {
+
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	};
+
+	/**
+	 * Metoda od koje započinje izvođenje programa
+	 *
+	 * @param args
+	 *            putanja izlazne datoteke, a opcionalno i širina, visina,
+	 *            najveći broj iteracija te konstanta Julijinog skupa (npr.
+	 *            "-0.8+0.156i")
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri pisanju datoteke
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Potrebno je predati putanju izlazne datoteke");
+			return;
+		}
+		int width = args.length > 1 ? Integer.parseInt(args[1]) : 1920;
+		int height = args.length > 2 ? Integer.parseInt(args[2]) : 1080;
+		int maxIterations = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+		FractalRenderer renderer = new FractalRenderer(width, height, maxIterations);
+		if (args.length > 4) {
+			renderer.setJuliaConstant(ComplexNumber.parse(args[4]));
+			renderer.setViewport(-1.6, 1.6, -0.9, 0.9);
+		}
+
+		render(renderer, true);
+		render(renderer, false);
+
+		double[] best = { Double.MAX_VALUE, Double.MAX_VALUE };
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < 2; i++) {
+				int mode = (round + i) % 2;
+				best[mode] = Math.min(best[mode], render(renderer, mode == 0));
+			}
+		}
+		for (int mode = 0; mode < 2; mode++) {
+			System.out.printf("%s: %.0f piksela/s (najbolje od %d: %.3f s)%n",
+					mode == 0 ? "ComplexNumber" : "primitivno", renderer.getPixelCount() / best[mode], ROUNDS,
+					best[mode]);
+		}
+
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(args[0])))) {
+			renderer.render(out, true, ForkJoinPool.commonPool());
+		}
+	}
+
+	/**
+	 * Iscrtava skup bez pisanja u datoteku i vraća trajanje iscrtavanja
+	 *
+	 * @param renderer
+	 *            primjerak koji iscrtava skup
+	 * @param useComplexNumbers
+	 *            iterira li se metodama razreda {@link ComplexNumber}
+	 * @return trajanje iscrtavanja u sekundama
+	 *
+	 * @throws IOException
+	 *             ukoliko dođe do pogreške pri pisanju
+	 */
+	private static double render(FractalRenderer renderer, boolean useComplexNumbers) throws IOException {
+		renderer.setUseComplexNumbers(useComplexNumbers);
+		long start = System.nanoTime();
+		renderer.render(DISCARD, true, ForkJoinPool.commonPool());
+		return (System.nanoTime() - start) / 1e9;
+	}
+}
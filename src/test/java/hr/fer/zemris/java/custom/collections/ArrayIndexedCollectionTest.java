@@ -1,6 +1,13 @@
 package hr.fer.zemris.java.custom.collections;
 import static org.junit.Assert.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.AfterClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -11,6 +18,13 @@ public class ArrayIndexedCollectionTest {
 
 	@Rule
 	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
 	
 	@Test
 	public void dodajNull() {
@@ -137,4 +151,203 @@ public class ArrayIndexedCollectionTest {
 		exception.expect(IndexOutOfBoundsException.class);
 		collection.remove(10);
 	}
+
+	@Test
+	public void umetanjeKolekcijeNaSredinu() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(2);
+		ArrayIndexedCollection other = new ArrayIndexedCollection(2);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i);
+			other.add(10 + i);
+		}
+		collection.insertAll(other, 2);
+		assertArrayEquals(new Object[] {0, 1, 10, 11, 12, 13, 14, 2, 3, 4}, collection.toArray());
+	}
+	
+	@Test
+	public void umetanjeKolekcijeUSamuSebe() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(1);
+		collection.add(1);
+		collection.add(2);
+		collection.insertAll(collection, 1);
+		assertArrayEquals(new Object[] {1, 1, 2, 2}, collection.toArray());
+	}
+	
+	@Test
+	public void umetanjeKolekcijeSaNullNijeUspjelo() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(2);
+		collection.add(1);
+		Collection other = new Collection() {
+			@Override
+			public Object[] toArray() {
+				return new Object[] {2, null};
+			}
+		};
+		try {
+			collection.insertAll(other, 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, collection.size());
+		}
+	}
+	
+	@Test
+	public void dodavanjeDijelaPolja() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(1);
+		collection.add(0);
+		collection.addAll(new Object[] {1, 2, 3, 4, 5}, 1, 3);
+		assertArrayEquals(new Object[] {0, 2, 3, 4}, collection.toArray());
+	}
+	
+	@Test
+	public void dodavanjeDijelaPoljaIzvanGranica() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(1);
+		exception.expect(IndexOutOfBoundsException.class);
+		collection.addAll(new Object[] {1, 2, 3}, 2, 2);
+	}
+	
+	@Test
+	public void dodavanjeDijelaPoljaSaNull() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(1);
+		exception.expect(IllegalArgumentException.class);
+		collection.addAll(new Object[] {1, null, 3}, 0, 3);
+	}
+	
+	@Test
+	public void brisanjeRasponaUspjelo() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(2);
+		for(int i = 0; i < 6; i++) {
+			collection.add(i);
+		}
+		collection.removeRange(1, 4);
+		assertArrayEquals(new Object[] {0, 4, 5}, collection.toArray());
+		collection.add(6);
+		assertEquals(6, collection.get(3));
+	}
+	
+	@Test
+	public void brisanjeRasponaNijeUspjelo() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(2);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i);
+		}
+		exception.expect(IndexOutOfBoundsException.class);
+		collection.removeRange(3, 6);
+	}
+	
+	@Test
+	public void indeksiranoPretrazivanjeSaDuplikatima() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(2);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i % 3);
+		}
+		collection.setHashIndexed(true);
+		assertTrue(collection.isHashIndexed());
+		assertEquals(1, collection.indexOf(1));
+		collection.remove(1);
+		assertEquals(3, collection.indexOf(1));
+		collection.insert(1, 0);
+		assertEquals(0, collection.indexOf(1));
+		assertTrue(collection.remove((Object) 1));
+		assertTrue(collection.remove((Object) 1));
+		assertFalse(collection.contains(1));
+		assertEquals(-1, collection.indexOf(7));
+	}
+	
+	@Test
+	public void indeksiranoOdgovaraLinearnomPretrazivanju() {
+		ArrayIndexedCollection indexed = new ArrayIndexedCollection(1);
+		ArrayIndexedCollection plain = new ArrayIndexedCollection(1);
+		indexed.setHashIndexed(true);
+		Random random = new Random(42);
+		for(int step = 0; step < 5000; step++) {
+			int value = random.nextInt(50);
+			int operation = random.nextInt(6);
+			if (operation == 0 && plain.size() > 0) {
+				int position = random.nextInt(plain.size());
+				indexed.remove(position);
+				plain.remove(position);
+			} else if (operation == 1) {
+				assertEquals(plain.remove((Object) value), indexed.remove((Object) value));
+			} else if (operation == 2 && plain.size() > 3) {
+				indexed.removeRange(1, 3);
+				plain.removeRange(1, 3);
+			} else if (operation == 3) {
+				int position = random.nextInt(plain.size() + 1);
+				indexed.insert(value, position);
+				plain.insert(value, position);
+			} else {
+				indexed.add(value);
+				plain.add(value);
+			}
+			assertEquals(plain.indexOf(value), indexed.indexOf(value));
+		}
+		assertArrayEquals(plain.toArray(), indexed.toArray());
+		for(int value = 0; value < 50; value++) {
+			assertEquals(plain.indexOf(value), indexed.indexOf(value));
+		}
+	}
+	
+	@Test
+	public void dohvacanjeNakonPovecanjaPolja() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection(1);
+		for(int i = 0; i < 10; i++) {
+			collection.add(i);
+		}
+		ElementsGetter getter = collection.createElementsGetter();
+		for(int i = 0; i < 10; i++) {
+			assertEquals(i, getter.getNextElement());
+		}
+		assertFalse(getter.hasNextElement());
+		exception.expect(NoSuchElementException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void dohvacanjeNakonUmetanja() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection();
+		collection.add("A");
+		collection.add("B");
+		ElementsGetter getter = collection.createElementsGetter();
+		assertEquals("A", getter.getNextElement());
+		collection.insert("C", 0);
+		exception.expect(ConcurrentModificationException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void dohvacanjeNakonBrisanjaRaspona() {
+		ArrayIndexedCollection collection = new ArrayIndexedCollection();
+		collection.addAll(new Object[] {1, 2, 3, 4}, 0, 4);
+		ElementsGetter getter = collection.createElementsGetter();
+		collection.removeRange(1, 3);
+		exception.expect(ConcurrentModificationException.class);
+		getter.hasNextElement();
+	}
+	
+	@Test
+	public void paralelnaObradaDijeliRasponPolja() {
+		// 7 i 8 su granice slijedne obrade, a 1001 se ne dijeli na jednake polovice
+		for(int size : new int[] {7, 8, 1001}) {
+			ArrayIndexedCollection collection = new ArrayIndexedCollection();
+			collection.setParallelThreshold(7);
+			for(int i = 0; i < size; i++) {
+				collection.add(i);
+			}
+			provjeriDaJeSvakiElementObradenJednom(collection, size);
+		}
+	}
+
+	private static void provjeriDaJeSvakiElementObradenJednom(Collection collection, int size) {
+		AtomicIntegerArray counts = new AtomicIntegerArray(size);
+		collection.parallelForEach(new Processor() {
+			@Override
+			public void process(Object value) {
+				counts.incrementAndGet((Integer) value);
+			}
+		}, pool);
+		for(int i = 0; i < size; i++) {
+			assertEquals(1, counts.get(i));
+		}
+	}
 }
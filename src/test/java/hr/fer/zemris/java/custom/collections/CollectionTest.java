@@ -0,0 +1,44 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CollectionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+	
+	@Test
+	public void predodredeniDohvatElemenata() {
+		Collection collection = new Collection() {
+			@Override
+			public int size() {
+				return 3;
+			}
+			
+			@Override
+			public void forEach(Processor processor) {
+				for(int i = 0; i < 3; i++) {
+					processor.process(i);
+				}
+			}
+		};
+		ElementsGetter getter = collection.createElementsGetter();
+		for(int i = 0; i < 3; i++) {
+			assertTrue(getter.hasNextElement());
+			assertEquals(i, getter.getNextElement());
+		}
+		assertFalse(getter.hasNextElement());
+		exception.expect(NoSuchElementException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void praznaKolekcija() {
+		assertFalse(new Collection().createElementsGetter().hasNextElement());
+	}
+}
@@ -0,0 +1,87 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ConcurrentArrayIndexedCollectionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+	
+	@Test
+	public void dodajNull() {
+		exception.expect(IllegalArgumentException.class);
+		ConcurrentArrayIndexedCollection collection = new ConcurrentArrayIndexedCollection(1);
+		collection.add(null);
+	}
+	
+	@Test
+	public void umetanjeIBrisanje() {
+		ConcurrentArrayIndexedCollection collection = new ConcurrentArrayIndexedCollection(1);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i);
+		}
+		collection.insert(6, 2);
+		collection.remove(0);
+		assertTrue(collection.remove((Object) 3));
+		assertArrayEquals(new Object[] {1, 6, 2, 4}, collection.toArray());
+		assertEquals(2, collection.indexOf(2));
+		assertFalse(collection.contains(3));
+	}
+	
+	@Test
+	public void dohvacanjeIznadNajvecegIndexa() {
+		ConcurrentArrayIndexedCollection collection = new ConcurrentArrayIndexedCollection(1);
+		collection.add("Test");
+		
+		exception.expect(IndexOutOfBoundsException.class);
+		collection.get(1);
+	}
+	
+	@Test
+	public void obradaSmijeMijenjatiKolekciju() {
+		ConcurrentArrayIndexedCollection collection = new ConcurrentArrayIndexedCollection();
+		collection.add(1);
+		collection.add(2);
+		collection.forEach(new Processor() {
+			@Override
+			public void process(Object value) {
+				collection.add(value);
+			}
+		});
+		assertArrayEquals(new Object[] {1, 2, 1, 2}, collection.toArray());
+	}
+	
+	@Test
+	public void istovremenoCitanjeIPisanje() throws InterruptedException {
+		ConcurrentArrayIndexedCollection collection = new ConcurrentArrayIndexedCollection();
+		collection.add(-1);
+		AtomicInteger errors = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++) {
+			boolean writer = t == 0;
+			threads[t] = new Thread(() -> {
+				for(int i = 0; i < 20000; i++) {
+					if (writer) {
+						collection.add(i);
+						collection.remove(1);
+					} else {
+						if (!collection.get(0).equals(-1) || !collection.contains(-1)) {
+							errors.incrementAndGet();
+						}
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.get());
+		assertEquals(1, collection.size());
+	}
+}
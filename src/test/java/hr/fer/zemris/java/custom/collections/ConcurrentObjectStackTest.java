@@ -0,0 +1,73 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ConcurrentObjectStackTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+	
+	@Test
+	public void stogVracaZadnjuVrijednost() {
+		ConcurrentObjectStack stack = new ConcurrentObjectStack();
+		stack.push("a");
+		stack.push("b");
+		assertEquals(2, stack.size());
+		assertEquals("b", stack.pop());
+		assertEquals("a", stack.peek());
+		assertEquals(1, stack.size());
+	}
+	
+	@Test
+	public void dodajNull() {
+		ConcurrentObjectStack stack = new ConcurrentObjectStack();
+		exception.expect(IllegalArgumentException.class);
+		stack.push(null);
+	}
+	
+	@Test
+	public void prazanStog() {
+		ConcurrentObjectStack stack = new ConcurrentObjectStack();
+		stack.push(1);
+		stack.clear();
+		assertTrue(stack.isEmpty());
+		exception.expect(EmptyStackException.class);
+		stack.pop();
+	}
+	
+	@Test
+	public void istovremenoDodavanjeISkidanje() throws InterruptedException {
+		provjeriIstovremeniRad(new ConcurrentObjectStack());
+	}
+	
+	@Test
+	public void istovremenoDodavanjeISkidanjeSEliminacijom() throws InterruptedException {
+		provjeriIstovremeniRad(new ConcurrentObjectStack(4));
+	}
+	
+	private static void provjeriIstovremeniRad(ConcurrentObjectStack stack) throws InterruptedException {
+		int threadsCount = 8;
+		int perThread = 10000;
+		AtomicLong popped = new AtomicLong();
+		Thread[] threads = new Thread[threadsCount];
+		for(int t = 0; t < threadsCount; t++) {
+			threads[t] = new Thread(() -> {
+				for(int i = 1; i <= perThread; i++) {
+					stack.push(i);
+					popped.addAndGet((Integer) stack.pop());
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(stack.isEmpty());
+		assertEquals((long) threadsCount * perThread * (perThread + 1) / 2, popped.get());
+	}
+}
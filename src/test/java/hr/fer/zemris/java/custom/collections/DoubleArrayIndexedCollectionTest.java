@@ -0,0 +1,58 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class DoubleArrayIndexedCollectionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+	
+	@Test
+	public void umetanjeIBrisanje() {
+		DoubleArrayIndexedCollection collection = new DoubleArrayIndexedCollection(1);
+		collection.add(1.5);
+		collection.add(3.5);
+		collection.insert(2.5, 1);
+		collection.remove(0);
+		assertArrayEquals(new double[] {2.5, 3.5}, collection.toArray(), 0);
+	}
+	
+	@Test
+	public void pretrazivanjeKaoDoubleEquals() {
+		DoubleArrayIndexedCollection collection = new DoubleArrayIndexedCollection();
+		collection.add(0.0);
+		collection.add(Double.NaN);
+		assertEquals(1, collection.indexOf(Double.NaN));
+		assertFalse(collection.contains(-0.0));
+		assertTrue(collection.removeValue(0.0));
+		assertEquals(1, collection.size());
+	}
+	
+	@Test
+	public void umetanjeNijeUspjelo() {
+		DoubleArrayIndexedCollection collection = new DoubleArrayIndexedCollection();
+		exception.expect(IllegalArgumentException.class);
+		collection.insert(1, 1);
+	}
+	
+	@Test
+	public void stogVracaZadnjuVrijednost() {
+		DoubleStack stack = new DoubleStack();
+		stack.push(1.25);
+		stack.push(2.5);
+		assertEquals(2.5, stack.pop(), 0);
+		assertEquals(1.25, stack.peek(), 0);
+		stack.clear();
+		assertTrue(stack.isEmpty());
+	}
+	
+	@Test
+	public void prazanStog() {
+		DoubleStack stack = new DoubleStack();
+		exception.expect(EmptyStackException.class);
+		stack.peek();
+	}
+}
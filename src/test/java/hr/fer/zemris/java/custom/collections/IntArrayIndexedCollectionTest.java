@@ -0,0 +1,97 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class IntArrayIndexedCollectionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+	
+	@Test
+	public void realokacijaPoljaUspjela() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection(1);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i);
+		}
+		assertEquals(5, collection.size());
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4}, collection.toArray());
+	}
+	
+	@Test
+	public void dohvacanjeIznadNajvecegIndexa() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection(1);
+		collection.add(7);
+		
+		exception.expect(IndexOutOfBoundsException.class);
+		collection.get(1);
+	}
+	
+	@Test
+	public void umetanjeUspjelo() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection(2);
+		for(int i = 0; i < 5; i++) {
+			collection.add(i);
+		}
+		collection.insert(6, 2);
+		assertArrayEquals(new int[] {0, 1, 6, 2, 3, 4}, collection.toArray());
+	}
+	
+	@Test
+	public void brisanjePoPozicijiIVrijednosti() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection(2);
+		for(int i = 10; i < 15; i++) {
+			collection.add(i);
+		}
+		collection.remove(0);
+		assertTrue(collection.removeValue(13));
+		assertFalse(collection.removeValue(0));
+		assertArrayEquals(new int[] {11, 12, 14}, collection.toArray());
+		assertEquals(-1, collection.indexOf(13));
+		assertTrue(collection.contains(14));
+	}
+	
+	@Test
+	public void dodavanjeSameSebe() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection(1);
+		collection.add(1);
+		collection.add(2);
+		collection.addAll(collection);
+		assertArrayEquals(new int[] {1, 2, 1, 2}, collection.toArray());
+	}
+	
+	@Test
+	public void obilazakRedom() {
+		IntArrayIndexedCollection collection = new IntArrayIndexedCollection();
+		for(int i = 1; i <= 4; i++) {
+			collection.add(i);
+		}
+		int[] sum = new int[1];
+		collection.forEach(new IntProcessor() {
+			@Override
+			public void process(int value) {
+				sum[0] = sum[0] * 10 + value;
+			}
+		});
+		assertEquals(1234, sum[0]);
+	}
+	
+	@Test
+	public void stogVracaZadnjuVrijednost() {
+		IntStack stack = new IntStack();
+		stack.push(1);
+		stack.push(2);
+		assertEquals(2, stack.pop());
+		assertEquals(1, stack.peek());
+		assertEquals(1, stack.size());
+	}
+	
+	@Test
+	public void prazanStog() {
+		IntStack stack = new IntStack();
+		exception.expect(EmptyStackException.class);
+		stack.pop();
+	}
+}
@@ -1,6 +1,13 @@
 package hr.fer.zemris.java.custom.collections;
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.AfterClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -10,6 +17,13 @@ import hr.fer.zemris.java.custom.collections.LinkedListIndexedCollection;
 public class LinkedListIndexedCollectionTest {
 	@Rule
 	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
 	
 	@Test
 	public void dodajNull() {
@@ -162,4 +176,123 @@ public class LinkedListIndexedCollectionTest {
 		exception.expect(IndexOutOfBoundsException.class);
 		collection.remove(10);
 	}
+	
+	@Test
+	public void dohvacanjeNakonPromjene() {
+		LinkedListIndexedCollection collection = new LinkedListIndexedCollection();
+		for(int i = 0; i < 10; i++) {
+			collection.add(i);
+		}
+		for(int i = 0; i < 10; i++) {
+			assertEquals(i, collection.get(i));
+		}
+		assertEquals(5, collection.get(5));
+		collection.remove(2);
+		assertEquals(6, collection.get(5));
+		collection.insert(42, 4);
+		assertEquals(42, collection.get(4));
+		assertEquals(5, collection.get(5));
+		assertEquals(3, collection.get(2));
+		collection.clear();
+		collection.add("Test");
+		assertEquals("Test", collection.get(0));
+	}
+	
+	@Test
+	public void dohvacanjeNeovisnoOZapamcenomCvoru() {
+		LinkedListIndexedCollection collection = new LinkedListIndexedCollection();
+		for(int i = 0; i < 10; i += 2) {
+			collection.add(i);
+		}
+		for(int i = 1; i < 10; i += 2) {
+			collection.insert(i, i);
+		}
+		assertEquals(7, collection.get(7));
+		ElementsGetter first = collection.createElementsGetter();
+		ElementsGetter second = collection.createElementsGetter();
+		for(int i = 0; i < 10; i++) {
+			assertEquals(i, first.getNextElement());
+			if (i % 2 == 0) {
+				assertEquals(i / 2, second.getNextElement());
+			}
+		}
+		assertFalse(first.hasNextElement());
+		assertTrue(second.hasNextElement());
+	}
+	
+	@Test
+	public void dohvacanjeNakonBrisanjaPoVrijednosti() {
+		LinkedListIndexedCollection collection = new LinkedListIndexedCollection();
+		collection.add("A");
+		collection.add("B");
+		ElementsGetter getter = collection.createElementsGetter();
+		assertEquals("A", getter.getNextElement());
+		collection.remove("B");
+		exception.expect(ConcurrentModificationException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void dohvacanjeIzPrazneListe() {
+		ElementsGetter getter = new LinkedListIndexedCollection().createElementsGetter();
+		assertFalse(getter.hasNextElement());
+		exception.expect(NoSuchElementException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void istovremenoDohvacanje() throws InterruptedException {
+		LinkedListIndexedCollection collection = new LinkedListIndexedCollection();
+		for(int i = 0; i < 1000; i++) {
+			collection.add(i);
+		}
+		AtomicInteger errors = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++) {
+			int stride = 2 * t + 7;
+			threads[t] = new Thread(() -> {
+				for(int i = 0; i < 100_000; i++) {
+					int index = i * stride % 1000;
+					try {
+						if(!collection.get(index).equals(index)) {
+							errors.incrementAndGet();
+						}
+					} catch(RuntimeException e) {
+						errors.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.get());
+	}
+	
+	@Test
+	public void paralelnaObradaUlancanihSkupina() {
+		// 30 je višekratnik praga, pa zadnju skupinu obrađuje SplitTask, a 35 ostavlja nepunu skupinu
+		for(int size : new int[] {10, 11, 30, 35}) {
+			LinkedListIndexedCollection collection = new LinkedListIndexedCollection();
+			collection.setParallelThreshold(10);
+			for(int i = 0; i < size; i++) {
+				collection.add(i);
+			}
+			provjeriDaJeSvakiElementObradenJednom(collection, size);
+		}
+	}
+
+	private static void provjeriDaJeSvakiElementObradenJednom(Collection collection, int size) {
+		AtomicIntegerArray counts = new AtomicIntegerArray(size);
+		collection.parallelForEach(new Processor() {
+			@Override
+			public void process(Object value) {
+				counts.incrementAndGet((Integer) value);
+			}
+		}, pool);
+		for(int i = 0; i < size; i++) {
+			assertEquals(1, counts.get(i));
+		}
+	}
 }
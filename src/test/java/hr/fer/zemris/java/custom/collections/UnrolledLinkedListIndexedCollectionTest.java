@@ -0,0 +1,202 @@
+package hr.fer.zemris.java.custom.collections;
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class UnrolledLinkedListIndexedCollectionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
+	
+	@Test
+	public void dodajNull() {
+		exception.expect(IllegalArgumentException.class);
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection();
+		collection.add(null);
+	}
+	
+	@Test
+	public void premaliKapacitetCvora() {
+		exception.expect(IllegalArgumentException.class);
+		new UnrolledLinkedListIndexedCollection(1);
+	}
+	
+	@Test
+	public void dohvacanjeIznadNajvecegIndexa() {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection();
+		collection.add("Test");
+		
+		exception.expect(IndexOutOfBoundsException.class);
+		collection.get(1);
+	}
+	
+	@Test
+	public void umetanjeNaPocetakIKraj() {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(2);
+		for(int i = 0; i < 5; i++) {
+			collection.insert(-i, 0);
+			collection.add(i + 1);
+		}
+		assertArrayEquals(new Object[] {-4, -3, -2, -1, 0, 1, 2, 3, 4, 5}, collection.toArray());
+		assertEquals(-4, collection.get(0));
+		assertEquals(5, collection.get(9));
+	}
+	
+	@Test
+	public void odgovaraUlancanojListi() {
+		UnrolledLinkedListIndexedCollection unrolled = new UnrolledLinkedListIndexedCollection(4);
+		LinkedListIndexedCollection linked = new LinkedListIndexedCollection();
+		Random random = new Random(42);
+		for(int step = 0; step < 5000; step++) {
+			int value = random.nextInt(50);
+			int operation = random.nextInt(5);
+			if (operation == 0 && linked.size() > 0) {
+				int position = random.nextInt(linked.size());
+				unrolled.remove(position);
+				linked.remove(position);
+			} else if (operation == 1) {
+				assertEquals(linked.remove((Object) value), unrolled.remove((Object) value));
+			} else if (operation == 2) {
+				int position = random.nextInt(linked.size() + 1);
+				unrolled.insert(value, position);
+				linked.insert(value, position);
+			} else {
+				unrolled.add(value);
+				linked.add(value);
+			}
+			assertEquals(linked.size(), unrolled.size());
+			assertEquals(linked.indexOf(value), unrolled.indexOf(value));
+		}
+		assertArrayEquals(linked.toArray(), unrolled.toArray());
+		for(int i = 0; i < linked.size(); i++) {
+			assertEquals(linked.get(i), unrolled.get(i));
+		}
+	}
+	
+	@Test
+	public void brisanjeSvihElemenata() {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(3);
+		for(int i = 0; i < 10; i++) {
+			collection.add(i);
+		}
+		for(int i = 0; i < 10; i++) {
+			collection.remove(0);
+		}
+		assertTrue(collection.isEmpty());
+		collection.add("Test");
+		assertEquals("Test", collection.get(0));
+	}
+	
+	@Test
+	public void dohvacanjePrekoGranicaCvorova() {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(3);
+		for(int i = 0; i < 20; i++) {
+			collection.add(i);
+		}
+		for(int i = 0; i < 5; i++) {
+			collection.insert(-i, 2 * i + 1);
+			collection.remove(3 * i + 2);
+		}
+		collection.remove(0);
+		Object[] expected = collection.toArray();
+		ElementsGetter getter = collection.createElementsGetter();
+		for(Object value : expected) {
+			assertTrue(getter.hasNextElement());
+			assertEquals(value, getter.getNextElement());
+		}
+		assertFalse(getter.hasNextElement());
+		exception.expect(NoSuchElementException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void dohvacanjeNakonUmetanjaUPuniCvor() {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(2);
+		collection.add("A");
+		collection.add("B");
+		ElementsGetter getter = collection.createElementsGetter();
+		assertEquals("A", getter.getNextElement());
+		collection.insert("C", 1);
+		exception.expect(ConcurrentModificationException.class);
+		getter.getNextElement();
+	}
+	
+	@Test
+	public void istovremenoDohvacanjeIzRazlicitihCvorova() throws InterruptedException {
+		UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(5);
+		for(int i = 0; i < 997; i++) {
+			collection.add(i);
+		}
+		AtomicInteger errors = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++) {
+			int first = t * 249;
+			threads[t] = new Thread(() -> {
+				for(int i = 0; i < 100_000; i++) {
+					int index = (first + i) % 997;
+					try {
+						if(!collection.get(index).equals(index)) {
+							errors.incrementAndGet();
+						}
+					} catch(RuntimeException e) {
+						errors.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.get());
+	}
+	
+	@Test
+	public void paralelnaObradaSkupinaCvorova() {
+		for(int size : new int[] {7, 8, 29, 101}) {
+			// prag 7 nije višekratnik kapaciteta čvora, a umetanjem i brisanjem nastaju nepuni čvorovi
+			UnrolledLinkedListIndexedCollection collection = new UnrolledLinkedListIndexedCollection(4);
+			for(int i = 0; i < size; i++) {
+				collection.add(i);
+			}
+			for(int i = size - 1; i > 0; i -= 3) {
+				collection.insert(-1, i);
+			}
+			while(collection.remove(Integer.valueOf(-1))) {
+			}
+			assertEquals(size, collection.size());
+			collection.setParallelThreshold(7);
+			provjeriDaJeSvakiElementObradenJednom(collection, size);
+		}
+	}
+
+	private static void provjeriDaJeSvakiElementObradenJednom(Collection collection, int size) {
+		AtomicIntegerArray counts = new AtomicIntegerArray(size);
+		collection.parallelForEach(new Processor() {
+			@Override
+			public void process(Object value) {
+				counts.incrementAndGet((Integer) value);
+			}
+		}, pool);
+		for(int i = 0; i < size; i++) {
+			assertEquals(1, counts.get(i));
+		}
+	}
+}
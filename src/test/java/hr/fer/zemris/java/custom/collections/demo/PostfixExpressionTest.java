@@ -0,0 +1,74 @@
+package hr.fer.zemris.java.custom.collections.demo;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PostfixExpressionTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void izrazBezVarijabli() {
+		assertEquals(-5, PostfixExpression.compile("8 -2 / -1 *  4 %  -5 +").evaluate());
+		assertEquals(42, PostfixExpression.compile("  42 ").evaluate());
+	}
+
+	@Test
+	public void izrazSVarijablama() {
+		PostfixExpression expression = PostfixExpression.compile("x y + x * 3 -");
+		assertArrayEquals(new String[] { "x", "y" }, expression.getVariables());
+		assertEquals(1, expression.indexOf("y"));
+		assertEquals(-1, expression.indexOf("z"));
+		for (int x = -10; x <= 10; x++) {
+			for (int y = -10; y <= 10; y++) {
+				assertEquals((x + y) * x - 3, expression.evaluate(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void premaloBrojeva() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("premalo brojeva");
+		PostfixExpression.compile("1 + 2");
+	}
+
+	@Test
+	public void premaloOperatora() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("premalo operatora");
+		PostfixExpression.compile("1 2 3 +");
+	}
+
+	@Test
+	public void prazanIzraz() {
+		exception.expect(IllegalArgumentException.class);
+		PostfixExpression.compile("   ");
+	}
+
+	@Test
+	public void neispravnaOperacija() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("'^' nije valjana operacija");
+		PostfixExpression.compile("2 3 ^");
+	}
+
+	@Test
+	public void dijeljenjeNulom() {
+		PostfixExpression expression = PostfixExpression.compile("10 d /");
+		assertEquals(5, expression.evaluate(2));
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Djelitelj je jednak 0!");
+		expression.evaluate(0);
+	}
+
+	@Test
+	public void pogresanBrojVrijednosti() {
+		exception.expect(IllegalArgumentException.class);
+		PostfixExpression.compile("a b *").evaluate(1);
+	}
+}
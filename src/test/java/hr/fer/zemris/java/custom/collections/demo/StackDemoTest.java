@@ -0,0 +1,49 @@
+package hr.fer.zemris.java.custom.collections.demo;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import hr.fer.zemris.java.custom.collections.IntStack;
+
+public class StackDemoTest {
+
+	@Test
+	public void racunanjeIzraza() {
+		IntStack stack = new IntStack();
+		assertEquals(14, StackDemo.evaluate(stack, " 3 4 +  2 * "));
+		assertEquals(-2147483648, StackDemo.evaluate(stack, "-2147483648"));
+		assertEquals(1, StackDemo.evaluate(stack, "+7 -3 %"));
+	}
+
+	@Test
+	public void skupniNacinRada() throws IOException {
+		String input = "1 2 +\n\n5 0 /\n1 +\n1 2\n8 -2 /\n";
+		StringWriter output = new StringWriter();
+		long count = StackDemo.evaluateAll(new BufferedReader(new StringReader(input)), output, false);
+		String n = System.lineSeparator();
+		assertEquals(5, count);
+		assertEquals("3" + n
+				+ "Pogreška u retku 3: Djelitelj je jednak 0!" + n
+				+ "Pogreška u retku 4: Unijeli ste prevelik broj operacija, a premalo brojeva" + n
+				+ "Pogreška u retku 5: Unijeli ste preveliki broj brojeva, a premalo operatora" + n
+				+ "-4" + n, output.toString());
+	}
+
+	@Test
+	public void skupniNacinRadaSKompleksnimBrojevima() throws IOException {
+		String input = "1+i 2 ^\n1 0 /\n-4 2 root\n-1 -1 *\n";
+		StringWriter output = new StringWriter();
+		StackDemo.evaluateAll(new BufferedReader(new StringReader(input)), output, true);
+		String n = System.lineSeparator();
+		assertEquals("0.0+2.0i" + n
+				+ "Pogreška u retku 2: Dijeljenje s 0!" + n
+				+ "1.2246467991473532E-16+2.0i" + n
+				+ "1.0-0.0i" + n, output.toString());
+	}
+}
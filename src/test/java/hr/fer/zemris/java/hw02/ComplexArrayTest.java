@@ -0,0 +1,64 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexArrayTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void novoPoljeJeNula() {
+		ComplexArray array = new ComplexArray(3);
+		assertEquals(3, array.length());
+		assertEquals(new ComplexNumber(0, 0), array.get(2));
+	}
+
+	@Test
+	public void postavljanjeIDohvacanje() {
+		ComplexArray array = new ComplexArray(10, 2);
+		for (int i = 0; i < 10; i++) {
+			array.set(i, i, -i);
+		}
+		array.set(5, new ComplexNumber(1.5, 2.5));
+		assertEquals(new ComplexNumber(1.5, 2.5), array.get(5));
+		assertEquals(9, array.getReal(9), 0);
+		assertEquals(-7, array.getImaginary(7), 0);
+
+		double[] pair = new double[3];
+		array.get(3, pair, 1);
+		assertArrayEquals(new double[] { 0, 3, -3 }, pair, 0);
+	}
+
+	@Test
+	public void kopiranjePrekoSegmenata() {
+		ComplexArray array = new ComplexArray(10, 2);
+		double[] re = { 1, 2, 3, 4, 5, 6 };
+		double[] im = { -1, -2, -3, -4, -5, -6 };
+		array.set(2, re, im, 1, 5);
+
+		double[] realParts = new double[7];
+		double[] imaginaryParts = new double[7];
+		array.get(1, realParts, imaginaryParts, 0, 7);
+		assertArrayEquals(new double[] { 0, 2, 3, 4, 5, 6, 0 }, realParts, 0);
+		assertArrayEquals(new double[] { 0, -2, -3, -4, -5, -6, 0 }, imaginaryParts, 0);
+	}
+
+	@Test
+	public void dohvacanjeIzvanGranica() {
+		ComplexArray array = new ComplexArray(4);
+		exception.expect(IndexOutOfBoundsException.class);
+		array.get(4);
+	}
+
+	@Test
+	public void kopiranjeIzvanGranica() {
+		ComplexArray array = new ComplexArray(4);
+		exception.expect(IndexOutOfBoundsException.class);
+		array.get(2, new double[3], new double[3], 0, 3);
+	}
+}
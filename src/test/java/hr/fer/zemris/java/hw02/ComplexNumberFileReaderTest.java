@@ -0,0 +1,107 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class ComplexNumberFileReaderTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
+
+	private File write(String content) throws IOException {
+		File file = folder.newFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+		return file;
+	}
+
+	@Test
+	public void citanjeUBlokovima() throws IOException {
+		File file = write("1+2i\r\n\n  -i\n3.5\n   \n-2.71-3.15i");
+		List<ComplexNumber> numbers = new ArrayList<>();
+		try (ComplexNumberFileReader reader = new ComplexNumberFileReader(file.toPath(), 16, 2)) {
+			reader.read((re, im, count) -> {
+				assertTrue(count <= 2);
+				for (int i = 0; i < count; i++) {
+					numbers.add(new ComplexNumber(re[i], im[i]));
+				}
+			});
+		}
+		assertEquals(4, numbers.size());
+		assertEquals(new ComplexNumber(1, 2), numbers.get(0));
+		assertEquals(new ComplexNumber(0, -1), numbers.get(1));
+		assertEquals(new ComplexNumber(3.5, 0), numbers.get(2));
+		assertEquals(new ComplexNumber(-2.71, -3.15), numbers.get(3));
+	}
+
+	@Test
+	public void paralelnoCitanjeCijeleDatoteke() throws IOException {
+		Random random = new Random(7);
+		StringBuilder sb = new StringBuilder();
+		int lines = 5000;
+		double[] re = new double[lines];
+		double[] im = new double[lines];
+		for (int i = 0; i < lines; i++) {
+			re[i] = random.nextInt(20000) / 100.0 - 100;
+			im[i] = random.nextInt(20000) / 100.0 - 100;
+			sb.append(re[i]).append(im[i] < 0 ? "" : "+").append(im[i]).append("i\n");
+		}
+		File file = write(sb.toString());
+
+		try (ComplexNumberFileReader reader = new ComplexNumberFileReader(file.toPath(), 64, 100)) {
+			ComplexArray array = reader.readAll(pool);
+			assertEquals(lines, array.length());
+			for (int i = 0; i < lines; i++) {
+				assertEquals(re[i], array.getReal(i), 0);
+				assertEquals(im[i], array.getImaginary(i), 0);
+			}
+		}
+	}
+
+	@Test
+	public void podjelaNaPocetkuRetka() throws IOException {
+		File file = write("1\n22\n333\n4444\n");
+		try (ComplexNumberFileReader reader = new ComplexNumberFileReader(file.toPath())) {
+			long[] bounds = reader.split(3);
+			long total = 0;
+			for (int i = 0; i < 3; i++) {
+				assertTrue(bounds[i] == 0 || Files.readAllBytes(file.toPath())[(int) bounds[i] - 1] == '\n');
+				total += reader.countLines(bounds[i], bounds[i + 1]);
+			}
+			assertEquals(4, total);
+		}
+	}
+
+	@Test
+	public void neispravanRedak() throws IOException {
+		File file = write("1+2i\n3x\n");
+		try (ComplexNumberFileReader reader = new ComplexNumberFileReader(file.toPath())) {
+			exception.expect(ComplexNumberFormatException.class);
+			reader.read((re, im, count) -> {
+			});
+		}
+	}
+}
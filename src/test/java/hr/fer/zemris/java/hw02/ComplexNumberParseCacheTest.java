@@ -0,0 +1,85 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexNumberParseCacheTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void pogodciIPromasaji() {
+		ComplexNumberParseCache cache = new ComplexNumberParseCache(10);
+		ComplexNumber first = cache.parse("1+0i");
+		assertSame(first, cache.parse("1+0i"));
+		assertEquals(new ComplexNumber(0, 1), cache.parse("i"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1.0 / 3, cache.getHitRate(), 1e-12);
+	}
+
+	@Test
+	public void ogranicenKapacitet() {
+		ComplexNumberParseCache cache = new ComplexNumberParseCache(32);
+		for (int i = 0; i < 1000; i++) {
+			cache.parse(i + "i");
+		}
+		assertTrue(cache.size() <= 32);
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	@Test
+	public void najduljeNekoristeniSeIzbacuje() {
+		ComplexNumberParseCache cache = new ComplexNumberParseCache(2);
+		cache.parse("1");
+		cache.parse("2");
+		cache.parse("1");
+		cache.parse("3");
+		cache.parse("1");
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void istovremenoKoristenje() throws InterruptedException {
+		ComplexNumberParseCache cache = new ComplexNumberParseCache(64);
+		AtomicInteger errors = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					int value = i % 100;
+					if (!new ComplexNumber(value, -1).equals(cache.parse(value + "-i"))) {
+						errors.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.get());
+		assertEquals(40_000, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void neispravanZapisSeNePamti() {
+		ComplexNumberParseCache cache = new ComplexNumberParseCache(4);
+		try {
+			cache.parse("3x");
+			fail();
+		} catch (NumberFormatException e) {
+			assertEquals(0, cache.size());
+		}
+		exception.expect(NumberFormatException.class);
+		cache.parse("3x");
+	}
+}
@@ -0,0 +1,74 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexNumberParserTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void istaGramatikaKaoParse() {
+		ComplexNumberParser parser = new ComplexNumberParser();
+		parser.parse("-2.71-3.15i + 10 +2.546i + 3.256-8i");
+		assertEquals(10.546, parser.getReal(), 1e-9);
+		assertEquals(-8.604, parser.getImaginary(), 1e-9);
+
+		assertEquals(-1, parser.parse("-i").getImaginary(), 0);
+		assertEquals(1, parser.parse("+ i").getImaginary(), 0);
+		assertEquals(3, parser.parse(" - 3 + 6").getReal(), 0);
+		assertEquals(Double.NaN, parser.parse("NaN").getReal(), 0);
+	}
+
+	@Test
+	public void brzaPretvorbaJednakaParseDouble() {
+		Random random = new Random(42);
+		ComplexNumberParser parser = new ComplexNumberParser();
+		for (int i = 0; i < 10_000; i++) {
+			double real = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+			String text = Double.toString(real);
+			if (text.contains("E-")) {
+				// predznak eksponenta gramatika tumači kao novi član
+				continue;
+			}
+			assertEquals(Double.parseDouble(text), parser.parse(text).getReal(), 0);
+			String rounded = String.format("%.3f", real).replace(',', '.');
+			assertEquals(Double.parseDouble(rounded), parser.parse(rounded + "i").getImaginary(), 0);
+		}
+	}
+
+	@Test
+	public void parsiranjeDijelaNiza() {
+		String line = "x=2.5-3i;";
+		ComplexNumber c = ComplexNumber.parse(line, 2, 6);
+		assertEquals(new ComplexNumber(2.5, -3), c);
+	}
+
+	@Test
+	public void pozicijaPogreske() {
+		try {
+			new ComplexNumberParser().parse("2.5 - 3x4i");
+			fail();
+		} catch (ComplexNumberFormatException e) {
+			assertEquals(7, e.getErrorOffset());
+		}
+	}
+
+	@Test
+	public void samoPredznak() {
+		exception.expect(NumberFormatException.class);
+		ComplexNumber.parse("3-");
+	}
+
+	@Test
+	public void rasponIzvanNiza() {
+		exception.expect(IndexOutOfBoundsException.class);
+		new ComplexNumberParser().parse("3", 1, 1);
+	}
+}
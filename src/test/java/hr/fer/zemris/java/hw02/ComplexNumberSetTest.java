@@ -0,0 +1,111 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexNumberSetTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void dodavanjeJednakihBrojeva() {
+		ComplexNumberSet set = new ComplexNumberSet();
+		assertTrue(set.add(new ComplexNumber(1, 1)));
+		assertFalse(set.add(new ComplexNumber(1.005, 0.995)));
+		assertTrue(set.add(new ComplexNumber(1.02, 1)));
+		assertEquals(2, set.size());
+		assertEquals(new ComplexNumber(1, 1), set.get(0));
+		assertEquals(1, set.addIfAbsent(1.025, 1.001));
+		assertTrue(set.contains(new ComplexNumber(1.011, 1.009)));
+		assertFalse(set.contains(new ComplexNumber(0.98, 1)));
+	}
+
+	@Test
+	public void jednakiBrojeviUSusjednimCelijama() {
+		ComplexNumberSet set = new ComplexNumberSet();
+		set.addIfAbsent(-0.001, 0.0399);
+		assertEquals(0, set.indexOf(0.008, 0.0401));
+		assertEquals(0, set.indexOf(-0.0105, 0.03));
+		assertEquals(-1, set.indexOf(0.0095, 0.051));
+	}
+
+	@Test
+	public void istiRezultatKaoUsporedbaSvihParova() {
+		provjeriUsporedbomSvihParova(0, 0);
+	}
+
+	@Test
+	public void istiRezultatKaoUsporedbaSvihParovaZaVelikeVrijednosti() {
+		provjeriUsporedbomSvihParova(1e9, -4e10);
+		provjeriUsporedbomSvihParova(-3e12, 7e8);
+	}
+
+	@Test
+	public void velikeVrijednosti() {
+		ComplexNumberSet set = new ComplexNumberSet();
+		set.addIfAbsent(1e300, -1e300);
+		set.addIfAbsent(Double.MAX_VALUE, 0);
+		assertEquals(0, set.indexOf(1e300, -1e300));
+		assertEquals(1, set.indexOf(Double.MAX_VALUE, 0.005));
+	}
+
+	@Test
+	public void mnogoRazlicitihVelikihVrijednosti() {
+		double[] offsets = { 5e7, -2e9, 3e11, -1e14 };
+		ComplexNumberSet set = new ComplexNumberSet();
+		int count = 0;
+		for (double offset : offsets) {
+			for (int i = 0; i < 5000; i++) {
+				double re = offset + i * 0.5;
+				double im = -offset - i * 0.25;
+				assertEquals(count, set.addIfAbsent(re, im));
+				assertEquals(count, set.addIfAbsent(re + 0.004, im - 0.004));
+				count++;
+			}
+		}
+		assertEquals(count, set.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, set.indexOf(set.getReal(i), set.getImaginary(i)));
+		}
+	}
+
+	@Test
+	public void greskaNeispravanIndeks() {
+		exception.expect(IndexOutOfBoundsException.class);
+		new ComplexNumberSet().get(0);
+	}
+
+	private static void provjeriUsporedbomSvihParova(double offsetRe, double offsetIm) {
+		Random random = new Random(22);
+		ComplexNumberSet set = new ComplexNumberSet(0);
+		List<ComplexNumber> expected = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			ComplexNumber number = new ComplexNumber(offsetRe + random.nextDouble() - 0.5,
+					offsetIm + random.nextDouble() - 0.5);
+			boolean absent = true;
+			for (ComplexNumber other : expected) {
+				if (other.equals(number)) {
+					absent = false;
+					break;
+				}
+			}
+			if (absent) {
+				expected.add(number);
+			}
+			assertEquals(absent, set.add(number));
+		}
+		assertEquals(expected.size(), set.size());
+		for (int i = 0; i < set.size(); i++) {
+			assertEquals(expected.get(i).getReal(), set.getReal(i), 0);
+			assertEquals(expected.get(i).getImaginary(), set.getImaginary(i), 0);
+		}
+	}
+}
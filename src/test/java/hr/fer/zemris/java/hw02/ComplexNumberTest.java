@@ -84,8 +84,39 @@ public class ComplexNumberTest {
 	}
 
 	@Test
-	public void greskaMetodeZaPotenciju() {
+	public void provjeraNegativnePotencije() {
 		ComplexNumber c1 = new ComplexNumber(1.57, -2);
+		assertEquals(new ComplexNumber(1, 0).div(c1), c1.power(-1));
+		assertEquals(new ComplexNumber(1, 0).div(c1.power(5)), c1.power(-5));
+	}
+
+	@Test
+	public void tocnaPotencija() {
+		ComplexNumber c = new ComplexNumber(1, 1).power(2);
+		assertEquals(0, c.getReal(), 0);
+		assertEquals(2, c.getImaginary(), 0);
+		assertEquals(-4, new ComplexNumber(1, 1).power(4).getReal(), 0);
+	}
+
+	@Test
+	public void potencijaVelikogEksponenta() {
+		ComplexNumber c = ComplexNumber.fromMagnitudeAndAngle(1, 0.001);
+		assertEquals(ComplexNumber.fromMagnitudeAndAngle(1, 100_000 * 0.001), c.power(100_000));
+	}
+
+	@Test
+	public void svePotencije() {
+		ComplexNumber c1 = new ComplexNumber(1.57, -2);
+		ComplexNumber[] powers = c1.powers(5);
+		assertEquals(6, powers.length);
+		for (int k = 0; k <= 5; k++) {
+			assertEquals(c1.power(k), powers[k]);
+		}
+	}
+
+	@Test
+	public void greskaMetodeZaPotenciju() {
+		ComplexNumber c1 = new ComplexNumber(0, 0);
 		exception.expect(IllegalArgumentException.class);
 		c1.power(-1);
 	}
@@ -102,6 +133,20 @@ public class ComplexNumberTest {
 		assertArrayEquals(roots, myRoots);
  	}
 	
+	@Test
+	public void korijeniUPolja() {
+		ComplexNumber c1 = new ComplexNumber(1.57, -2);
+		int n = 1000;
+		double[] re = new double[n];
+		double[] im = new double[n];
+		c1.rootsInto(re, im);
+		ComplexNumber[] roots = c1.root(n);
+		for (int k = 0; k < n; k++) {
+			assertEquals(roots[k], new ComplexNumber(re[k], im[k]));
+			assertEquals(c1, new ComplexNumber(re[k], im[k]).power(n));
+		}
+	}
+
 	@Test
 	public void greskaKorijenNula() {
 		ComplexNumber c1 = new ComplexNumber(1.57, -2);
@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexPostfixEvaluatorTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void osnovneOperacije() {
+		ComplexPostfixEvaluator evaluator = new ComplexPostfixEvaluator();
+		assertEquals(new ComplexNumber(4, 1), evaluator.evaluate("1+2i 3-i +"));
+		assertEquals(new ComplexNumber(-2, 3), evaluator.evaluate("1+2i 3-i -"));
+		assertEquals(new ComplexNumber(5, 5), evaluator.evaluate("1+2i 3-i *"));
+		assertEquals(new ComplexNumber(0.1, 0.7), evaluator.evaluate(" 1+2i\t3-i  / "));
+		assertEquals(new ComplexNumber(0, 1), evaluator.evaluate("i"));
+	}
+
+	@Test
+	public void potencijaIKorijen() {
+		ComplexPostfixEvaluator evaluator = new ComplexPostfixEvaluator();
+		assertEquals(new ComplexNumber(0, 2), evaluator.evaluate("1+i 2 ^"));
+		assertEquals(new ComplexNumber(0.5, -0.5), evaluator.evaluate("1+i -1 ^"));
+		assertEquals(new ComplexNumber(2, 1), evaluator.evaluate("3+4i 2 root"));
+		assertEquals(new ComplexNumber(1, 1).power(2).root(3)[0], evaluator.evaluate("1+i 2 ^ 3 root"));
+	}
+
+	@Test
+	public void ponovnoKoristenjeIDubokiStog() {
+		ComplexPostfixEvaluator evaluator = new ComplexPostfixEvaluator();
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append("i ");
+		}
+		for (int i = 1; i < 100; i++) {
+			sb.append("+ ");
+		}
+		MutableComplexNumber result = new MutableComplexNumber();
+		assertSame(result, evaluator.evaluate(sb, result));
+		assertEquals(new ComplexNumber(0, 100), result.toComplexNumber());
+		evaluator.evaluate("2 3 *", result);
+		assertEquals(new ComplexNumber(6, 0), result.toComplexNumber());
+	}
+
+	@Test
+	public void premaloBrojeva() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("premalo brojeva");
+		new ComplexPostfixEvaluator().evaluate("i +");
+	}
+
+	@Test
+	public void premaloOperatora() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("premalo operatora");
+		new ComplexPostfixEvaluator().evaluate("1 i");
+	}
+
+	@Test
+	public void neispravanBroj() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("'2x' nije valjana operacija");
+		new ComplexPostfixEvaluator().evaluate("1 2x +");
+	}
+
+	@Test
+	public void dijeljenjeNulom() {
+		exception.expect(IllegalArgumentException.class);
+		new ComplexPostfixEvaluator().evaluate("i 0 /");
+	}
+
+	@Test
+	public void eksponentNijeCijeliBroj() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Eksponent mora biti cijeli broj");
+		new ComplexPostfixEvaluator().evaluate("i 1.5 ^");
+	}
+
+	@Test
+	public void stupanjKorijenaNijePrirodanBroj() {
+		exception.expect(IllegalArgumentException.class);
+		new ComplexPostfixEvaluator().evaluate("i 0 root");
+	}
+}
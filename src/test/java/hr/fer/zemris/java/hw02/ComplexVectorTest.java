@@ -0,0 +1,46 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ComplexVectorTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ComplexNumber[] A = { new ComplexNumber(5.256, 3), new ComplexNumber(9.564, -7.45) };
+	private static final ComplexNumber[] B = { new ComplexNumber(2, -1), new ComplexNumber(3, -5) };
+
+	@Test
+	public void operacijeOdgovarajuKompleksnimBrojevima() {
+		ComplexVector a = ComplexVector.fromArray(A);
+		ComplexVector b = ComplexVector.fromArray(B);
+		ComplexVector dest = new ComplexVector(2);
+		for (int i = 0; i < A.length; i++) {
+			assertEquals(A[i].add(B[i]), a.add(b, dest).get(i));
+			assertEquals(A[i].sub(B[i]), a.sub(b, dest).get(i));
+			assertEquals(A[i].mul(B[i]), a.mul(b, dest).get(i));
+			assertEquals(A[i].div(B[i]), a.div(b, dest).get(i));
+		}
+	}
+
+	@Test
+	public void operacijeNaMjestu() {
+		ComplexVector a = ComplexVector.fromArray(A);
+		a.mul(a).scale(0.5).conjugate();
+		ComplexNumber[] result = a.toArray();
+		for (int i = 0; i < A.length; i++) {
+			ComplexNumber expected = A[i].mul(A[i]);
+			assertEquals(new ComplexNumber(expected.getReal() / 2, -expected.getImaginary() / 2), result[i]);
+		}
+	}
+
+	@Test
+	public void razliciteDuljine() {
+		exception.expect(IllegalArgumentException.class);
+		new ComplexVector(2).add(new ComplexVector(3));
+	}
+}
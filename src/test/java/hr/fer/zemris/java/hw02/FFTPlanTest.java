@@ -0,0 +1,98 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FFTPlanTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
+
+	private static double[] random(int n, long seed) {
+		Random random = new Random(seed);
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = random.nextDouble() * 2 - 1;
+		}
+		return values;
+	}
+
+	private static void checkAgainstDft(int n) {
+		double[] re = random(n, n);
+		double[] im = random(n, -n);
+		double[] expectedRe = new double[n];
+		double[] expectedIm = new double[n];
+		for (int k = 0; k < n; k++) {
+			for (int j = 0; j < n; j++) {
+				double angle = -2 * Math.PI * ((long) j * k % n) / n;
+				expectedRe[k] += re[j] * Math.cos(angle) - im[j] * Math.sin(angle);
+				expectedIm[k] += re[j] * Math.sin(angle) + im[j] * Math.cos(angle);
+			}
+		}
+		FFTPlan.of(n).forward(re, im);
+		assertArrayEquals(expectedRe, re, 1e-9 * n);
+		assertArrayEquals(expectedIm, im, 1e-9 * n);
+	}
+
+	@Test
+	public void jednakoNaivnomRacunanju() {
+		for (int n : new int[] { 1, 2, 3, 8, 12, 100, 256, 257 }) {
+			checkAgainstDft(n);
+		}
+	}
+
+	@Test
+	public void inverznaTransformacija() {
+		for (int n : new int[] { 1024, 1000 }) {
+			double[] re = random(n, 1);
+			double[] im = random(n, 2);
+			double[] copyRe = re.clone();
+			double[] copyIm = im.clone();
+			FFTPlan plan = FFTPlan.of(n);
+			plan.forward(re, im);
+			plan.inverse(re, im);
+			assertArrayEquals(copyRe, re, 1e-12);
+			assertArrayEquals(copyIm, im, 1e-12);
+		}
+	}
+
+	@Test
+	public void paralelnoJednakoSlijednom() {
+		for (int n : new int[] { FFTPlan.PARALLEL_THRESHOLD * 4, 50_000 }) {
+			double[] re = random(n, 3);
+			double[] im = random(n, 4);
+			double[] parallelRe = re.clone();
+			double[] parallelIm = im.clone();
+			FFTPlan plan = FFTPlan.of(n);
+			plan.forward(re, im);
+			plan.forward(parallelRe, parallelIm, pool);
+			assertArrayEquals(re, parallelRe, 0);
+			assertArrayEquals(im, parallelIm, 0);
+		}
+	}
+
+	@Test
+	public void planSeDijeli() {
+		assertSame(FFTPlan.of(48), FFTPlan.of(48));
+	}
+
+	@Test
+	public void pogresnaDuljina() {
+		exception.expect(IllegalArgumentException.class);
+		FFTPlan.of(8).forward(new double[4], new double[4]);
+	}
+}
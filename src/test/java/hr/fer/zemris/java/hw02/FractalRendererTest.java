@@ -0,0 +1,75 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class FractalRendererTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
+
+	private static byte[] render(FractalRenderer renderer, boolean pgm) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		renderer.render(out, pgm, pool);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void zaglavljePgm() throws IOException {
+		byte[] image = render(new FractalRenderer(30, 20, 50), true);
+		String header = "P5\n30 20\n255\n";
+		assertEquals(header, new String(image, 0, header.length(), StandardCharsets.US_ASCII));
+		assertEquals(header.length() + 30 * 20, image.length);
+	}
+
+	@Test
+	public void obaPutaDajuIstuSliku() throws IOException {
+		FractalRenderer renderer = new FractalRenderer(160, FractalRenderer.BAND_ROWS * 2 + 7, 200);
+		renderer.setJuliaConstant(new ComplexNumber(-0.8, 0.156));
+		renderer.setViewport(-1.6, 1.6, -0.9, 0.9);
+		byte[] primitive = render(renderer, false);
+		renderer.setUseComplexNumbers(true);
+		byte[] complex = render(renderer, false);
+
+		int different = 0;
+		for (int i = 0; i < primitive.length; i++) {
+			if (primitive[i] != complex[i]) {
+				different++;
+			}
+		}
+		// granica |z| = 2 može se zaokružiti različito u rijetkim točkama
+		assertTrue(different < primitive.length / 1000 + 1);
+	}
+
+	@Test
+	public void tockeSkupa() throws IOException {
+		FractalRenderer renderer = new FractalRenderer(3, 3, 100);
+		renderer.setViewport(-1.5, 1.5, -1.5, 1.5);
+		byte[] image = render(renderer, false);
+		// središte (0, 0) je u Mandelbrotovom skupu, kut (1, 1) nije
+		assertEquals(0, image[4]);
+		assertNotEquals(0, image[2]);
+	}
+
+	@Test
+	public void neispravnoPodrucje() {
+		exception.expect(IllegalArgumentException.class);
+		new FractalRenderer(10, 10, 10).setViewport(1, -1, 0, 1);
+	}
+}
@@ -0,0 +1,59 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class MutableComplexNumberTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void lanacOperacijaJednakNepromjenjivom() {
+		ComplexNumber c1 = new ComplexNumber(2, 3);
+		ComplexNumber c2 = new ComplexNumber(2.5, -3);
+		ComplexNumber x = ComplexNumber.fromMagnitudeAndAngle(2, 1.57);
+
+		ComplexNumber expected = c1.add(x).div(c2).power(3);
+		MutableComplexNumber acc = new MutableComplexNumber(c1).add(x).div(c2).power(3);
+		assertEquals(expected, acc.toComplexNumber());
+	}
+
+	@Test
+	public void mnozenjeISDrugimPromjenjivim() {
+		MutableComplexNumber z = new MutableComplexNumber(5.256, 3);
+		z.mul(z).sub(new MutableComplexNumber(1, 1));
+		assertEquals(new ComplexNumber(5.256, 3).mul(new ComplexNumber(5.256, 3)).sub(new ComplexNumber(1, 1)),
+				z.toComplexNumber());
+	}
+
+	@Test
+	public void magnitudaIKut() {
+		MutableComplexNumber z = new MutableComplexNumber(5, 7);
+		assertEquals(8.60, z.getMagnitude(), 0.01);
+		assertEquals(0.95, z.getAngle(), 0.01);
+	}
+
+	@Test
+	public void dijeljenjeSNulom() {
+		exception.expect(IllegalArgumentException.class);
+		new MutableComplexNumber(1, 1).div(0, 0);
+	}
+
+	@Test
+	public void glavniKorijen() {
+		ComplexNumber c = new ComplexNumber(-3, 4);
+		for (int n = 1; n <= 7; n++) {
+			assertEquals(c.root(n)[0], new MutableComplexNumber(c).root(n).toComplexNumber());
+		}
+	}
+
+	@Test
+	public void greskaKorijena() {
+		exception.expect(IllegalArgumentException.class);
+		new MutableComplexNumber(1, 1).root(0);
+	}
+}
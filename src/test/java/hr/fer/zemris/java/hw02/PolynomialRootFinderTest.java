@@ -0,0 +1,142 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PolynomialRootFinderTest {
+
+	@Rule
+	public final ExpectedException exception = ExpectedException.none();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void ugasiBazenDretvi() {
+		pool.shutdown();
+	}
+
+	private static ComplexPolynomial fromRoots(ComplexNumber[] roots) {
+		double[] re = { 1 };
+		double[] im = { 0 };
+		for (ComplexNumber root : roots) {
+			double[] newRe = new double[re.length + 1];
+			double[] newIm = new double[im.length + 1];
+			for (int k = 0; k < re.length; k++) {
+				// (z - root) * p(z)
+				newRe[k + 1] += re[k];
+				newIm[k + 1] += im[k];
+				newRe[k] -= re[k] * root.getReal() - im[k] * root.getImaginary();
+				newIm[k] -= re[k] * root.getImaginary() + im[k] * root.getReal();
+			}
+			re = newRe;
+			im = newIm;
+		}
+		return new ComplexPolynomial(re, im);
+	}
+
+	private static ComplexNumber[] randomRoots(int n, long seed) {
+		Random random = new Random(seed);
+		ComplexNumber[] roots = new ComplexNumber[n];
+		for (int i = 0; i < n; i++) {
+			roots[i] = ComplexNumber.fromMagnitudeAndAngle(0.5 + random.nextDouble() * 0.5,
+					random.nextDouble() * 2 * Math.PI);
+		}
+		return roots;
+	}
+
+	private static void assertSameRoots(ComplexNumber[] expected, ComplexNumber[] actual, double delta) {
+		assertEquals(expected.length, actual.length);
+		boolean[] used = new boolean[actual.length];
+		for (ComplexNumber root : expected) {
+			int best = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int i = 0; i < actual.length; i++) {
+				double distance = root.sub(actual[i]).getMagnitude();
+				if (!used[i] && distance < bestDistance) {
+					best = i;
+					bestDistance = distance;
+				}
+			}
+			assertTrue("Nultočka " + root + " nije pronađena", bestDistance < delta);
+			used[best] = true;
+		}
+	}
+
+	@Test
+	public void hornerovPostupak() {
+		ComplexPolynomial p = new ComplexPolynomial(new ComplexNumber(1, 0), new ComplexNumber(0, 2),
+				new ComplexNumber(3, 0));
+		ComplexNumber z = new ComplexNumber(1.5, -0.5);
+		ComplexNumber expected = new ComplexNumber(1, 0).add(new ComplexNumber(0, 2).mul(z))
+				.add(new ComplexNumber(3, 0).mul(z.power(2)));
+		assertEquals(expected, p.apply(z));
+		assertEquals(new ComplexNumber(0, 2).add(new ComplexNumber(6, 0).mul(z)), p.derive().apply(z));
+	}
+
+	@Test
+	public void nultockePolinoma() {
+		ComplexNumber[] roots = { new ComplexNumber(1, 0), new ComplexNumber(-2, 1), new ComplexNumber(0, -3) };
+		assertSameRoots(roots, fromRoots(roots).roots(), 1e-9);
+	}
+
+	@Test
+	public void paralelnoNultockeVisokogStupnja() {
+		int degree = PolynomialRootFinder.PARALLEL_THRESHOLD;
+		Random random = new Random(11);
+		double[] coefRe = new double[degree + 1];
+		double[] coefIm = new double[degree + 1];
+		for (int k = 0; k <= degree; k++) {
+			coefRe[k] = random.nextDouble() * 2 - 1;
+			coefIm[k] = random.nextDouble() * 2 - 1;
+		}
+		ComplexPolynomial p = new ComplexPolynomial(coefRe, coefIm);
+
+		double[] re = new double[degree];
+		double[] im = new double[degree];
+		int iterations = new PolynomialRootFinder(pool).findRoots(p, re, im);
+		assertTrue(iterations < PolynomialRootFinder.DEFAULT_MAX_ITERATIONS);
+
+		double[] sequentialRe = new double[degree];
+		double[] sequentialIm = new double[degree];
+		new PolynomialRootFinder().findRoots(p, sequentialRe, sequentialIm);
+		assertArrayEquals(sequentialRe, re, 0);
+		assertArrayEquals(sequentialIm, im, 0);
+
+		MutableComplexNumber value = new MutableComplexNumber();
+		for (int k = 0; k < degree; k++) {
+			double bound = 0;
+			double zAbs = Math.hypot(re[k], im[k]);
+			for (int j = degree; j >= 0; j--) {
+				bound = bound * zAbs + Math.hypot(coefRe[j], coefIm[j]);
+			}
+			assertTrue(p.apply(re[k], im[k], value).getMagnitude() < 1e-12 * bound);
+		}
+	}
+
+	@Test
+	public void visePolinomaOdjednom() {
+		ComplexPolynomial[] polynomials = new ComplexPolynomial[20];
+		ComplexNumber[][] expected = new ComplexNumber[20][];
+		for (int i = 0; i < polynomials.length; i++) {
+			expected[i] = randomRoots(10, i);
+			polynomials[i] = fromRoots(expected[i]);
+		}
+		ComplexNumber[][] actual = new PolynomialRootFinder(pool).findAllRoots(polynomials);
+		for (int i = 0; i < polynomials.length; i++) {
+			assertSameRoots(expected[i], actual[i], 1e-6);
+		}
+	}
+
+	@Test
+	public void nulPolinom() {
+		exception.expect(IllegalArgumentException.class);
+		new ComplexPolynomial(new ComplexNumber(0, 0)).roots();
+	}
+}
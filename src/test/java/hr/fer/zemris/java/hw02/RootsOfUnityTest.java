@@ -0,0 +1,30 @@
+package hr.fer.zemris.java.hw02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class RootsOfUnityTest {
+
+	@Test
+	public void tablicaSeDijeli() {
+		assertSame(RootsOfUnity.of(360), RootsOfUnity.of(360));
+	}
+
+	@Test
+	public void korijeniIzJedinice() {
+		RootsOfUnity table = RootsOfUnity.of(4);
+		assertEquals(4, table.order());
+		assertEquals(1, table.getReal(0), 1e-15);
+		assertEquals(1, table.getImaginary(1), 1e-15);
+		assertEquals(-1, table.getReal(2), 1e-15);
+		assertEquals(-1, table.getImaginary(3), 1e-15);
+	}
+
+	@Test
+	public void ogranicenaPrirucnaMemorija() {
+		RootsOfUnity first = RootsOfUnity.of(RootsOfUnity.MAX_CACHED_VALUES / 2 + 1);
+		RootsOfUnity.of(RootsOfUnity.MAX_CACHED_VALUES / 2 + 2);
+		assertNotSame(first, RootsOfUnity.of(RootsOfUnity.MAX_CACHED_VALUES / 2 + 1));
+	}
+}